@@ -0,0 +1,36 @@
+plugins {
+    id("java")
+    id("me.champeau.gradle.jmh")
+}
+
+
+/* ******************** metadata ******************** */
+
+description = "Benchmarks for the HiveMQ MQTT Client"
+
+metadata {
+    moduleName = "com.hivemq.client.mqtt.benchmarks"
+    readableName = "HiveMQ MQTT Client benchmarks"
+}
+
+
+/* ******************** dependencies ******************** */
+
+dependencies {
+    jmh(rootProject)
+    jmh("io.netty:netty-buffer:${property("netty.version")}")
+    jmh("io.netty:netty-transport:${property("netty.version")}")
+    jmh("org.jetbrains:annotations:${property("annotations.version")}")
+}
+
+
+/* ******************** jmh ******************** */
+
+jmh {
+    jmhVersion = "${property("jmh.version")}"
+    benchmarkMode = listOf("thrpt")
+    timeUnit = "s"
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    duplicateClassesStrategy = DuplicatesStrategy.WARN
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder.mqtt5;
+
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderBenchmarkUtil;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContext;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderException;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Silvio Giebl
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class Mqtt5PublishDecoderBenchmark {
+
+    private static final int FLAGS_QOS_1 = 0b0010;
+
+    @Param({"16", "1024", "65536"})
+    public int payloadSize;
+
+    @Param({"false", "true"})
+    public boolean directBufferPayload;
+
+    @Param({"false", "true"})
+    public boolean zeroCopyPayload;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private Mqtt5PublishDecoder decoder;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttDecoderContext context;
+    @SuppressWarnings("NullabilityAnnotations")
+    private ByteBuf in;
+
+    @Setup
+    public void setUp() {
+        decoder = new Mqtt5PublishDecoder();
+        context = MqttDecoderBenchmarkUtil.createContext(directBufferPayload, zeroCopyPayload);
+
+        final byte[] topic = "devices/sensor-0042/telemetry".getBytes(StandardCharsets.UTF_8);
+        in = Unpooled.directBuffer(2 + topic.length + 2 + 1 + payloadSize);
+        // variable header: topic name, packet identifier, property length 0
+        in.writeShort(topic.length).writeBytes(topic).writeShort(1).writeByte(0);
+        // payload
+        for (int i = 0; i < payloadSize; i++) {
+            in.writeByte(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        in.release();
+    }
+
+    @Benchmark
+    public @NotNull MqttStatefulPublish decode() throws MqttDecoderException {
+        in.readerIndex(0);
+        final MqttStatefulPublish publish = decoder.decode(FLAGS_QOS_1, in, context);
+        publish.releasePayload();
+        return publish;
+    }
+}
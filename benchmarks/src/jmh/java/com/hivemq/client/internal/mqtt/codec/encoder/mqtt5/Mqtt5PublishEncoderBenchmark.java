@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
+
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoderBenchmarkUtil;
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoderContext;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttPublish.NO_MESSAGE_EXPIRY;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
+
+/**
+ * @author Silvio Giebl
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class Mqtt5PublishEncoderBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int payloadSize;
+
+    @Param({"false", "true"})
+    public boolean directPayload;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private Mqtt5PublishEncoder encoder;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttEncoderContext context;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttStatefulPublish publish;
+
+    @Setup
+    public void setUp() {
+        encoder = new Mqtt5PublishEncoder();
+        context = MqttEncoderBenchmarkUtil.createContext();
+
+        final ByteBuffer payload =
+                directPayload ? ByteBuffer.allocateDirect(payloadSize) : ByteBuffer.allocate(payloadSize);
+        for (int i = 0; i < payloadSize; i++) {
+            payload.put((byte) i);
+        }
+        payload.flip();
+        publish = new MqttPublish(MqttTopicImpl.of("devices/sensor-0042/telemetry"), payload, MqttQos.AT_LEAST_ONCE,
+                false, NO_MESSAGE_EXPIRY, null, null, null, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES,
+                null).createStateful(1, false, DEFAULT_NO_TOPIC_ALIAS, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    @Benchmark
+    public int encode() {
+        final ByteBuf out = encoder.encode(publish, context);
+        final int readableBytes = out.readableBytes();
+        out.release();
+        return readableBytes;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscriptionBuilder;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttVersion;
+import io.reactivex.internal.util.EmptyComponent;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Silvio Giebl
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class MqttSubscribedPublishFlowTreeBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    public int subscriptions;
+
+    @Param({"false", "true"})
+    public boolean wildcards;
+
+    @Param({"false", "true"})
+    public boolean indexExactTopicFilters;
+
+    @Param({"0", "1000"})
+    public int cacheSize;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttSubscribedPublishFlows tree;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttTopicImpl[] topics;
+    private final @NotNull List<MqttSubscribedPublishFlow> flows = new ArrayList<>();
+    private final @NotNull MqttMatchingPublishFlows matchingFlows = new MqttMatchingPublishFlows();
+    private int index;
+
+    @Setup
+    public void setUp() {
+        final MqttClientConfig clientConfig =
+                new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("benchmark"),
+                        MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT,
+                        MqttClientAdvancedConfig.DEFAULT, MqttClientConfig.ConnectDefaults.of(null, null, null),
+                        ImmutableList.of(), ImmutableList.of());
+        final MqttIncomingQosHandler incomingQosHandler =
+                new MqttIncomingQosHandler(clientConfig, new MqttIncomingPublishFlows(clientConfig));
+
+        tree = indexExactTopicFilters ? new MqttSubscribedPublishFlowMap() : new MqttSubscribedPublishFlowTree();
+        if (cacheSize > 0) {
+            tree = new MqttSubscribedPublishFlowsCache(tree, cacheSize);
+        }
+        topics = new MqttTopicImpl[subscriptions];
+        for (int i = 0; i < subscriptions; i++) {
+            final String topic = "devices/sensor-" + i + "/telemetry";
+            topics[i] = MqttTopicImpl.of(topic);
+            subscribe(topic, i + 1, clientConfig, incomingQosHandler);
+        }
+        if (wildcards) {
+            subscribe("devices/+/telemetry", subscriptions + 1, clientConfig, incomingQosHandler);
+            subscribe("devices/#", subscriptions + 2, clientConfig, incomingQosHandler);
+        }
+    }
+
+    private void subscribe(
+            final @NotNull String topicFilter,
+            final int subscriptionIdentifier,
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttIncomingQosHandler incomingQosHandler) {
+
+        final MqttSubscription subscription = new MqttSubscriptionBuilder.Default().topicFilter(topicFilter).build();
+        final MqttSubscribedPublishFlow flow =
+                new MqttSubscribedPublishFlow(EmptyComponent.asSubscriber(), clientConfig, incomingQosHandler, false);
+        flow.init();
+        flows.add(flow);
+        tree.subscribe(subscription, subscriptionIdentifier, flow);
+        tree.suback(subscription.getTopicFilter(), subscriptionIdentifier, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (final MqttSubscribedPublishFlow flow : flows) {
+            flow.cancel();
+        }
+        flows.clear();
+    }
+
+    @Benchmark
+    public @NotNull MqttMatchingPublishFlows findMatching() {
+        final MqttTopicImpl topic = topics[index];
+        index = (index + 1) % topics.length;
+        final MqttMatchingPublishFlows matchingFlows = this.matchingFlows;
+        matchingFlows.clear();
+        tree.findMatching(topic, matchingFlows);
+        return matchingFlows;
+    }
+}
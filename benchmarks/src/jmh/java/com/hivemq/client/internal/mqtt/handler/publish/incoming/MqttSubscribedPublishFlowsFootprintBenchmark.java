@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscriptionBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the subscribed publish flows for a large amount of subscriptions. The gc profiler reports the bytes allocated
+ * per operation, which approximates the footprint of the subscriptions as only few of the allocations are temporary.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Thread)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MqttSubscribedPublishFlowsFootprintBenchmark {
+
+    @Param({"100000"})
+    public int subscriptions;
+
+    @Param({"false", "true"})
+    public boolean indexExactTopicFilters;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttSubscription[] subscriptionArray;
+
+    @Setup
+    public void setUp() {
+        subscriptionArray = new MqttSubscription[subscriptions];
+        for (int i = 0; i < subscriptions; i++) {
+            subscriptionArray[i] = new MqttSubscriptionBuilder.Default().topicFilter(
+                    "devices/sensor-" + i + "/telemetry").build();
+        }
+    }
+
+    @Benchmark
+    public @NotNull MqttSubscribedPublishFlows subscribe() {
+        final MqttSubscribedPublishFlows flows =
+                indexExactTopicFilters ? new MqttSubscribedPublishFlowMap() : new MqttSubscribedPublishFlowTree();
+        for (int i = 0; i < subscriptionArray.length; i++) {
+            final MqttSubscription subscription = subscriptionArray[i];
+            flows.subscribe(subscription, i + 1, null);
+            flows.suback(subscription.getTopicFilter(), i + 1, false);
+        }
+        return flows;
+    }
+}
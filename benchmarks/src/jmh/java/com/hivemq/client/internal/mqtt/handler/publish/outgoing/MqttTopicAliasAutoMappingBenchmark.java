@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Silvio Giebl
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class MqttTopicAliasAutoMappingBenchmark {
+
+    @Param({"16"})
+    public int topicAliasMaximum;
+
+    @Param({"8", "64"})
+    public int topicCount;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttTopicAliasAutoMapping mapping;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttTopicImpl[] topics;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        mapping = new MqttTopicAliasAutoMapping(topicAliasMaximum);
+        topics = new MqttTopicImpl[topicCount];
+        for (int i = 0; i < topicCount; i++) {
+            topics[i] = MqttTopicImpl.of("devices/sensor-" + i + "/telemetry");
+        }
+    }
+
+    @Benchmark
+    public int onPublish() {
+        final MqttTopicImpl topic = topics[index];
+        index = (index + 1) % topics.length;
+        return mapping.onPublish(topic);
+    }
+}
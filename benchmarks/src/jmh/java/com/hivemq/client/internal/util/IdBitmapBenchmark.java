@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Same benchmark as {@link RangesBenchmark} for {@link IdBitmap}.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class IdBitmapBenchmark {
+
+    private static final int MAX_ID = 65_535;
+
+    @Param({"1", "100", "10000", "60000"})
+    public int inFlight;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private IdBitmap idBitmap;
+    @SuppressWarnings("NullabilityAnnotations")
+    private int[] ids;
+    @SuppressWarnings("NullabilityAnnotations")
+    private int[] returnOrder;
+
+    @Setup
+    public void setUp() {
+        idBitmap = new IdBitmap(1, MAX_ID);
+        ids = new int[inFlight];
+        returnOrder = new int[inFlight];
+        for (int i = 0; i < inFlight; i++) {
+            returnOrder[i] = i;
+        }
+        final Random random = new Random(0);
+        for (int i = inFlight - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int tmp = returnOrder[i];
+            returnOrder[i] = returnOrder[j];
+            returnOrder[j] = tmp;
+        }
+    }
+
+    @Benchmark
+    public void getIdAndReturnIdSequential() {
+        final int[] ids = this.ids;
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idBitmap.getId();
+        }
+        for (int i = 0; i < ids.length; i++) {
+            idBitmap.returnId(ids[i]);
+        }
+    }
+
+    @Benchmark
+    public void getIdAndReturnIdRandom() {
+        final int[] ids = this.ids;
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idBitmap.getId();
+        }
+        for (final int index : returnOrder) {
+            idBitmap.returnId(ids[index]);
+        }
+    }
+}
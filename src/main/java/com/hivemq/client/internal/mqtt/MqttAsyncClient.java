@@ -29,6 +29,7 @@ import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribeBuilde
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.rx.RxFutureConverter;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
 import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
@@ -46,6 +47,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -248,6 +251,20 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         return new MqttPublishBuilder.Send<>(this::publish);
     }
 
+    @Override
+    public void publishFireAndForget(final @Nullable Mqtt5Publish publish) {
+        delegate.publishFireAndForget(MqttChecks.publish(publish));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt5PublishResult>> publishBatch(
+            final @Nullable Collection<@Nullable ? extends Mqtt5Publish> publishes) {
+
+        final ImmutableList<MqttPublish> mqttPublishes = MqttChecks.publishes(publishes);
+
+        return RxFutureConverter.toFuture(delegate.publishBatch(mqttPublishes));
+    }
+
     @Override
     public @NotNull CompletableFuture<Void> reauth() {
         return RxFutureConverter.toFuture(delegate.reauth());
@@ -30,6 +30,7 @@ import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribeBuilde
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.util.AsyncRuntimeException;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5SubAckException;
@@ -51,7 +52,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
+import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
@@ -172,6 +175,18 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
         return new MqttPublishBuilder.Send<>(this::publish);
     }
 
+    @Override
+    public @NotNull List<@NotNull Mqtt5PublishResult> publishBatch(
+            final @Nullable Collection<@Nullable ? extends Mqtt5Publish> publishes) {
+
+        final ImmutableList<MqttPublish> mqttPublishes = MqttChecks.publishes(publishes);
+        try {
+            return delegate.publishBatchUnsafe(mqttPublishes).blockingGet();
+        } catch (final RuntimeException e) {
+            throw AsyncRuntimeException.fillInStackTrace(e);
+        }
+    }
+
     @Override
     public void reauth() {
         try {
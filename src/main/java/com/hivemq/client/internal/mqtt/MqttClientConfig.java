@@ -33,6 +33,8 @@ import com.hivemq.client.mqtt.lifecycle.MqttClientConnectedListener;
 import com.hivemq.client.mqtt.lifecycle.MqttClientDisconnectedListener;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientConfig;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientConnectionConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TopicMatchCacheMetrics;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferMetrics;
 import com.hivemq.client.mqtt.mqtt5.auth.Mqtt5EnhancedAuthMechanism;
 import com.hivemq.client.mqtt.mqtt5.message.auth.Mqtt5SimpleAuth;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5WillPublish;
@@ -145,6 +147,16 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         return Optional.ofNullable(connectDefaults.willPublish);
     }
 
+    @Override
+    public @NotNull Optional<Mqtt5OfflineBufferMetrics> getOfflineBufferMetrics() {
+        return Optional.ofNullable(clientComponent.outgoingQosHandler().getOfflineBufferMetrics());
+    }
+
+    @Override
+    public @NotNull Optional<Mqtt5TopicMatchCacheMetrics> getTopicMatchCacheMetrics() {
+        return Optional.ofNullable(clientComponent.incomingPublishFlows().getTopicMatchCacheMetrics());
+    }
+
     public @NotNull ConnectDefaults getConnectDefaults() {
         return connectDefaults;
     }
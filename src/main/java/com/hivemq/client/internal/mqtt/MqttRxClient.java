@@ -16,14 +16,17 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttReAuthCompletable;
 import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckSingle;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectCompletable;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttGlobalIncomingPublishFlowable;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscribedPublishFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckBatchSingle;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckFlowable;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckSingle;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckSingleFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttFireAndForgetCompletable;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubAckSingle;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttUnsubAckSingle;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
@@ -37,6 +40,7 @@ import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribeBuilder;
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5RxClient;
 import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
@@ -58,6 +62,8 @@ import io.reactivex.internal.fuseable.ScalarCallable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 /**
  * @author Silvio Giebl
  */
@@ -203,6 +209,21 @@ public class MqttRxClient implements Mqtt5RxClient {
         return new MqttAckSingle(clientConfig, publish);
     }
 
+    @NotNull Single<List<Mqtt5PublishResult>> publishBatch(final @NotNull ImmutableList<MqttPublish> publishes) {
+        return publishBatchUnsafe(publishes).observeOn(clientConfig.getExecutorConfig().getApplicationScheduler());
+    }
+
+    @NotNull Single<List<Mqtt5PublishResult>> publishBatchUnsafe(final @NotNull ImmutableList<MqttPublish> publishes) {
+        return new MqttAckBatchSingle(clientConfig, publishes);
+    }
+
+    void publishFireAndForget(final @NotNull MqttPublish publish) {
+        if (!clientConfig.getState().isConnectedOrReconnect()) {
+            throw MqttClientStateExceptions.notConnected();
+        }
+        clientConfig.getClientComponent().outgoingQosHandler().offerFireAndForget(publish);
+    }
+
     @Override
     public @NotNull Flowable<Mqtt5PublishResult> publish(final @Nullable Flowable<Mqtt5Publish> publishFlowable) {
         Checks.notNull(publishFlowable, "Publish flowable");
@@ -233,6 +254,15 @@ public class MqttRxClient implements Mqtt5RxClient {
                 applicationScheduler, true);
     }
 
+    @Override
+    public @NotNull Completable publishFireAndForget(final @Nullable Flowable<Mqtt5Publish> publishFlowable) {
+        Checks.notNull(publishFlowable, "Publish flowable");
+
+        final Scheduler applicationScheduler = clientConfig.getExecutorConfig().getApplicationScheduler();
+        final Flowable<MqttPublish> flowable = publishFlowable.subscribeOn(applicationScheduler).map(PUBLISH_MAPPER);
+        return new MqttFireAndForgetCompletable(clientConfig, flowable).observeOn(applicationScheduler);
+    }
+
     @Override
     public @NotNull Completable reauth() {
         return reauthUnsafe().observeOn(clientConfig.getExecutorConfig().getApplicationScheduler());
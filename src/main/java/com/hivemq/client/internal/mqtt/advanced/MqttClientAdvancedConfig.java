@@ -16,8 +16,14 @@
 
 package com.hivemq.client.internal.mqtt.advanced;
 
+import com.hivemq.client.internal.mqtt.advanced.flush.MqttFlushCoalescingConfigImpl;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.advanced.offline.MqttOfflineBufferConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.ratelimit.MqttPublishRateLimitImpl;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5FireAndForgetFailureListener;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2Store;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionStore;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -28,19 +34,79 @@ import java.util.Objects;
  */
 public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
 
-    public static final @NotNull MqttClientAdvancedConfig DEFAULT = new MqttClientAdvancedConfig(false, false, null);
+    public static final @NotNull MqttClientAdvancedConfig DEFAULT =
+            new MqttClientAdvancedConfig(false, false, false, false, false, false,
+                    DEFAULT_MAXIMUM_CONCURRENT_PUBLISH_FLOWABLES, false, false, 0, false, null, null, null, null, null,
+                    null, false, 0, DEFAULT_MAXIMUM_QUEUED_PUBLISH_FLOWABLES, null, null);
 
     private final boolean allowServerReAuth;
     private final boolean validatePayloadFormat;
+    private final boolean zeroCopyPayload;
+    private final boolean directBufferPayload;
+    private final boolean directBufferAuth;
+    private final boolean directBufferCorrelationData;
+    private final int maximumConcurrentPublishFlowables;
+    private final boolean fairPublishFlowables;
+    private final boolean qos2CompleteResult;
+    private final int topicMatchCacheSize;
+    private final boolean indexExactTopicFilters;
+    private final @Nullable Mqtt5FireAndForgetFailureListener fireAndForgetFailureListener;
+    private final @Nullable Mqtt5OutgoingSessionStore outgoingSessionStore;
+    private final @Nullable Mqtt5IncomingQos2Store incomingQos2Store;
+    private final @Nullable MqttOfflineBufferConfigImpl offlineBuffer;
+    private final @Nullable MqttPublishRateLimitImpl publishRateLimit;
+    private final @Nullable MqttFlushCoalescingConfigImpl flushCoalescing;
+    private final boolean aggregateWrites;
+    private final int streamingPayloadThreshold;
+    private final int maximumQueuedPublishFlowables;
+    private final @Nullable MqttFlushCoalescingConfigImpl ackFlushCoalescing;
     private final @Nullable MqttClientInterceptors interceptors;
 
     MqttClientAdvancedConfig(
             final boolean allowServerReAuth,
             final boolean validatePayloadFormat,
+            final boolean zeroCopyPayload,
+            final boolean directBufferPayload,
+            final boolean directBufferAuth,
+            final boolean directBufferCorrelationData,
+            final int maximumConcurrentPublishFlowables,
+            final boolean fairPublishFlowables,
+            final boolean qos2CompleteResult,
+            final int topicMatchCacheSize,
+            final boolean indexExactTopicFilters,
+            final @Nullable Mqtt5FireAndForgetFailureListener fireAndForgetFailureListener,
+            final @Nullable Mqtt5OutgoingSessionStore outgoingSessionStore,
+            final @Nullable Mqtt5IncomingQos2Store incomingQos2Store,
+            final @Nullable MqttOfflineBufferConfigImpl offlineBuffer,
+            final @Nullable MqttPublishRateLimitImpl publishRateLimit,
+            final @Nullable MqttFlushCoalescingConfigImpl flushCoalescing,
+            final boolean aggregateWrites,
+            final int streamingPayloadThreshold,
+            final int maximumQueuedPublishFlowables,
+            final @Nullable MqttFlushCoalescingConfigImpl ackFlushCoalescing,
             final @Nullable MqttClientInterceptors interceptors) {
 
         this.allowServerReAuth = allowServerReAuth;
         this.validatePayloadFormat = validatePayloadFormat;
+        this.zeroCopyPayload = zeroCopyPayload;
+        this.directBufferPayload = directBufferPayload;
+        this.directBufferAuth = directBufferAuth;
+        this.directBufferCorrelationData = directBufferCorrelationData;
+        this.maximumConcurrentPublishFlowables = maximumConcurrentPublishFlowables;
+        this.fairPublishFlowables = fairPublishFlowables;
+        this.qos2CompleteResult = qos2CompleteResult;
+        this.topicMatchCacheSize = topicMatchCacheSize;
+        this.indexExactTopicFilters = indexExactTopicFilters;
+        this.fireAndForgetFailureListener = fireAndForgetFailureListener;
+        this.outgoingSessionStore = outgoingSessionStore;
+        this.incomingQos2Store = incomingQos2Store;
+        this.offlineBuffer = offlineBuffer;
+        this.publishRateLimit = publishRateLimit;
+        this.flushCoalescing = flushCoalescing;
+        this.aggregateWrites = aggregateWrites;
+        this.streamingPayloadThreshold = streamingPayloadThreshold;
+        this.maximumQueuedPublishFlowables = maximumQueuedPublishFlowables;
+        this.ackFlushCoalescing = ackFlushCoalescing;
         this.interceptors = interceptors;
     }
 
@@ -54,6 +120,101 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         return validatePayloadFormat;
     }
 
+    @Override
+    public boolean isZeroCopyPayload() {
+        return zeroCopyPayload;
+    }
+
+    @Override
+    public boolean isDirectBufferPayload() {
+        return directBufferPayload;
+    }
+
+    @Override
+    public boolean isDirectBufferAuth() {
+        return directBufferAuth;
+    }
+
+    @Override
+    public boolean isDirectBufferCorrelationData() {
+        return directBufferCorrelationData;
+    }
+
+    @Override
+    public int getMaximumConcurrentPublishFlowables() {
+        return maximumConcurrentPublishFlowables;
+    }
+
+    @Override
+    public boolean isFairPublishFlowables() {
+        return fairPublishFlowables;
+    }
+
+    @Override
+    public boolean isQos2CompleteResult() {
+        return qos2CompleteResult;
+    }
+
+    @Override
+    public int getTopicMatchCacheSize() {
+        return topicMatchCacheSize;
+    }
+
+    @Override
+    public boolean isIndexExactTopicFilters() {
+        return indexExactTopicFilters;
+    }
+
+    @Override
+    public @Nullable Mqtt5FireAndForgetFailureListener getFireAndForgetFailureListener() {
+        return fireAndForgetFailureListener;
+    }
+
+    @Override
+    public @Nullable Mqtt5OutgoingSessionStore getOutgoingSessionStore() {
+        return outgoingSessionStore;
+    }
+
+    @Override
+    public @Nullable Mqtt5IncomingQos2Store getIncomingQos2Store() {
+        return incomingQos2Store;
+    }
+
+    @Override
+    public @Nullable MqttOfflineBufferConfigImpl getOfflineBuffer() {
+        return offlineBuffer;
+    }
+
+    @Override
+    public @Nullable MqttPublishRateLimitImpl getPublishRateLimit() {
+        return publishRateLimit;
+    }
+
+    @Override
+    public @Nullable MqttFlushCoalescingConfigImpl getFlushCoalescing() {
+        return flushCoalescing;
+    }
+
+    @Override
+    public boolean isAggregateWrites() {
+        return aggregateWrites;
+    }
+
+    @Override
+    public int getStreamingPayloadThreshold() {
+        return streamingPayloadThreshold;
+    }
+
+    @Override
+    public int getMaximumQueuedPublishFlowables() {
+        return maximumQueuedPublishFlowables;
+    }
+
+    @Override
+    public @Nullable MqttFlushCoalescingConfigImpl getAckFlushCoalescing() {
+        return ackFlushCoalescing;
+    }
+
     @Override
     public @Nullable MqttClientInterceptors getInterceptors() {
         return interceptors;
@@ -75,6 +236,23 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         final MqttClientAdvancedConfig that = (MqttClientAdvancedConfig) o;
 
         return (allowServerReAuth == that.allowServerReAuth) && (validatePayloadFormat == that.validatePayloadFormat) &&
+                (zeroCopyPayload == that.zeroCopyPayload) && (directBufferPayload == that.directBufferPayload) &&
+                (directBufferAuth == that.directBufferAuth) &&
+                (directBufferCorrelationData == that.directBufferCorrelationData) &&
+                (maximumConcurrentPublishFlowables == that.maximumConcurrentPublishFlowables) &&
+                (fairPublishFlowables == that.fairPublishFlowables) &&
+                (qos2CompleteResult == that.qos2CompleteResult) && (topicMatchCacheSize == that.topicMatchCacheSize) &&
+                (indexExactTopicFilters == that.indexExactTopicFilters) &&
+                Objects.equals(fireAndForgetFailureListener, that.fireAndForgetFailureListener) &&
+                Objects.equals(outgoingSessionStore, that.outgoingSessionStore) &&
+                Objects.equals(incomingQos2Store, that.incomingQos2Store) &&
+                Objects.equals(offlineBuffer, that.offlineBuffer) &&
+                Objects.equals(publishRateLimit, that.publishRateLimit) &&
+                Objects.equals(flushCoalescing, that.flushCoalescing) &&
+                (aggregateWrites == that.aggregateWrites) &&
+                (streamingPayloadThreshold == that.streamingPayloadThreshold) &&
+                (maximumQueuedPublishFlowables == that.maximumQueuedPublishFlowables) &&
+                Objects.equals(ackFlushCoalescing, that.ackFlushCoalescing) &&
                 Objects.equals(interceptors, that.interceptors);
     }
 
@@ -82,6 +260,25 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
     public int hashCode() {
         int result = Boolean.hashCode(allowServerReAuth);
         result = 31 * result + Boolean.hashCode(validatePayloadFormat);
+        result = 31 * result + Boolean.hashCode(zeroCopyPayload);
+        result = 31 * result + Boolean.hashCode(directBufferPayload);
+        result = 31 * result + Boolean.hashCode(directBufferAuth);
+        result = 31 * result + Boolean.hashCode(directBufferCorrelationData);
+        result = 31 * result + maximumConcurrentPublishFlowables;
+        result = 31 * result + Boolean.hashCode(fairPublishFlowables);
+        result = 31 * result + Boolean.hashCode(qos2CompleteResult);
+        result = 31 * result + topicMatchCacheSize;
+        result = 31 * result + Boolean.hashCode(indexExactTopicFilters);
+        result = 31 * result + Objects.hashCode(fireAndForgetFailureListener);
+        result = 31 * result + Objects.hashCode(outgoingSessionStore);
+        result = 31 * result + Objects.hashCode(incomingQos2Store);
+        result = 31 * result + Objects.hashCode(offlineBuffer);
+        result = 31 * result + Objects.hashCode(publishRateLimit);
+        result = 31 * result + Objects.hashCode(flushCoalescing);
+        result = 31 * result + Boolean.hashCode(aggregateWrites);
+        result = 31 * result + streamingPayloadThreshold;
+        result = 31 * result + maximumQueuedPublishFlowables;
+        result = 31 * result + Objects.hashCode(ackFlushCoalescing);
         result = 31 * result + Objects.hashCode(interceptors);
         return result;
     }
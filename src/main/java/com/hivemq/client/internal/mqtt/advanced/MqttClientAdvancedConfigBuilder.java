@@ -16,11 +16,23 @@
 
 package com.hivemq.client.internal.mqtt.advanced;
 
+import com.hivemq.client.internal.mqtt.advanced.flush.MqttFlushCoalescingConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.flush.MqttFlushCoalescingConfigImplBuilder;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptorsBuilder;
+import com.hivemq.client.internal.mqtt.advanced.offline.MqttOfflineBufferConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.offline.MqttOfflineBufferConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.advanced.ratelimit.MqttPublishRateLimitImpl;
+import com.hivemq.client.internal.mqtt.advanced.ratelimit.MqttPublishRateLimitImplBuilder;
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfigBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5FireAndForgetFailureListener;
+import com.hivemq.client.mqtt.mqtt5.advanced.flush.Mqtt5FlushCoalescingConfig;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2Store;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionStore;
+import com.hivemq.client.mqtt.mqtt5.advanced.ratelimit.Mqtt5PublishRateLimit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -33,6 +45,26 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
 
     private boolean allowServerReAuth;
     private boolean validatePayloadFormat;
+    private boolean zeroCopyPayload;
+    private boolean directBufferPayload;
+    private boolean directBufferAuth;
+    private boolean directBufferCorrelationData;
+    private int maximumConcurrentPublishFlowables =
+            MqttClientAdvancedConfig.DEFAULT_MAXIMUM_CONCURRENT_PUBLISH_FLOWABLES;
+    private boolean fairPublishFlowables;
+    private boolean qos2CompleteResult;
+    private int topicMatchCacheSize;
+    private boolean indexExactTopicFilters;
+    private @Nullable Mqtt5FireAndForgetFailureListener fireAndForgetFailureListener;
+    private @Nullable Mqtt5OutgoingSessionStore outgoingSessionStore;
+    private @Nullable Mqtt5IncomingQos2Store incomingQos2Store;
+    private @Nullable MqttOfflineBufferConfigImpl offlineBuffer;
+    private @Nullable MqttPublishRateLimitImpl publishRateLimit;
+    private @Nullable MqttFlushCoalescingConfigImpl flushCoalescing;
+    private boolean aggregateWrites;
+    private int streamingPayloadThreshold;
+    private int maximumQueuedPublishFlowables = MqttClientAdvancedConfig.DEFAULT_MAXIMUM_QUEUED_PUBLISH_FLOWABLES;
+    private @Nullable MqttFlushCoalescingConfigImpl ackFlushCoalescing;
     private @Nullable MqttClientInterceptors interceptors;
 
     MqttClientAdvancedConfigBuilder() {}
@@ -40,6 +72,25 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
     MqttClientAdvancedConfigBuilder(final @NotNull MqttClientAdvancedConfig advancedConfig) {
         allowServerReAuth = advancedConfig.isAllowServerReAuth();
         validatePayloadFormat = advancedConfig.isValidatePayloadFormat();
+        zeroCopyPayload = advancedConfig.isZeroCopyPayload();
+        directBufferPayload = advancedConfig.isDirectBufferPayload();
+        directBufferAuth = advancedConfig.isDirectBufferAuth();
+        directBufferCorrelationData = advancedConfig.isDirectBufferCorrelationData();
+        maximumConcurrentPublishFlowables = advancedConfig.getMaximumConcurrentPublishFlowables();
+        fairPublishFlowables = advancedConfig.isFairPublishFlowables();
+        qos2CompleteResult = advancedConfig.isQos2CompleteResult();
+        topicMatchCacheSize = advancedConfig.getTopicMatchCacheSize();
+        indexExactTopicFilters = advancedConfig.isIndexExactTopicFilters();
+        fireAndForgetFailureListener = advancedConfig.getFireAndForgetFailureListener();
+        outgoingSessionStore = advancedConfig.getOutgoingSessionStore();
+        incomingQos2Store = advancedConfig.getIncomingQos2Store();
+        offlineBuffer = advancedConfig.getOfflineBuffer();
+        publishRateLimit = advancedConfig.getPublishRateLimit();
+        flushCoalescing = advancedConfig.getFlushCoalescing();
+        aggregateWrites = advancedConfig.isAggregateWrites();
+        streamingPayloadThreshold = advancedConfig.getStreamingPayloadThreshold();
+        maximumQueuedPublishFlowables = advancedConfig.getMaximumQueuedPublishFlowables();
+        ackFlushCoalescing = advancedConfig.getAckFlushCoalescing();
         interceptors = advancedConfig.getInterceptors();
     }
 
@@ -55,6 +106,127 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         return self();
     }
 
+    public @NotNull B zeroCopyPayload(final boolean zeroCopyPayload) {
+        this.zeroCopyPayload = zeroCopyPayload;
+        return self();
+    }
+
+    public @NotNull B directBufferPayload(final boolean directBufferPayload) {
+        this.directBufferPayload = directBufferPayload;
+        return self();
+    }
+
+    public @NotNull B directBufferAuth(final boolean directBufferAuth) {
+        this.directBufferAuth = directBufferAuth;
+        return self();
+    }
+
+    public @NotNull B directBufferCorrelationData(final boolean directBufferCorrelationData) {
+        this.directBufferCorrelationData = directBufferCorrelationData;
+        return self();
+    }
+
+    public @NotNull B maximumConcurrentPublishFlowables(final int maximumConcurrentPublishFlowables) {
+        this.maximumConcurrentPublishFlowables = (int) Checks.range(maximumConcurrentPublishFlowables, 1,
+                Integer.MAX_VALUE, "Maximum concurrent publish flowables");
+        return self();
+    }
+
+    public @NotNull B fairPublishFlowables(final boolean fairPublishFlowables) {
+        this.fairPublishFlowables = fairPublishFlowables;
+        return self();
+    }
+
+    public @NotNull B qos2CompleteResult(final boolean qos2CompleteResult) {
+        this.qos2CompleteResult = qos2CompleteResult;
+        return self();
+    }
+
+    public @NotNull B topicMatchCacheSize(final int topicMatchCacheSize) {
+        this.topicMatchCacheSize =
+                (int) Checks.range(topicMatchCacheSize, 0, Integer.MAX_VALUE, "Topic match cache size");
+        return self();
+    }
+
+    public @NotNull B indexExactTopicFilters(final boolean indexExactTopicFilters) {
+        this.indexExactTopicFilters = indexExactTopicFilters;
+        return self();
+    }
+
+    public @NotNull B fireAndForgetFailureListener(
+            final @Nullable Mqtt5FireAndForgetFailureListener fireAndForgetFailureListener) {
+
+        this.fireAndForgetFailureListener = fireAndForgetFailureListener;
+        return self();
+    }
+
+    public @NotNull B outgoingSessionStore(final @Nullable Mqtt5OutgoingSessionStore outgoingSessionStore) {
+        this.outgoingSessionStore = outgoingSessionStore;
+        return self();
+    }
+
+    public @NotNull B incomingQos2Store(final @Nullable Mqtt5IncomingQos2Store incomingQos2Store) {
+        this.incomingQos2Store = incomingQos2Store;
+        return self();
+    }
+
+    public @NotNull B offlineBuffer(final @Nullable Mqtt5OfflineBufferConfig offlineBuffer) {
+        this.offlineBuffer =
+                Checks.notImplementedOrNull(offlineBuffer, MqttOfflineBufferConfigImpl.class, "Offline buffer");
+        return self();
+    }
+
+    public MqttOfflineBufferConfigImplBuilder.@NotNull Nested<B> offlineBuffer() {
+        return new MqttOfflineBufferConfigImplBuilder.Nested<>(offlineBuffer, this::offlineBuffer);
+    }
+
+    public @NotNull B publishRateLimit(final @Nullable Mqtt5PublishRateLimit publishRateLimit) {
+        this.publishRateLimit =
+                Checks.notImplementedOrNull(publishRateLimit, MqttPublishRateLimitImpl.class, "Publish rate limit");
+        return self();
+    }
+
+    public MqttPublishRateLimitImplBuilder.@NotNull Nested<B> publishRateLimit() {
+        return new MqttPublishRateLimitImplBuilder.Nested<>(publishRateLimit, this::publishRateLimit);
+    }
+
+    public @NotNull B flushCoalescing(final @Nullable Mqtt5FlushCoalescingConfig flushCoalescing) {
+        this.flushCoalescing =
+                Checks.notImplementedOrNull(flushCoalescing, MqttFlushCoalescingConfigImpl.class, "Flush coalescing");
+        return self();
+    }
+
+    public MqttFlushCoalescingConfigImplBuilder.@NotNull Nested<B> flushCoalescing() {
+        return new MqttFlushCoalescingConfigImplBuilder.Nested<>(flushCoalescing, this::flushCoalescing);
+    }
+
+    public @NotNull B aggregateWrites(final boolean aggregateWrites) {
+        this.aggregateWrites = aggregateWrites;
+        return self();
+    }
+
+    public @NotNull B streamingPayloadThreshold(final int streamingPayloadThreshold) {
+        this.streamingPayloadThreshold =
+                (int) Checks.range(streamingPayloadThreshold, 0, Integer.MAX_VALUE, "Streaming payload threshold");
+        return self();
+    }
+
+    public @NotNull B maximumQueuedPublishFlowables(final int maximumQueuedPublishFlowables) {
+        this.maximumQueuedPublishFlowables = (int) Checks.range(maximumQueuedPublishFlowables, 1, Integer.MAX_VALUE,
+                "Maximum queued publish flowables");
+        return self();
+    }
+
+    public @NotNull B ackFlushCoalescing(final @Nullable Mqtt5FlushCoalescingConfig ackFlushCoalescing) {
+        this.ackFlushCoalescing = Checks.notImplementedOrNull(ackFlushCoalescing, MqttFlushCoalescingConfigImpl.class,
+                "Ack flush coalescing");
+        return self();
+    }
+
+    public MqttFlushCoalescingConfigImplBuilder.@NotNull Nested<B> ackFlushCoalescing() {
+        return new MqttFlushCoalescingConfigImplBuilder.Nested<>(ackFlushCoalescing, this::ackFlushCoalescing);
+    }
+
     public @NotNull B interceptors(final @Nullable Mqtt5ClientInterceptors interceptors) {
         this.interceptors = Checks.notImplementedOrNull(interceptors, MqttClientInterceptors.class, "Interceptors");
         return self();
@@ -65,7 +237,12 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
     }
 
     public @NotNull MqttClientAdvancedConfig build() {
-        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors);
+        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, zeroCopyPayload,
+                directBufferPayload, directBufferAuth, directBufferCorrelationData, maximumConcurrentPublishFlowables,
+                fairPublishFlowables, qos2CompleteResult, topicMatchCacheSize, indexExactTopicFilters,
+                fireAndForgetFailureListener, outgoingSessionStore, incomingQos2Store, offlineBuffer, publishRateLimit,
+                flushCoalescing, aggregateWrites, streamingPayloadThreshold, maximumQueuedPublishFlowables,
+                ackFlushCoalescing, interceptors);
     }
 
     public static class Default extends MqttClientAdvancedConfigBuilder<Default>
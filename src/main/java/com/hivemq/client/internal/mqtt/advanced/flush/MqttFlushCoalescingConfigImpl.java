@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.flush;
+
+import com.hivemq.client.mqtt.mqtt5.advanced.flush.Mqtt5FlushCoalescingConfig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttFlushCoalescingConfigImpl implements Mqtt5FlushCoalescingConfig {
+
+    static final long DEFAULT_MAXIMUM_DELAY_NANOS = TimeUnit.MICROSECONDS.toNanos(DEFAULT_MAXIMUM_DELAY_MICROS);
+    public static final @NotNull MqttFlushCoalescingConfigImpl DEFAULT =
+            new MqttFlushCoalescingConfigImpl(DEFAULT_MAXIMUM_MESSAGES, DEFAULT_MAXIMUM_BYTES,
+                    DEFAULT_MAXIMUM_DELAY_NANOS);
+
+    private final int maximumMessages;
+    private final long maximumBytes;
+    private final long maximumDelayNanos;
+
+    MqttFlushCoalescingConfigImpl(final int maximumMessages, final long maximumBytes, final long maximumDelayNanos) {
+        this.maximumMessages = maximumMessages;
+        this.maximumBytes = maximumBytes;
+        this.maximumDelayNanos = maximumDelayNanos;
+    }
+
+    @Override
+    public int getMaximumMessages() {
+        return maximumMessages;
+    }
+
+    @Override
+    public long getMaximumBytes() {
+        return maximumBytes;
+    }
+
+    @Override
+    public long getMaximumDelay(final @NotNull TimeUnit timeUnit) {
+        return timeUnit.convert(maximumDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public MqttFlushCoalescingConfigImplBuilder.@NotNull Default extend() {
+        return new MqttFlushCoalescingConfigImplBuilder.Default(this);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttFlushCoalescingConfigImpl)) {
+            return false;
+        }
+        final MqttFlushCoalescingConfigImpl that = (MqttFlushCoalescingConfigImpl) o;
+
+        return (maximumMessages == that.maximumMessages) && (maximumBytes == that.maximumBytes) &&
+                (maximumDelayNanos == that.maximumDelayNanos);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = maximumMessages;
+        result = 31 * result + Long.hashCode(maximumBytes);
+        result = 31 * result + Long.hashCode(maximumDelayNanos);
+        return result;
+    }
+}
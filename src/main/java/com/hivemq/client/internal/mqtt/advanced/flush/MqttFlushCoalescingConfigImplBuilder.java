@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.flush;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.flush.Mqtt5FlushCoalescingConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.flush.Mqtt5FlushCoalescingConfigBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * @author Silvio Giebl
+ */
+public abstract class MqttFlushCoalescingConfigImplBuilder<B extends MqttFlushCoalescingConfigImplBuilder<B>> {
+
+    private int maximumMessages = Mqtt5FlushCoalescingConfig.DEFAULT_MAXIMUM_MESSAGES;
+    private long maximumBytes = Mqtt5FlushCoalescingConfig.DEFAULT_MAXIMUM_BYTES;
+    private long maximumDelayNanos = MqttFlushCoalescingConfigImpl.DEFAULT_MAXIMUM_DELAY_NANOS;
+
+    MqttFlushCoalescingConfigImplBuilder() {}
+
+    MqttFlushCoalescingConfigImplBuilder(final @Nullable MqttFlushCoalescingConfigImpl flushCoalescingConfig) {
+        if (flushCoalescingConfig != null) {
+            maximumMessages = flushCoalescingConfig.getMaximumMessages();
+            maximumBytes = flushCoalescingConfig.getMaximumBytes();
+            maximumDelayNanos = flushCoalescingConfig.getMaximumDelay(TimeUnit.NANOSECONDS);
+        }
+    }
+
+    abstract @NotNull B self();
+
+    public @NotNull B maximumMessages(final int maximumMessages) {
+        this.maximumMessages = (int) Checks.range(maximumMessages, 1, Integer.MAX_VALUE, "Maximum messages");
+        return self();
+    }
+
+    public @NotNull B maximumBytes(final long maximumBytes) {
+        this.maximumBytes = Checks.range(maximumBytes, 1, Long.MAX_VALUE, "Maximum bytes");
+        return self();
+    }
+
+    public @NotNull B maximumDelay(final long maximumDelay, final @Nullable TimeUnit timeUnit) {
+        if (maximumDelay <= 0) {
+            throw new IllegalArgumentException("Maximum delay must be positive.");
+        }
+        Checks.notNull(timeUnit, "Time unit");
+        this.maximumDelayNanos = timeUnit.toNanos(maximumDelay);
+        return self();
+    }
+
+    public @NotNull MqttFlushCoalescingConfigImpl build() {
+        return new MqttFlushCoalescingConfigImpl(maximumMessages, maximumBytes, maximumDelayNanos);
+    }
+
+    public static class Default extends MqttFlushCoalescingConfigImplBuilder<Default>
+            implements Mqtt5FlushCoalescingConfigBuilder {
+
+        public Default() {}
+
+        Default(final @Nullable MqttFlushCoalescingConfigImpl flushCoalescingConfig) {
+            super(flushCoalescingConfig);
+        }
+
+        @Override
+        @NotNull Default self() {
+            return this;
+        }
+    }
+
+    public static class Nested<P> extends MqttFlushCoalescingConfigImplBuilder<Nested<P>>
+            implements Mqtt5FlushCoalescingConfigBuilder.Nested<P> {
+
+        private final @NotNull Function<? super MqttFlushCoalescingConfigImpl, P> parentConsumer;
+
+        public Nested(
+                final @Nullable MqttFlushCoalescingConfigImpl flushCoalescingConfig,
+                final @NotNull Function<? super MqttFlushCoalescingConfigImpl, P> parentConsumer) {
+
+            super(flushCoalescingConfig);
+            this.parentConsumer = parentConsumer;
+        }
+
+        @Override
+        @NotNull Nested<P> self() {
+            return this;
+        }
+
+        @Override
+        public @NotNull P applyFlushCoalescing() {
+            return parentConsumer.apply(build());
+        }
+    }
+}
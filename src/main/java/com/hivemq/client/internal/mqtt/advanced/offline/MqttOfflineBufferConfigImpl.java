@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.offline;
+
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferEvictionPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttOfflineBufferConfigImpl implements Mqtt5OfflineBufferConfig {
+
+    public static final @NotNull MqttOfflineBufferConfigImpl DEFAULT =
+            new MqttOfflineBufferConfigImpl(DEFAULT_MAXIMUM_MESSAGES, DEFAULT_MAXIMUM_BYTES, DEFAULT_EVICTION_POLICY);
+
+    private final int maximumMessages;
+    private final long maximumBytes;
+    private final @NotNull Mqtt5OfflineBufferEvictionPolicy evictionPolicy;
+
+    MqttOfflineBufferConfigImpl(
+            final int maximumMessages,
+            final long maximumBytes,
+            final @NotNull Mqtt5OfflineBufferEvictionPolicy evictionPolicy) {
+
+        this.maximumMessages = maximumMessages;
+        this.maximumBytes = maximumBytes;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    @Override
+    public int getMaximumMessages() {
+        return maximumMessages;
+    }
+
+    @Override
+    public long getMaximumBytes() {
+        return maximumBytes;
+    }
+
+    @Override
+    public @NotNull Mqtt5OfflineBufferEvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    @Override
+    public MqttOfflineBufferConfigImplBuilder.@NotNull Default extend() {
+        return new MqttOfflineBufferConfigImplBuilder.Default(this);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttOfflineBufferConfigImpl)) {
+            return false;
+        }
+        final MqttOfflineBufferConfigImpl that = (MqttOfflineBufferConfigImpl) o;
+
+        return (maximumMessages == that.maximumMessages) && (maximumBytes == that.maximumBytes) &&
+                (evictionPolicy == that.evictionPolicy);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = maximumMessages;
+        result = 31 * result + Long.hashCode(maximumBytes);
+        result = 31 * result + evictionPolicy.hashCode();
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.offline;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferConfigBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferEvictionPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * @author Silvio Giebl
+ */
+public abstract class MqttOfflineBufferConfigImplBuilder<B extends MqttOfflineBufferConfigImplBuilder<B>> {
+
+    private int maximumMessages = Mqtt5OfflineBufferConfig.DEFAULT_MAXIMUM_MESSAGES;
+    private long maximumBytes = Mqtt5OfflineBufferConfig.DEFAULT_MAXIMUM_BYTES;
+    private @NotNull Mqtt5OfflineBufferEvictionPolicy evictionPolicy = Mqtt5OfflineBufferConfig.DEFAULT_EVICTION_POLICY;
+
+    MqttOfflineBufferConfigImplBuilder() {}
+
+    MqttOfflineBufferConfigImplBuilder(final @Nullable MqttOfflineBufferConfigImpl offlineBufferConfig) {
+        if (offlineBufferConfig != null) {
+            maximumMessages = offlineBufferConfig.getMaximumMessages();
+            maximumBytes = offlineBufferConfig.getMaximumBytes();
+            evictionPolicy = offlineBufferConfig.getEvictionPolicy();
+        }
+    }
+
+    abstract @NotNull B self();
+
+    public @NotNull B maximumMessages(final int maximumMessages) {
+        this.maximumMessages = (int) Checks.range(maximumMessages, 1, Integer.MAX_VALUE, "Maximum messages");
+        return self();
+    }
+
+    public @NotNull B maximumBytes(final long maximumBytes) {
+        this.maximumBytes = Checks.range(maximumBytes, 1, Long.MAX_VALUE, "Maximum bytes");
+        return self();
+    }
+
+    public @NotNull B evictionPolicy(final @Nullable Mqtt5OfflineBufferEvictionPolicy evictionPolicy) {
+        this.evictionPolicy = Checks.notNull(evictionPolicy, "Eviction policy");
+        return self();
+    }
+
+    public @NotNull MqttOfflineBufferConfigImpl build() {
+        return new MqttOfflineBufferConfigImpl(maximumMessages, maximumBytes, evictionPolicy);
+    }
+
+    public static class Default extends MqttOfflineBufferConfigImplBuilder<Default>
+            implements Mqtt5OfflineBufferConfigBuilder {
+
+        public Default() {}
+
+        Default(final @Nullable MqttOfflineBufferConfigImpl offlineBufferConfig) {
+            super(offlineBufferConfig);
+        }
+
+        @Override
+        @NotNull Default self() {
+            return this;
+        }
+    }
+
+    public static class Nested<P> extends MqttOfflineBufferConfigImplBuilder<Nested<P>>
+            implements Mqtt5OfflineBufferConfigBuilder.Nested<P> {
+
+        private final @NotNull Function<? super MqttOfflineBufferConfigImpl, P> parentConsumer;
+
+        public Nested(
+                final @Nullable MqttOfflineBufferConfigImpl offlineBufferConfig,
+                final @NotNull Function<? super MqttOfflineBufferConfigImpl, P> parentConsumer) {
+
+            super(offlineBufferConfig);
+            this.parentConsumer = parentConsumer;
+        }
+
+        @Override
+        @NotNull Nested<P> self() {
+            return this;
+        }
+
+        @Override
+        public @NotNull P applyOfflineBuffer() {
+            return parentConsumer.apply(build());
+        }
+    }
+}
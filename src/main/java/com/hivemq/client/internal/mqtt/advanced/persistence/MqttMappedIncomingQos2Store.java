@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.UnsignedDataTypes;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2Store;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Incoming QoS 2 store that keeps a bitmap of all 65536 packet identifiers in a memory-mapped file of 8 KiB.
+ * <p>
+ * Storing or removing a packet identifier sets or clears a single bit, so a change can never be torn and is visible to
+ * the next run of the application as soon as it is made, even if the application crashes. Forcing the file to the disk
+ * to also survive a crash of the operating system is batched and done by the {@link MqttPersistenceExecutor}.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class MqttMappedIncomingQos2Store implements Mqtt5IncomingQos2Store {
+
+    private static final @NotNull InternalLogger LOGGER =
+            InternalLoggerFactory.getLogger(MqttMappedIncomingQos2Store.class);
+
+    private static final int SIZE = (UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE + 1) / 8;
+
+    private final @NotNull File file;
+    private final @NotNull AtomicBoolean syncScheduled = new AtomicBoolean();
+    private @Nullable MappedByteBuffer bitmap;
+    private boolean dirty;
+    private boolean failed;
+
+    public MqttMappedIncomingQos2Store(final @Nullable File file) {
+        this.file = Checks.notNull(file, "File");
+    }
+
+    @Override
+    public int @NotNull [] load() {
+        final MappedByteBuffer bitmap = getBitmap();
+        if (bitmap == null) {
+            return new int[0];
+        }
+        int count = 0;
+        for (int i = 0; i < SIZE; i++) {
+            count += Integer.bitCount(bitmap.get(i) & 0xFF);
+        }
+        final int[] packetIdentifiers = new int[count];
+        int index = 0;
+        for (int i = 0; i < SIZE; i++) {
+            final int bits = bitmap.get(i) & 0xFF;
+            for (int bit = 0; bit < 8; bit++) {
+                if ((bits & (1 << bit)) != 0) {
+                    packetIdentifiers[index++] = (i << 3) | bit;
+                }
+            }
+        }
+        return packetIdentifiers;
+    }
+
+    @Override
+    public void store(final int packetIdentifier) {
+        final MappedByteBuffer bitmap = getBitmap();
+        if (bitmap != null) {
+            final int index = packetIdentifier >> 3;
+            bitmap.put(index, (byte) (bitmap.get(index) | (1 << (packetIdentifier & 7))));
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void remove(final int packetIdentifier) {
+        final MappedByteBuffer bitmap = getBitmap();
+        if (bitmap != null) {
+            final int index = packetIdentifier >> 3;
+            bitmap.put(index, (byte) (bitmap.get(index) & ~(1 << (packetIdentifier & 7))));
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void clear() {
+        final MappedByteBuffer bitmap = getBitmap();
+        if (bitmap != null) {
+            for (int i = 0; i < SIZE; i += 8) {
+                bitmap.putLong(i, 0);
+            }
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void flush() {
+        final MappedByteBuffer bitmap = this.bitmap;
+        if (!dirty || (bitmap == null)) {
+            return;
+        }
+        dirty = false;
+        if (syncScheduled.compareAndSet(false, true)) {
+            MqttPersistenceExecutor.execute(() -> {
+                syncScheduled.set(false);
+                bitmap.force();
+            });
+        }
+    }
+
+    private @Nullable MappedByteBuffer getBitmap() {
+        MappedByteBuffer bitmap = this.bitmap;
+        if ((bitmap == null) && !failed) {
+            final File parent = file.getAbsoluteFile().getParentFile();
+            if ((parent != null) && !parent.isDirectory() && !parent.mkdirs()) {
+                fail(new IOException("Could not create directory " + parent));
+                return null;
+            }
+            try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                if ((channel.size() != 0) && (channel.size() != SIZE)) {
+                    LOGGER.warn("Ignored incoming QoS 2 store {} with unexpected size {}.", file, channel.size());
+                    channel.truncate(0);
+                }
+                // a mapping stays valid after its channel is closed
+                bitmap = channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+                this.bitmap = bitmap;
+            } catch (final IOException e) {
+                fail(e);
+            }
+        }
+        return bitmap;
+    }
+
+    private void fail(final @NotNull IOException e) {
+        failed = true;
+        LOGGER.error("Incoming QoS 2 store failed, exactly once delivery is not guaranteed after a restart.", e);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import com.hivemq.client.annotations.Immutable;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionEntry;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author Silvio Giebl
+ */
+@Immutable
+public class MqttOutgoingSessionEntry implements Mqtt5OutgoingSessionEntry {
+
+    private final int packetIdentifier;
+    private final @NotNull Mqtt5Publish publish;
+    private final boolean pubRelSent;
+
+    public MqttOutgoingSessionEntry(
+            final int packetIdentifier, final @NotNull Mqtt5Publish publish, final boolean pubRelSent) {
+
+        this.packetIdentifier = packetIdentifier;
+        this.publish = publish;
+        this.pubRelSent = pubRelSent;
+    }
+
+    @Override
+    public int getPacketIdentifier() {
+        return packetIdentifier;
+    }
+
+    @Override
+    public @NotNull Mqtt5Publish getPublish() {
+        return publish;
+    }
+
+    @Override
+    public boolean isPubRelSent() {
+        return pubRelSent;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "MqttOutgoingSessionEntry{packetIdentifier=" + packetIdentifier + ", publish=" + publish +
+                ", pubRelSent=" + pubRelSent + "}";
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttOutgoingSessionEntry)) {
+            return false;
+        }
+        final MqttOutgoingSessionEntry that = (MqttOutgoingSessionEntry) o;
+
+        return (packetIdentifier == that.packetIdentifier) && publish.equals(that.publish) &&
+                (pubRelSent == that.pubRelSent);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = packetIdentifier;
+        result = 31 * result + publish.hashCode();
+        result = 31 * result + Boolean.hashCode(pubRelSent);
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Lazily started background thread that is shared by the default stores to force their memory-mapped files to the
+ * disk and by the QoS handlers to load their stores, so the event loops never wait for the disk.
+ * <p>
+ * As the thread executes the tasks in order, tasks of one store are also executed in the order they were submitted.
+ *
+ * @author Silvio Giebl
+ */
+public final class MqttPersistenceExecutor {
+
+    private static volatile @Nullable ExecutorService executor;
+
+    public static void execute(final @NotNull Runnable task) {
+        ExecutorService executor = MqttPersistenceExecutor.executor;
+        if (executor == null) {
+            synchronized (MqttPersistenceExecutor.class) {
+                executor = MqttPersistenceExecutor.executor;
+                if (executor == null) {
+                    executor = Executors.newSingleThreadExecutor(
+                            new DefaultThreadFactory("com.hivemq.client.mqtt.persistence", true));
+                    MqttPersistenceExecutor.executor = executor;
+                }
+            }
+        }
+        executor.execute(task);
+    }
+
+    private MqttPersistenceExecutor() {}
+}
@@ -0,0 +1,491 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.datatypes.MqttBinaryData;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertyImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionEntry;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionStore;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Outgoing session store that appends every change as a record to a memory-mapped segment file.
+ * <p>
+ * A record consists of the length of its body (int), the CRC32 of its body (int) and the body: the record type (byte),
+ * the packet identifier (unsigned short) and for publish records the serialized publish. A length of 0 marks the end
+ * of a segment, as segments are zero-filled when created. A record with a wrong checksum, for example because it was
+ * only partly written before a crash, also ends a segment.
+ * <p>
+ * Every segment starts with a snapshot of all entries, enclosed by a snapshot start and a snapshot end record, followed
+ * by the records of the changes since the snapshot. If a record does not fit into the current segment anymore, a new
+ * segment is started, so the previous segments are not needed anymore. Forcing segments to the disk and deleting
+ * previous segments is done by the {@link MqttPersistenceExecutor}.
+ * <p>
+ * Previous segments may still exist after a crash before they were deleted. Their records must not be applied on top
+ * of the snapshot of a newer segment, as they can contain entries that were removed before the snapshot. Therefore,
+ * only the newest segment with a complete snapshot is loaded. A newer segment whose snapshot was only partly written
+ * before the crash is ignored, so the previous segment, which was not deleted yet, is loaded instead.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class MqttSegmentLogOutgoingSessionStore implements Mqtt5OutgoingSessionStore {
+
+    private static final @NotNull InternalLogger LOGGER =
+            InternalLoggerFactory.getLogger(MqttSegmentLogOutgoingSessionStore.class);
+
+    private static final @NotNull String SEGMENT_PREFIX = "outgoing-";
+    private static final @NotNull String SEGMENT_SUFFIX = ".segment";
+    private static final int MIN_SEGMENT_SIZE = 4 * 1024;
+    private static final int HEADER_LENGTH = 8;
+
+    private static final byte TYPE_PUBLISH = 1;
+    private static final byte TYPE_PUB_REL = 2;
+    private static final byte TYPE_REMOVE = 3;
+    private static final byte TYPE_SNAPSHOT_START = 4;
+    private static final byte TYPE_SNAPSHOT_END = 5;
+
+    private static final int FLAG_RETAIN = 0x04;
+    private static final int FLAG_PAYLOAD_FORMAT_INDICATOR = 0x08;
+    private static final int FLAG_CONTENT_TYPE = 0x10;
+    private static final int FLAG_RESPONSE_TOPIC = 0x20;
+    private static final int FLAG_CORRELATION_DATA = 0x40;
+
+    private final @NotNull File directory;
+    private final int segmentSize;
+    private final @NotNull LinkedHashMap<Integer, MqttOutgoingSessionEntry> entries = new LinkedHashMap<>();
+    private final @NotNull ByteBuf record = Unpooled.buffer();
+    private final @NotNull CRC32 crc = new CRC32();
+    private final @NotNull AtomicBoolean syncScheduled = new AtomicBoolean();
+    private @Nullable Segment segment;
+    private long nextSegmentIndex;
+    private boolean dirty;
+    private boolean failed;
+
+    public MqttSegmentLogOutgoingSessionStore(final @Nullable File directory, final int segmentSize) {
+        this.directory = Checks.notNull(directory, "Directory");
+        this.segmentSize = (int) Checks.range(segmentSize, MIN_SEGMENT_SIZE, Integer.MAX_VALUE, "Segment size");
+    }
+
+    @Override
+    public @NotNull List<@NotNull Mqtt5OutgoingSessionEntry> load() {
+        entries.clear();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            fail(new IOException("Could not create directory " + directory));
+            return new ArrayList<>();
+        }
+        final File[] files = directory.listFiles((dir, name) -> parseSegmentIndex(name) >= 0);
+        final List<File> segmentFiles = (files == null) ? new ArrayList<>() : Arrays.asList(files);
+        segmentFiles.sort(Comparator.comparingLong(file -> parseSegmentIndex(file.getName())));
+        if (!segmentFiles.isEmpty()) {
+            nextSegmentIndex = parseSegmentIndex(segmentFiles.get(segmentFiles.size() - 1).getName()) + 1;
+        }
+        for (int i = segmentFiles.size() - 1; i >= 0; i--) {
+            final File file = segmentFiles.get(i);
+            if (readSegment(file)) {
+                break;
+            }
+            LOGGER.warn("Ignored segment {} without a complete snapshot.", file);
+            entries.clear();
+        }
+        try {
+            startSegment(null, segmentFiles);
+        } catch (final IOException e) {
+            fail(e);
+        }
+        return new ArrayList<>(entries.values());
+    }
+
+    @Override
+    public void storePublish(final int packetIdentifier, final @NotNull Mqtt5Publish publish) {
+        final MqttPublish mqttPublish = MqttChecks.publish(publish);
+        entries.put(packetIdentifier, new MqttOutgoingSessionEntry(packetIdentifier, mqttPublish, false));
+        append(TYPE_PUBLISH, packetIdentifier, mqttPublish);
+    }
+
+    @Override
+    public void storePubRel(final int packetIdentifier) {
+        final MqttOutgoingSessionEntry entry = entries.get(packetIdentifier);
+        if (entry != null) {
+            entries.put(packetIdentifier, new MqttOutgoingSessionEntry(packetIdentifier, entry.getPublish(), true));
+            append(TYPE_PUB_REL, packetIdentifier, null);
+        }
+    }
+
+    @Override
+    public void remove(final int packetIdentifier) {
+        if (entries.remove(packetIdentifier) != null) {
+            append(TYPE_REMOVE, packetIdentifier, null);
+        }
+    }
+
+    @Override
+    public void flush() {
+        final Segment segment = this.segment;
+        if (!dirty || (segment == null)) {
+            return;
+        }
+        dirty = false;
+        if (syncScheduled.compareAndSet(false, true)) {
+            MqttPersistenceExecutor.execute(() -> {
+                syncScheduled.set(false);
+                segment.force();
+            });
+        }
+    }
+
+    /**
+     * Appends a record for a change that was already applied to the entries. If the record does not fit into the
+     * current segment, a new segment is started with a snapshot of the entries that already contains the change.
+     */
+    private void append(final byte type, final int packetIdentifier, final @Nullable MqttPublish publish) {
+        if (failed) {
+            return;
+        }
+        final ByteBuf record = this.record;
+        record.clear();
+        encodeRecord(record, type, packetIdentifier, publish);
+        final Segment segment = this.segment;
+        try {
+            if ((segment != null) && (segment.buffer.remaining() >= record.readableBytes())) {
+                segment.write(record);
+            } else {
+                startSegment(segment, (segment == null) ? new ArrayList<>() : segment.getFiles());
+            }
+            dirty = true;
+        } catch (final IOException e) {
+            fail(e);
+        }
+    }
+
+    private void startSegment(final @Nullable Segment retiredSegment, final @NotNull List<File> retiredFiles)
+            throws IOException {
+
+        final ByteBuf snapshot = Unpooled.buffer();
+        encodeRecord(snapshot, TYPE_SNAPSHOT_START, 0, null);
+        for (final MqttOutgoingSessionEntry entry : entries.values()) {
+            final int packetIdentifier = entry.getPacketIdentifier();
+            encodeRecord(snapshot, TYPE_PUBLISH, packetIdentifier, (MqttPublish) entry.getPublish());
+            if (entry.isPubRelSent()) {
+                encodeRecord(snapshot, TYPE_PUB_REL, packetIdentifier, null);
+            }
+        }
+        encodeRecord(snapshot, TYPE_SNAPSHOT_END, 0, null);
+        final File file = new File(directory, SEGMENT_PREFIX + nextSegmentIndex++ + SEGMENT_SUFFIX);
+        final Segment newSegment = new Segment(file, Math.max(segmentSize, 2 * snapshot.readableBytes()));
+        newSegment.write(snapshot);
+        segment = newSegment;
+        // the previous segments must only be deleted after the snapshot is durable
+        MqttPersistenceExecutor.execute(() -> {
+            newSegment.force();
+            if (retiredSegment != null) {
+                retiredSegment.close();
+            }
+            for (final File retiredFile : retiredFiles) {
+                if (!retiredFile.delete()) {
+                    LOGGER.warn("Could not delete retired segment {}.", retiredFile);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the snapshot and the subsequent records of a segment into the entries.
+     *
+     * @param file the segment file to read.
+     * @return whether the segment starts with a complete snapshot, otherwise the read entries must be discarded.
+     */
+    private boolean readSegment(final @NotNull File file) {
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuf in = Unpooled.wrappedBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            boolean snapshotStarted = false;
+            boolean snapshotComplete = false;
+            while (in.readableBytes() >= HEADER_LENGTH) {
+                final int length = in.readInt();
+                if ((length <= 0) || (length > in.readableBytes() - 4)) {
+                    break;
+                }
+                final int checksum = in.readInt();
+                final ByteBuf body = in.readSlice(length);
+                crc.reset();
+                crc.update(body.nioBuffer());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                final byte type = body.getByte(body.readerIndex());
+                if (!snapshotStarted) {
+                    if (type != TYPE_SNAPSHOT_START) {
+                        break;
+                    }
+                    snapshotStarted = true;
+                } else if (type == TYPE_SNAPSHOT_END) {
+                    snapshotComplete = true;
+                } else {
+                    readRecord(body);
+                }
+            }
+            return snapshotComplete;
+        } catch (final IOException e) {
+            LOGGER.warn("Could not read segment {}.", file, e);
+            return false;
+        }
+    }
+
+    private void readRecord(final @NotNull ByteBuf body) {
+        final byte type = body.readByte();
+        final int packetIdentifier = body.readUnsignedShort();
+        switch (type) {
+            case TYPE_PUBLISH:
+                final MqttPublish publish = decodePublish(body);
+                if (publish == null) {
+                    LOGGER.warn("Skipped invalid stored publish with packet identifier {}.", packetIdentifier);
+                } else {
+                    entries.put(packetIdentifier, new MqttOutgoingSessionEntry(packetIdentifier, publish, false));
+                }
+                break;
+            case TYPE_PUB_REL:
+                final MqttOutgoingSessionEntry entry = entries.get(packetIdentifier);
+                if (entry != null) {
+                    entries.put(packetIdentifier,
+                            new MqttOutgoingSessionEntry(packetIdentifier, entry.getPublish(), true));
+                }
+                break;
+            case TYPE_REMOVE:
+                entries.remove(packetIdentifier);
+                break;
+        }
+    }
+
+    private void encodeRecord(
+            final @NotNull ByteBuf out,
+            final byte type,
+            final int packetIdentifier,
+            final @Nullable MqttPublish publish) {
+
+        final int start = out.writerIndex();
+        out.writerIndex(start + HEADER_LENGTH);
+        out.writeByte(type);
+        out.writeShort(packetIdentifier);
+        if (publish != null) {
+            encodePublish(publish, out);
+        }
+        final int length = out.writerIndex() - start - HEADER_LENGTH;
+        crc.reset();
+        crc.update(out.array(), out.arrayOffset() + start + HEADER_LENGTH, length);
+        out.setInt(start, length);
+        out.setInt(start + 4, (int) crc.getValue());
+    }
+
+    private static void encodePublish(final @NotNull MqttPublish publish, final @NotNull ByteBuf out) {
+        final Mqtt5PayloadFormatIndicator payloadFormatIndicator = publish.getRawPayloadFormatIndicator();
+        final MqttUtf8StringImpl contentType = publish.getRawContentType();
+        final MqttTopicImpl responseTopic = publish.getRawResponseTopic();
+        final ByteBuffer correlationData = publish.getRawCorrelationData();
+        int flags = publish.getQos().getCode();
+        if (publish.isRetain()) {
+            flags |= FLAG_RETAIN;
+        }
+        if (payloadFormatIndicator != null) {
+            flags |= FLAG_PAYLOAD_FORMAT_INDICATOR;
+        }
+        if (contentType != null) {
+            flags |= FLAG_CONTENT_TYPE;
+        }
+        if (responseTopic != null) {
+            flags |= FLAG_RESPONSE_TOPIC;
+        }
+        if (correlationData != null) {
+            flags |= FLAG_CORRELATION_DATA;
+        }
+        out.writeByte(flags);
+        publish.getTopic().encode(out);
+        out.writeLong(publish.getRawMessageExpiryInterval());
+        if (payloadFormatIndicator != null) {
+            out.writeByte(payloadFormatIndicator.getCode());
+        }
+        if (contentType != null) {
+            contentType.encode(out);
+        }
+        if (responseTopic != null) {
+            responseTopic.encode(out);
+        }
+        if (correlationData != null) {
+            MqttBinaryData.encode(correlationData, out);
+        }
+        final ImmutableList<MqttUserPropertyImpl> userProperties = publish.getUserProperties().asList();
+        out.writeInt(userProperties.size());
+        //noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i < userProperties.size(); i++) {
+            final MqttUserPropertyImpl userProperty = userProperties.get(i);
+            userProperty.getName().encode(out);
+            userProperty.getValue().encode(out);
+        }
+        final ByteBuffer payload = publish.getRawPayload();
+        if (payload == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(payload.remaining());
+            out.writeBytes(payload.duplicate());
+        }
+    }
+
+    private static @Nullable MqttPublish decodePublish(final @NotNull ByteBuf in) {
+        try {
+            final int flags = in.readUnsignedByte();
+            final MqttQos qos = MqttQos.fromCode(flags & 0x03);
+            final MqttTopicImpl topic = MqttTopicImpl.decode(in);
+            if ((qos == null) || (topic == null)) {
+                return null;
+            }
+            final long messageExpiryInterval = in.readLong();
+            Mqtt5PayloadFormatIndicator payloadFormatIndicator = null;
+            if ((flags & FLAG_PAYLOAD_FORMAT_INDICATOR) != 0) {
+                payloadFormatIndicator = Mqtt5PayloadFormatIndicator.fromCode(in.readUnsignedByte());
+                if (payloadFormatIndicator == null) {
+                    return null;
+                }
+            }
+            MqttUtf8StringImpl contentType = null;
+            if ((flags & FLAG_CONTENT_TYPE) != 0) {
+                contentType = MqttUtf8StringImpl.decode(in);
+                if (contentType == null) {
+                    return null;
+                }
+            }
+            MqttTopicImpl responseTopic = null;
+            if ((flags & FLAG_RESPONSE_TOPIC) != 0) {
+                responseTopic = MqttTopicImpl.decode(in);
+                if (responseTopic == null) {
+                    return null;
+                }
+            }
+            ByteBuffer correlationData = null;
+            if ((flags & FLAG_CORRELATION_DATA) != 0) {
+                correlationData = MqttBinaryData.decode(in, false);
+                if (correlationData == null) {
+                    return null;
+                }
+            }
+            final int userPropertiesCount = in.readInt();
+            ImmutableList.Builder<MqttUserPropertyImpl> userPropertiesBuilder = null;
+            if (userPropertiesCount > 0) {
+                userPropertiesBuilder = ImmutableList.builder(userPropertiesCount);
+                for (int i = 0; i < userPropertiesCount; i++) {
+                    final MqttUserPropertyImpl userProperty = MqttUserPropertyImpl.decode(in);
+                    if (userProperty == null) {
+                        return null;
+                    }
+                    userPropertiesBuilder.add(userProperty);
+                }
+            }
+            final int payloadLength = in.readInt();
+            ByteBuffer payload = null;
+            if (payloadLength >= 0) {
+                payload = ByteBuffer.allocate(payloadLength);
+                in.readBytes(payload);
+                payload.flip();
+            }
+            return new MqttPublish(topic, payload, qos, (flags & FLAG_RETAIN) != 0, messageExpiryInterval,
+                    payloadFormatIndicator, contentType, responseTopic, correlationData,
+                    MqttUserPropertiesImpl.build(userPropertiesBuilder), null);
+        } catch (final IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    private static long parseSegmentIndex(final @NotNull String name) {
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void fail(final @NotNull IOException e) {
+        failed = true;
+        LOGGER.error("Outgoing session store failed, in-flight publishes are not persisted anymore.", e);
+    }
+
+    private static class Segment {
+
+        final @NotNull File file;
+        final @NotNull FileChannel channel;
+        final @NotNull MappedByteBuffer buffer;
+
+        Segment(final @NotNull File file, final int size) throws IOException {
+            this.file = file;
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        void write(final @NotNull ByteBuf record) {
+            buffer.put(record.array(), record.arrayOffset() + record.readerIndex(), record.readableBytes());
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        @NotNull List<File> getFiles() {
+            final List<File> files = new ArrayList<>(1);
+            files.add(file);
+            return files;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Could not close segment {}.", file, e);
+            }
+        }
+    }
+}
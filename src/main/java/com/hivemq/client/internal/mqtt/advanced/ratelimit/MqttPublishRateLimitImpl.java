@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.ratelimit;
+
+import com.hivemq.client.mqtt.mqtt5.advanced.ratelimit.Mqtt5PublishRateLimit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttPublishRateLimitImpl implements Mqtt5PublishRateLimit {
+
+    private final long messagesPerSecond;
+    private final long messageBurst;
+    private final long bytesPerSecond;
+    private final long byteBurst;
+
+    MqttPublishRateLimitImpl(
+            final long messagesPerSecond, final long messageBurst, final long bytesPerSecond, final long byteBurst) {
+
+        this.messagesPerSecond = messagesPerSecond;
+        this.messageBurst = messageBurst;
+        this.bytesPerSecond = bytesPerSecond;
+        this.byteBurst = byteBurst;
+    }
+
+    @Override
+    public long getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    @Override
+    public long getMessageBurst() {
+        return messageBurst;
+    }
+
+    @Override
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    @Override
+    public long getByteBurst() {
+        return byteBurst;
+    }
+
+    @Override
+    public MqttPublishRateLimitImplBuilder.@NotNull Default extend() {
+        return new MqttPublishRateLimitImplBuilder.Default(this);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttPublishRateLimitImpl)) {
+            return false;
+        }
+        final MqttPublishRateLimitImpl that = (MqttPublishRateLimitImpl) o;
+
+        return (messagesPerSecond == that.messagesPerSecond) && (messageBurst == that.messageBurst) &&
+                (bytesPerSecond == that.bytesPerSecond) && (byteBurst == that.byteBurst);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(messagesPerSecond);
+        result = 31 * result + Long.hashCode(messageBurst);
+        result = 31 * result + Long.hashCode(bytesPerSecond);
+        result = 31 * result + Long.hashCode(byteBurst);
+        return result;
+    }
+}
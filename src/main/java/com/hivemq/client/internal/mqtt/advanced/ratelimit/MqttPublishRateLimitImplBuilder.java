@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.ratelimit;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.ratelimit.Mqtt5PublishRateLimit;
+import com.hivemq.client.mqtt.mqtt5.advanced.ratelimit.Mqtt5PublishRateLimitBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * @author Silvio Giebl
+ */
+public abstract class MqttPublishRateLimitImplBuilder<B extends MqttPublishRateLimitImplBuilder<B>> {
+
+    private long messagesPerSecond = Mqtt5PublishRateLimit.UNLIMITED;
+    private long messageBurst;
+    private long bytesPerSecond = Mqtt5PublishRateLimit.UNLIMITED;
+    private long byteBurst;
+
+    MqttPublishRateLimitImplBuilder() {}
+
+    MqttPublishRateLimitImplBuilder(final @Nullable MqttPublishRateLimitImpl rateLimit) {
+        if (rateLimit != null) {
+            messagesPerSecond = rateLimit.getMessagesPerSecond();
+            messageBurst = rateLimit.getMessageBurst();
+            bytesPerSecond = rateLimit.getBytesPerSecond();
+            byteBurst = rateLimit.getByteBurst();
+        }
+    }
+
+    abstract @NotNull B self();
+
+    public @NotNull B messagesPerSecond(final long messagesPerSecond) {
+        this.messagesPerSecond = Checks.range(messagesPerSecond, 0, Long.MAX_VALUE, "Messages per second");
+        return self();
+    }
+
+    public @NotNull B messageBurst(final long messageBurst) {
+        this.messageBurst = Checks.range(messageBurst, 1, Long.MAX_VALUE, "Message burst");
+        return self();
+    }
+
+    public @NotNull B bytesPerSecond(final long bytesPerSecond) {
+        this.bytesPerSecond = Checks.range(bytesPerSecond, 0, Long.MAX_VALUE, "Bytes per second");
+        return self();
+    }
+
+    public @NotNull B byteBurst(final long byteBurst) {
+        this.byteBurst = Checks.range(byteBurst, 1, Long.MAX_VALUE, "Byte burst");
+        return self();
+    }
+
+    public @NotNull MqttPublishRateLimitImpl build() {
+        return new MqttPublishRateLimitImpl(messagesPerSecond, burst(messagesPerSecond, messageBurst), bytesPerSecond,
+                burst(bytesPerSecond, byteBurst));
+    }
+
+    private static long burst(final long rate, final long burst) {
+        if (rate == Mqtt5PublishRateLimit.UNLIMITED) {
+            return 0;
+        }
+        return (burst == 0) ? rate : burst;
+    }
+
+    public static class Default extends MqttPublishRateLimitImplBuilder<Default>
+            implements Mqtt5PublishRateLimitBuilder {
+
+        public Default() {}
+
+        Default(final @Nullable MqttPublishRateLimitImpl rateLimit) {
+            super(rateLimit);
+        }
+
+        @Override
+        @NotNull Default self() {
+            return this;
+        }
+    }
+
+    public static class Nested<P> extends MqttPublishRateLimitImplBuilder<Nested<P>>
+            implements Mqtt5PublishRateLimitBuilder.Nested<P> {
+
+        private final @NotNull Function<? super MqttPublishRateLimitImpl, P> parentConsumer;
+
+        public Nested(
+                final @Nullable MqttPublishRateLimitImpl rateLimit,
+                final @NotNull Function<? super MqttPublishRateLimitImpl, P> parentConsumer) {
+
+            super(rateLimit);
+            this.parentConsumer = parentConsumer;
+        }
+
+        @Override
+        @NotNull Nested<P> self() {
+            return this;
+        }
+
+        @Override
+        public @NotNull P applyPublishRateLimit() {
+            return parentConsumer.apply(build());
+        }
+    }
+}
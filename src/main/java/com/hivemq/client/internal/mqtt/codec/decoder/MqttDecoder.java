@@ -17,11 +17,17 @@
 package com.hivemq.client.internal.mqtt.codec.decoder;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.codec.decoder.mqtt5.Mqtt5PublishDecoder;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnectRestrictions;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishPayloadStream;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.util.ByteBufferUtil;
+import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
 import com.hivemq.client.mqtt.exceptions.MqttDecodeException;
 import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
@@ -29,13 +35,20 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
  * Main decoder for MQTT messages which delegates to the individual {@link MqttMessageDecoder}s when the fixed header
  * has been read and validated.
+ * <p>
+ * If a streaming payload threshold is configured, a PUBLISH packet whose size exceeds the threshold is decoded as soon
+ * as its variable header has been received. Its payload is then not accumulated, but passed in chunks to a
+ * {@link MqttPublishPayloadStream} while it is received. The payload stream pauses reading from the channel by
+ * disabling auto read while its chunks are not requested.
  *
  * @author Silvio Giebl
  */
@@ -47,6 +60,9 @@ public class MqttDecoder extends ByteToMessageDecoder {
 
     private final @NotNull MqttMessageDecoders decoders;
     private final @NotNull MqttDecoderContext context;
+    private final int streamingPayloadThreshold;
+    private @Nullable MqttPublishPayloadStream payloadStream;
+    private int remainingPayloadLength;
 
     @Inject
     MqttDecoder(
@@ -56,15 +72,25 @@ public class MqttDecoder extends ByteToMessageDecoder {
 
         this.decoders = decoders;
         final MqttConnectRestrictions restrictions = connect.getRestrictions();
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
         context = new MqttDecoderContext(restrictions.getMaximumPacketSize(), restrictions.getTopicAliasMaximum(),
                 restrictions.isRequestProblemInformation(), restrictions.isRequestResponseInformation(),
-                clientConfig.getAdvancedConfig().isValidatePayloadFormat(), false, false, false);
+                advancedConfig.isValidatePayloadFormat(), advancedConfig.isDirectBufferPayload(),
+                advancedConfig.isDirectBufferAuth(), advancedConfig.isDirectBufferCorrelationData(),
+                advancedConfig.isZeroCopyPayload());
+        streamingPayloadThreshold = advancedConfig.getStreamingPayloadThreshold();
     }
 
     @Override
     protected void decode(
             final @NotNull ChannelHandlerContext ctx, final @NotNull ByteBuf in, final @NotNull List<Object> out) {
 
+        final MqttPublishPayloadStream payloadStream = this.payloadStream;
+        if (payloadStream != null) {
+            decodePayloadChunk(payloadStream, in);
+            return;
+        }
+
         if (in.readableBytes() < MIN_FIXED_HEADER_LENGTH) {
             return;
         }
@@ -93,6 +119,14 @@ public class MqttDecoder extends ByteToMessageDecoder {
                         "incoming packet exceeded maximum packet size");
             }
 
+            if ((streamingPayloadThreshold > 0) && (packetSize > streamingPayloadThreshold) &&
+                    (messageType == Mqtt5MessageType.PUBLISH.getCode())) {
+                if (!decodeStreamedPublish(ctx, flags, in, remainingLength, out)) {
+                    in.readerIndex(readerIndexBeforeFixedHeader);
+                }
+                return;
+            }
+
             final int writerIndex = in.writerIndex();
             if (writerIndex < readerIndexAfterFixedHeader + remainingLength) {
                 in.readerIndex(readerIndexBeforeFixedHeader);
@@ -118,6 +152,80 @@ public class MqttDecoder extends ByteToMessageDecoder {
         }
     }
 
+    /**
+     * Decodes a PUBLISH packet without its payload as soon as its variable header has been received.
+     *
+     * @return whether the variable header has been received and the PUBLISH packet was decoded.
+     */
+    private boolean decodeStreamedPublish(
+            final @NotNull ChannelHandlerContext ctx,
+            final int flags,
+            final @NotNull ByteBuf in,
+            final int remainingLength,
+            final @NotNull List<Object> out) throws MqttDecoderException {
+
+        final int variableHeaderLength = Mqtt5PublishDecoder.decodeVariableHeaderLength(flags, in, remainingLength);
+        if (variableHeaderLength == MqttVariableByteInteger.NOT_ENOUGH_BYTES) {
+            return false;
+        }
+        final MqttMessageDecoder decoder = decoders.get(Mqtt5MessageType.PUBLISH.getCode());
+        if (decoder == null) {
+            throw new MqttDecoderException(
+                    Mqtt5DisconnectReasonCode.PROTOCOL_ERROR, "must not receive this packet type");
+        }
+
+        final int writerIndex = in.writerIndex();
+        in.writerIndex(in.readerIndex() + variableHeaderLength);
+        final MqttStatefulPublish publish = (MqttStatefulPublish) decoder.decode(flags, in, context);
+        in.writerIndex(writerIndex);
+
+        final MqttPublishPayloadStream payloadStream = new MqttPublishPayloadStream(ctx.channel());
+        out.add(publish.withPayloadStream(payloadStream));
+        remainingPayloadLength = remainingLength - variableHeaderLength;
+        if (remainingPayloadLength == 0) {
+            payloadStream.complete();
+        } else {
+            this.payloadStream = payloadStream;
+        }
+        return true;
+    }
+
+    private void decodePayloadChunk(final @NotNull MqttPublishPayloadStream payloadStream, final @NotNull ByteBuf in) {
+        final int length = Math.min(in.readableBytes(), remainingPayloadLength);
+        if (length > 0) {
+            final ByteBuffer chunk = ByteBufferUtil.allocate(length, context.useDirectBufferPayload());
+            in.readBytes(chunk);
+            chunk.position(0);
+            remainingPayloadLength -= length;
+            payloadStream.add(chunk);
+        }
+        if (remainingPayloadLength == 0) {
+            this.payloadStream = null;
+            payloadStream.complete();
+        }
+    }
+
+    @Override
+    public void channelReadComplete(final @NotNull ChannelHandlerContext ctx) throws Exception {
+        if ((payloadStream != null) && !ctx.channel().config().isAutoRead()) {
+            // the ByteToMessageDecoder would request another read because no message was decoded, but reading is
+            // paused by the payload stream
+            discardSomeReadBytes();
+            ctx.fireChannelReadComplete();
+            return;
+        }
+        super.channelReadComplete(ctx);
+    }
+
+    @Override
+    protected void handlerRemoved0(final @NotNull ChannelHandlerContext ctx) {
+        final MqttPublishPayloadStream payloadStream = this.payloadStream;
+        if (payloadStream != null) {
+            this.payloadStream = null;
+            payloadStream.fail(new ConnectionClosedException("Connection closed before the payload was received"));
+        }
+    }
+
     @Override
     public boolean isSharable() {
         return false;
@@ -77,5 +77,25 @@ public final class MqttMessageDecoderUtil {
         return in.readUnsignedShort();
     }
 
+    /**
+     * Reads the payload of a PUBLISH without copying it to an unpooled buffer. The payload is a retained slice of the
+     * input or, if a direct payload is requested but the input can not provide one, a copy in a pooled direct buffer.
+     *
+     * @param in            the input buffer.
+     * @param payloadLength the length of the payload.
+     * @param context       the decoder context.
+     * @return the payload buffer which must be released.
+     */
+    public static @NotNull ByteBuf readRetainedPayload(
+            final @NotNull ByteBuf in, final int payloadLength, final @NotNull MqttDecoderContext context) {
+
+        if (context.useDirectBufferPayload() && (!in.isDirect() || (in.nioBufferCount() != 1))) {
+            final ByteBuf payload = in.alloc().directBuffer(payloadLength, payloadLength);
+            in.readBytes(payload, payloadLength);
+            return payload;
+        }
+        return in.readRetainedSlice(payloadLength);
+    }
+
     private MqttMessageDecoderUtil() {}
 }
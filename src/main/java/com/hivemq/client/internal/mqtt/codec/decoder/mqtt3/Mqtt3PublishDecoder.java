@@ -68,14 +68,22 @@ public class Mqtt3PublishDecoder implements MqttMessageDecoder {
 
         final int payloadLength = in.readableBytes();
         ByteBuffer payload = null;
+        ByteBuf retainedPayload = null;
         if (payloadLength > 0) {
-            payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
-            in.readBytes(payload);
-            payload.position(0);
+            if (context.useZeroCopyPayload()) {
+                retainedPayload = readRetainedPayload(in, payloadLength, context);
+                payload = retainedPayload.nioBuffer();
+            } else {
+                payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
+                in.readBytes(payload);
+                payload.position(0);
+            }
         }
 
         final MqttPublish publish = Mqtt3PublishView.delegate(topic, payload, qos, retain);
 
-        return Mqtt3PublishView.statefulDelegate(publish, packetIdentifier, dup);
+        final MqttStatefulPublish statefulPublish = Mqtt3PublishView.statefulDelegate(publish, packetIdentifier, dup);
+        statefulPublish.setRetainedPayload(retainedPayload);
+        return statefulPublish;
     }
 }
@@ -53,6 +53,56 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
     @Inject
     Mqtt5PublishDecoder() {}
 
+    /**
+     * Decodes the length of the variable header of a PUBLISH packet, so the PUBLISH packet can be decoded before its
+     * payload has been received. The reader index of the buffer is not changed.
+     *
+     * @param flags           the flags of the fixed header.
+     * @param in              the buffer with the reader index at the start of the variable header.
+     * @param remainingLength the remaining length of the PUBLISH packet.
+     * @return the length of the variable header or {@link MqttVariableByteInteger#NOT_ENOUGH_BYTES} if the variable
+     *         header has not been received completely yet.
+     * @throws MqttDecoderException if the variable header exceeds the remaining length or is malformed.
+     */
+    public static int decodeVariableHeaderLength(final int flags, final @NotNull ByteBuf in, final int remainingLength)
+            throws MqttDecoderException {
+
+        if (remainingLength < MIN_REMAINING_LENGTH) {
+            throw remainingLengthTooShort();
+        }
+        if (in.readableBytes() < 2) {
+            return MqttVariableByteInteger.NOT_ENOUGH_BYTES;
+        }
+        final int start = in.readerIndex();
+        int length = 2 + in.getUnsignedShort(start); // topic name
+        if ((flags & 0b0110) != 0) {
+            length += 2; // packet identifier
+        }
+        if (length >= remainingLength) {
+            throw remainingLengthTooShort();
+        }
+        if (in.readableBytes() <= length) {
+            return MqttVariableByteInteger.NOT_ENOUGH_BYTES;
+        }
+        in.readerIndex(start + length);
+        final int propertyLength = MqttVariableByteInteger.decode(in);
+        length = in.readerIndex() - start + propertyLength;
+        in.readerIndex(start);
+        if (propertyLength < 0) {
+            if (propertyLength == MqttVariableByteInteger.NOT_ENOUGH_BYTES) {
+                return MqttVariableByteInteger.NOT_ENOUGH_BYTES;
+            }
+            throw malformedPropertyLength();
+        }
+        if (length > remainingLength) {
+            throw malformedPropertyLength();
+        }
+        if (in.readableBytes() < length) {
+            return MqttVariableByteInteger.NOT_ENOUGH_BYTES;
+        }
+        return length;
+    }
+
     @Override
     public @NotNull MqttStatefulPublish decode(
             final int flags, final @NotNull ByteBuf in, final @NotNull MqttDecoderContext context)
@@ -192,13 +242,22 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
 
         final int payloadLength = in.readableBytes();
         ByteBuffer payload = null;
+        ByteBuf retainedPayload = null;
         if (payloadLength > 0) {
-            payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
-            in.readBytes(payload);
-            payload.position(0);
+            if (context.useZeroCopyPayload()) {
+                retainedPayload = readRetainedPayload(in, payloadLength, context);
+                payload = retainedPayload.nioBuffer();
+            } else {
+                payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
+                in.readBytes(payload);
+                payload.position(0);
+            }
 
             if ((payloadFormatIndicator == Mqtt5PayloadFormatIndicator.UTF_8) && context.validatePayloadFormat() &&
                     (Utf8Util.isWellFormed(ByteBufferUtil.getBytes(payload)) != 0)) {
+                if (retainedPayload != null) {
+                    retainedPayload.release();
+                }
                 throw new MqttDecoderException(Mqtt5DisconnectReasonCode.PAYLOAD_FORMAT_INVALID,
                         "payload is not valid UTF-8");
             }
@@ -214,6 +273,9 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
                 (subscriptionIdentifiersBuilder == null) ? DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS :
                         subscriptionIdentifiersBuilder.build();
 
-        return publish.createStateful(packetIdentifier, dup, topicAlias, subscriptionIdentifiers);
+        final MqttStatefulPublish statefulPublish =
+                publish.createStateful(packetIdentifier, dup, topicAlias, subscriptionIdentifiers);
+        statefulPublish.setRetainedPayload(retainedPayload);
+        return statefulPublish;
     }
 }
@@ -16,20 +16,29 @@
 
 package com.hivemq.client.internal.mqtt.codec.encoder;
 
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.MqttMessage;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.PromiseNotifier;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
 
 /**
  * Main encoder for MQTT messages which delegates to the individual {@link MqttMessageEncoder}s.
+ * <p>
+ * If aggregation is enabled, consecutive small packets are appended to a shared chunk instead of being encoded to their
+ * own buffers. The chunk is written as one buffer when it is full, before a packet that is not aggregated is written
+ * and on flush. The promises of the aggregated packets are completed when the chunk is written.
  *
  * @author Silvio Giebl
  */
@@ -44,10 +53,17 @@ public class MqttEncoder extends ChannelDuplexHandler {
     private boolean inRead = false;
     private boolean pendingFlush = false;
 
+    private final @NotNull ArrayList<ChannelPromise> chunkPromises = new ArrayList<>();
+    private boolean chunkVoidPromise = false;
+
     @Inject
-    MqttEncoder(final @NotNull MqttMessageEncoders encoders) {
+    MqttEncoder(final @NotNull MqttMessageEncoders encoders, final @NotNull MqttClientConfig clientConfig) {
+        this(encoders, clientConfig.getAdvancedConfig().isAggregateWrites());
+    }
+
+    MqttEncoder(final @NotNull MqttMessageEncoders encoders, final boolean aggregate) {
         this.encoders = encoders;
-        context = new MqttEncoderContext(ByteBufAllocator.DEFAULT);
+        context = new MqttEncoderContext(ByteBufAllocator.DEFAULT, aggregate);
     }
 
     public void onConnected(final @NotNull MqttClientConnectionConfig connectionConfig) {
@@ -66,18 +82,74 @@ public class MqttEncoder extends ChannelDuplexHandler {
             if (messageEncoder == null) {
                 throw new UnsupportedOperationException();
             }
-            final ByteBuf out = messageEncoder.castAndEncode(message, context);
-            ctx.write(out, promise);
+            final ByteBuf out;
+            try {
+                out = messageEncoder.castAndEncode(message, context);
+            } catch (final Throwable t) {
+                context.revertAllocation();
+                throw t;
+            }
+            context.completeAllocation();
+            final ByteBuf completedChunk = context.pollCompletedChunk();
+            if (completedChunk != null) {
+                writeChunk(ctx, completedChunk);
+                completedChunk.release();
+            }
+            if (out == context.getChunk()) {
+                if (promise.isVoid()) {
+                    chunkVoidPromise = true;
+                } else {
+                    chunkPromises.add(promise);
+                }
+            } else {
+                writeChunk(ctx);
+                ctx.write(out, promise);
+            }
         } else {
+            writeChunk(ctx);
             ctx.write(msg, promise);
         }
     }
 
+    private void writeChunk(final @NotNull ChannelHandlerContext ctx) {
+        final ByteBuf chunk = context.getChunk();
+        if (chunk != null) {
+            writeChunk(ctx, chunk);
+        }
+    }
+
+    /**
+     * Writes the packets that were appended to the given chunk since it was last written. The chunk itself is not
+     * written, but a slice of it, so further packets can be appended to the remaining space of the chunk.
+     */
+    private void writeChunk(final @NotNull ChannelHandlerContext ctx, final @NotNull ByteBuf chunk) {
+        if (!chunk.isReadable()) {
+            return;
+        }
+        final ByteBuf slice = chunk.readRetainedSlice(chunk.readableBytes());
+        final ArrayList<ChannelPromise> promises = chunkPromises;
+        final int promiseCount = promises.size();
+        if (promiseCount == 0) {
+            ctx.write(slice, ctx.voidPromise());
+        } else if ((promiseCount == 1) && !chunkVoidPromise) {
+            ctx.write(slice, promises.get(0));
+        } else {
+            final ChannelFuture future = ctx.write(slice);
+            future.addListener(new PromiseNotifier<Void, ChannelFuture>(promises.toArray(new ChannelPromise[0])));
+            if (chunkVoidPromise) {
+                future.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+            }
+        }
+        promises.clear();
+        chunkVoidPromise = false;
+    }
+
     @Override
     public void flush(final @NotNull ChannelHandlerContext ctx) {
         if (inRead) {
             pendingFlush = true;
         } else {
+            writeChunk(ctx);
             ctx.flush();
         }
     }
@@ -94,10 +166,23 @@ public class MqttEncoder extends ChannelDuplexHandler {
         inRead = false;
         if (pendingFlush) {
             pendingFlush = false;
+            writeChunk(ctx);
             ctx.flush();
         }
     }
 
+    @Override
+    public void close(final @NotNull ChannelHandlerContext ctx, final @NotNull ChannelPromise promise) {
+        writeChunk(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(final @NotNull ChannelHandlerContext ctx) {
+        writeChunk(ctx);
+        context.release();
+    }
+
     @Override
     public boolean isSharable() {
         return false;
@@ -17,19 +17,30 @@
 package com.hivemq.client.internal.mqtt.codec.encoder;
 
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Silvio Giebl
  */
 public class MqttEncoderContext {
 
+    static final int CHUNK_SIZE = 8 * 1024;
+    static final int MAXIMUM_AGGREGATED_LENGTH = 1024;
+
     private final @NotNull ByteBufAllocator allocator;
+    private final boolean aggregate;
     private int maximumPacketSize = MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT;
 
-    MqttEncoderContext(final @NotNull ByteBufAllocator allocator) {
+    private @Nullable ByteBuf chunk;
+    private @Nullable ByteBuf completedChunk;
+    private int allocatedIndex = -1;
+
+    MqttEncoderContext(final @NotNull ByteBufAllocator allocator, final boolean aggregate) {
         this.allocator = allocator;
+        this.aggregate = aggregate;
     }
 
     public @NotNull ByteBufAllocator getAllocator() {
@@ -43,4 +54,91 @@ public class MqttEncoderContext {
     void setMaximumPacketSize(final int maximumPacketSize) {
         this.maximumPacketSize = maximumPacketSize;
     }
+
+    /**
+     * Checks whether a packet with the given encoded length is appended to the shared chunk instead of being encoded to
+     * its own buffer.
+     *
+     * @param encodedLength the encoded length of the packet.
+     * @return whether the packet is aggregated.
+     */
+    public boolean isAggregated(final int encodedLength) {
+        return aggregate && (encodedLength <= MAXIMUM_AGGREGATED_LENGTH);
+    }
+
+    /**
+     * Allocates a buffer for a packet with the given encoded length.
+     * <p>
+     * If the packet {@link #isAggregated(int) is aggregated}, the shared chunk is returned, which the packet must be
+     * appended to. If the chunk has not enough space left, it is replaced by a new chunk and the previous one has to be
+     * written first, see {@link #pollCompletedChunk()}.
+     *
+     * @param encodedLength the encoded length of the packet.
+     * @return the buffer the packet must be written to.
+     */
+    public @NotNull ByteBuf allocateBuffer(final int encodedLength) {
+        if (!isAggregated(encodedLength)) {
+            return allocator.ioBuffer(encodedLength, encodedLength);
+        }
+        ByteBuf chunk = this.chunk;
+        if ((chunk == null) || (chunk.writableBytes() < encodedLength)) {
+            if (chunk != null) {
+                assert completedChunk == null;
+                completedChunk = chunk;
+            }
+            chunk = allocator.ioBuffer(CHUNK_SIZE, CHUNK_SIZE);
+            this.chunk = chunk;
+        }
+        allocatedIndex = chunk.writerIndex();
+        return chunk;
+    }
+
+    /**
+     * @return the chunk that small packets are currently appended to or <code>null</code> if no chunk is allocated.
+     */
+    @Nullable ByteBuf getChunk() {
+        return chunk;
+    }
+
+    /**
+     * Returns the chunk that was replaced by {@link #allocateBuffer(int)} because it had not enough space left. The
+     * ownership of the returned chunk is transferred to the caller.
+     *
+     * @return the replaced chunk or <code>null</code> if the chunk was not replaced.
+     */
+    @Nullable ByteBuf pollCompletedChunk() {
+        final ByteBuf completedChunk = this.completedChunk;
+        this.completedChunk = null;
+        return completedChunk;
+    }
+
+    /**
+     * Discards the bytes of a packet that was only partially appended to the chunk because its encoding failed.
+     */
+    void revertAllocation() {
+        final ByteBuf chunk = this.chunk;
+        if ((chunk != null) && (allocatedIndex != -1)) {
+            chunk.writerIndex(allocatedIndex);
+        }
+        allocatedIndex = -1;
+    }
+
+    void completeAllocation() {
+        allocatedIndex = -1;
+    }
+
+    /**
+     * Releases the chunks, the bytes of packets which were appended but not written yet are discarded.
+     */
+    void release() {
+        final ByteBuf completedChunk = pollCompletedChunk();
+        if (completedChunk != null) {
+            completedChunk.release();
+        }
+        final ByteBuf chunk = this.chunk;
+        if (chunk != null) {
+            this.chunk = null;
+            chunk.release();
+        }
+    }
 }
@@ -49,7 +49,7 @@ abstract class Mqtt3MessageEncoder<M extends MqttMessage> extends MqttMessageEnc
             final int encodedLength,
             final int remainingLength) {
 
-        final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
+        final ByteBuf out = context.allocateBuffer(encodedLength);
         encode(message, out, remainingLength);
         return out;
     }
@@ -73,7 +73,7 @@ abstract class Mqtt3MessageEncoder<M extends MqttMessage> extends MqttMessageEnc
             if (ENCODED_LENGTH > context.getMaximumPacketSize()) {
                 throw maximumPacketSizeExceeded(message, ENCODED_LENGTH, context.getMaximumPacketSize());
             }
-            final ByteBuf out = context.getAllocator().ioBuffer(ENCODED_LENGTH, ENCODED_LENGTH);
+            final ByteBuf out = context.allocateBuffer(ENCODED_LENGTH);
             encode(message, out);
             return out;
         }
@@ -69,15 +69,18 @@ public class Mqtt3PublishEncoder extends Mqtt3MessageEncoder<MqttStatefulPublish
             final int remainingLength) {
 
         final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && payload.isDirect()) {
+        if ((payload != null) && payload.isDirect() && !context.isAggregated(encodedLength)) {
             final int encodedLengthWithoutPayload = encodedLength - payload.remaining();
             final ByteBuf out =
                     context.getAllocator().ioBuffer(encodedLengthWithoutPayload, encodedLengthWithoutPayload);
             encode(message, out, remainingLength);
             return Unpooled.wrappedUnmodifiableBuffer(out, Unpooled.wrappedBuffer(payload));
         }
-        final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
+        final ByteBuf out = context.allocateBuffer(encodedLength);
         encode(message, out, remainingLength);
+        if ((payload != null) && payload.isDirect()) {
+            out.writeBytes(payload.duplicate());
+        }
         return out;
     }
 
@@ -90,6 +90,14 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
     }
 
     final int fixedPropertyLength(final @NotNull MqttPublish publish) {
+        final MqttPublish template = publish.getTemplate();
+        if (template != null) {
+            return encodedFixedProperties(template).length;
+        }
+        return calculateFixedPropertyLength(publish);
+    }
+
+    private int calculateFixedPropertyLength(final @NotNull MqttPublish publish) {
         int propertyLength = 0;
 
         propertyLength += intPropertyEncodedLength(publish.getRawMessageExpiryInterval(), NO_MESSAGE_EXPIRY);
@@ -111,15 +119,18 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
             final int omittedProperties) {
 
         final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && payload.isDirect()) {
+        if ((payload != null) && payload.isDirect() && !context.isAggregated(encodedLength)) {
             final int encodedLengthWithoutPayload = encodedLength - payload.remaining();
             final ByteBuf out =
                     context.getAllocator().ioBuffer(encodedLengthWithoutPayload, encodedLengthWithoutPayload);
             encode(message, out, remainingLength, propertyLength, omittedProperties);
             return Unpooled.wrappedUnmodifiableBuffer(out, Unpooled.wrappedBuffer(payload));
         }
-        final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
+        final ByteBuf out = context.allocateBuffer(encodedLength);
         encode(message, out, remainingLength, propertyLength, omittedProperties);
+        if ((payload != null) && payload.isDirect()) {
+            out.writeBytes(payload.duplicate());
+        }
         return out;
     }
 
@@ -195,9 +206,34 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
         }
     }
 
-    final void encodeFixedProperties(
-            final @NotNull MqttPublish publish, final @NotNull ByteBuf out) {
+    final void encodeFixedProperties(final @NotNull MqttPublish publish, final @NotNull ByteBuf out) {
+        final MqttPublish template = publish.getTemplate();
+        if (template != null) {
+            out.writeBytes(encodedFixedProperties(template));
+        } else {
+            writeFixedProperties(publish, out);
+        }
+    }
+
+    /**
+     * Returns the encoded fixed properties of the given template, encoding and caching them on first use.
+     * <p>
+     * Concurrent first uses may encode the properties more than once, but always to the same bytes.
+     *
+     * @param template the template publish message.
+     * @return the encoded fixed properties, must not be modified.
+     */
+    private byte @NotNull [] encodedFixedProperties(final @NotNull MqttPublish template) {
+        byte[] encoded = template.getEncodedFixedProperties();
+        if (encoded == null) {
+            encoded = new byte[calculateFixedPropertyLength(template)];
+            writeFixedProperties(template, Unpooled.wrappedBuffer(encoded).writerIndex(0));
+            template.setEncodedFixedProperties(encoded);
+        }
+        return encoded;
+    }
 
+    private void writeFixedProperties(final @NotNull MqttPublish publish, final @NotNull ByteBuf out) {
         encodeIntProperty(MESSAGE_EXPIRY_INTERVAL, publish.getRawMessageExpiryInterval(), NO_MESSAGE_EXPIRY, out);
         encodeNullableProperty(PAYLOAD_FORMAT_INDICATOR, publish.getRawPayloadFormatIndicator(), out);
         encodeNullableProperty(CONTENT_TYPE, publish.getRawContentType(), out);
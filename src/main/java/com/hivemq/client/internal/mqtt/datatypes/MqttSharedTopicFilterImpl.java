@@ -260,7 +260,7 @@ public class MqttSharedTopicFilterImpl extends MqttTopicFilterImpl implements Mq
     }
 
     @Override
-    int getFilterByteStart() {
+    public int getFilterByteStart() {
         if (filterByteStart == -1) {
             filterByteStart = ByteArrayUtil.indexOf(toBinary(), SHARE_PREFIX_LENGTH + 1,
                     (byte) MqttTopicImpl.TOPIC_LEVEL_SEPARATOR) + 1;
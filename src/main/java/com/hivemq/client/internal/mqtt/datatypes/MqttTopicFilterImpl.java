@@ -279,7 +279,7 @@ public class MqttTopicFilterImpl extends MqttUtf8StringImpl implements MqttTopic
         return MqttSharedTopicFilterImpl.of(shareName, this);
     }
 
-    int getFilterByteStart() {
+    public int getFilterByteStart() {
         return 0;
     }
 
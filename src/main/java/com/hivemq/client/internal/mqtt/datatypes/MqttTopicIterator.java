@@ -45,7 +45,7 @@ public class MqttTopicIterator extends MqttTopicLevel {
 
     private int start;
     private int end;
-    private final int allEnd;
+    private int allEnd;
 
     private MqttTopicIterator(final byte @NotNull [] array, final int start, final int end, final int allEnd) {
         super(array);
@@ -54,6 +54,20 @@ public class MqttTopicIterator extends MqttTopicLevel {
         this.allEnd = allEnd;
     }
 
+    /**
+     * Resets this iterator to the beginning of the given topic, so that the iterator can be reused for matching
+     * multiple topics without allocating.
+     *
+     * @param topic the topic to iterate.
+     * @return this iterator.
+     */
+    public @NotNull MqttTopicIterator reset(final @NotNull MqttTopicImpl topic) {
+        array = topic.toBinary();
+        start = end = -1;
+        allEnd = array.length;
+        return this;
+    }
+
     @Override
     protected int getStart() {
         return start;
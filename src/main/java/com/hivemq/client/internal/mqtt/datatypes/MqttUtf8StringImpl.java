@@ -280,9 +280,12 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
      * Returns the UTF-8 encoded representation as a byte array. Converts from the UTF-16 encoded representation if
      * necessary.
      *
+     * <p>
+     * The returned array must not be modified.
+     *
      * @return the UTF-8 encoded byte array.
      */
-    byte @NotNull [] toBinary() {
+    public byte @NotNull [] toBinary() {
         byte[] binary = this.binary;
         if (binary == null) {
             final String string = this.string;
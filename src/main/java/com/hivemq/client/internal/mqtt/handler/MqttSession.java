@@ -46,6 +46,7 @@ public class MqttSession {
     private final @NotNull MqttIncomingQosHandler incomingQosHandler;
     private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
     private boolean hasSession;
+    private boolean restored;
     private @Nullable ScheduledFuture<?> expireFuture;
 
     @Inject
@@ -71,6 +72,11 @@ public class MqttSession {
             end(new MqttSessionExpiredException(message, new Mqtt5ConnAckException(connAck, message)));
         }
         hasSession = true;
+        if (!restored) {
+            restored = true;
+            incomingQosHandler.restore(connAck.isSessionPresent(), eventLoop);
+            outgoingQosHandler.restore(connAck, eventLoop);
+        }
 
         if (expireFuture != null) {
             expireFuture.cancel(false);
@@ -28,15 +28,15 @@ class MqttIncomingPublishConfirmable implements Confirmable, Runnable {
 
     private final long id;
     private final @NotNull MqttIncomingPublishFlow flow;
-    private final @NotNull MqttMatchingPublishFlows flows;
+    private final @NotNull MqttIncomingPublishEntry entry;
     private final @NotNull AtomicBoolean confirmed = new AtomicBoolean(false);
 
     MqttIncomingPublishConfirmable(
-            final long id, final @NotNull MqttIncomingPublishFlow flow, final @NotNull MqttMatchingPublishFlows flows) {
+            final long id, final @NotNull MqttIncomingPublishFlow flow, final @NotNull MqttIncomingPublishEntry entry) {
 
         this.id = id;
         this.flow = flow;
-        this.flows = flows;
+        this.entry = entry;
     }
 
     @Override
@@ -55,7 +55,7 @@ class MqttIncomingPublishConfirmable implements Confirmable, Runnable {
 
     @Override
     public void run() {
-        flows.acknowledge(flow);
+        flow.incomingPublishService.acknowledge(entry, flow);
     }
 
     static class Qos0 implements Confirmable {
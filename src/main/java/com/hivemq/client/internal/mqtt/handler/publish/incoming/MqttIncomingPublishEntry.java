@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishPayloadStream;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.util.collections.NodeList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Incoming publish that is pending until it was emitted to all matching flows and, if QoS 1 or 2, acknowledged by all
+ * flows with manual acknowledgement and, if its payload is streamed, its payload was received.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+class MqttIncomingPublishEntry extends NodeList.Node<MqttIncomingPublishEntry> {
+
+    final @NotNull MqttStatefulPublish publish;
+    int queuedCount;
+    int missingAcknowledgements;
+    @Nullable Delivery firstDelivery;
+
+    MqttIncomingPublishEntry(final @NotNull MqttStatefulPublish publish) {
+        this.publish = publish;
+    }
+
+    boolean isEmitted() {
+        return queuedCount == 0;
+    }
+
+    boolean isDone() {
+        return (queuedCount == 0) && (missingAcknowledgements == 0) && isPayloadReceived();
+    }
+
+    private boolean isPayloadReceived() {
+        final MqttPublishPayloadStream payloadStream = publish.stateless().getRawPayloadStream();
+        return (payloadStream == null) || payloadStream.isReceived();
+    }
+
+    boolean isPayloadFailed() {
+        final MqttPublishPayloadStream payloadStream = publish.stateless().getRawPayloadStream();
+        return (payloadStream != null) && payloadStream.isFailed();
+    }
+
+    /**
+     * Delivery of an entry that is queued in a flow because the flow did not request more publishes.
+     * <p>
+     * Is linked into the queue of the flow and into the deliveries of the entry, so it can be removed from the flow in
+     * constant time if the entry is dropped.
+     */
+    @NotThreadSafe
+    static class Delivery extends NodeList.Node<Delivery> {
+
+        final @NotNull MqttIncomingPublishEntry entry;
+        final @NotNull MqttIncomingPublishFlow flow;
+        final @Nullable Delivery nextDelivery;
+        boolean queued = true;
+
+        Delivery(final @NotNull MqttIncomingPublishEntry entry, final @NotNull MqttIncomingPublishFlow flow) {
+            this.entry = entry;
+            this.flow = flow;
+            nextDelivery = entry.firstDelivery;
+            entry.firstDelivery = this;
+            entry.queuedCount++;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.handler.util.FlowWithEventLoop;
+import com.hivemq.client.internal.util.collections.NodeList;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import io.reactivex.Emitter;
 import io.reactivex.internal.util.BackpressureHelper;
@@ -52,7 +53,8 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     private boolean done;
     private @Nullable Throwable error;
 
-    private int referenced;
+    final @NotNull NodeList<MqttIncomingPublishEntry.Delivery> qos1Or2Queue = new NodeList<>();
+    final @NotNull NodeList<MqttIncomingPublishEntry.Delivery> qos0Queue = new NodeList<>();
     private int missingAcknowledgements;
     private long blockedIndex;
     private boolean blocking;
@@ -88,7 +90,7 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
         if (setDone()) {
             subscriber.onComplete();
         } else {
-            incomingPublishService.drain();
+            incomingPublishService.drain(this);
         }
     }
 
@@ -107,13 +109,13 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
         if (setDone()) {
             subscriber.onError(error);
         } else {
-            incomingPublishService.drain();
+            incomingPublishService.drain(this);
         }
     }
 
     @Override
     protected boolean setDone() {
-        return (referenced == 0) && (missingAcknowledgements == 0) && super.setDone();
+        return isQueueEmpty() && (missingAcknowledgements == 0) && super.setDone();
     }
 
     @CallByThread("Netty EventLoop")
@@ -143,8 +145,8 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     @CallByThread("Netty EventLoop")
     @Override
     public void run() { // only executed if was blocking
-        if (referenced > 0) { // is blocking
-            incomingPublishService.drain();
+        if (!isQueueEmpty()) { // is blocking
+            incomingPublishService.drain(this);
         }
     }
 
@@ -185,33 +187,25 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
 
     @CallByThread("Netty EventLoop")
     void runCancel() { // always executed if cancelled
-        if (referenced > 0) { // is blocking
-            incomingPublishService.drain();
+        if (!isQueueEmpty()) { // is blocking
+            incomingPublishService.drain(this);
         }
     }
 
+    @CallByThread("Netty EventLoop")
+    boolean isQueueEmpty() {
+        return qos1Or2Queue.isEmpty() && qos0Queue.isEmpty();
+    }
+
     @CallByThread("Netty EventLoop")
     void increaseMissingAcknowledgements() {
         missingAcknowledgements++;
     }
 
     @CallByThread("Netty EventLoop")
-    void acknowledge(final boolean drain) {
-        if (drain) {
-            incomingPublishService.drain();
-        }
+    void acknowledge() {
         if (--missingAcknowledgements == 0) {
             checkDone();
         }
     }
-
-    @CallByThread("Netty EventLoop")
-    int reference() {
-        return ++referenced;
-    }
-
-    @CallByThread("Netty EventLoop")
-    int dereference() {
-        return --referenced;
-    }
 }
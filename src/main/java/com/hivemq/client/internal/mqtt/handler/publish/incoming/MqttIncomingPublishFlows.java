@@ -17,6 +17,8 @@
 package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
 import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
@@ -28,6 +30,7 @@ import com.hivemq.client.internal.util.collections.HandleList;
 import com.hivemq.client.internal.util.collections.HandleList.Handle;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TopicMatchCacheMetrics;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAckReasonCode;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAckReasonCode;
 import org.jetbrains.annotations.NotNull;
@@ -45,11 +48,23 @@ import java.util.Map;
 public class MqttIncomingPublishFlows {
 
     private final @NotNull MqttSubscribedPublishFlows subscribedFlows;
+    private final @Nullable MqttSubscribedPublishFlowsCache subscribedFlowsCache;
     private final @Nullable HandleList<MqttGlobalIncomingPublishFlow> @NotNull [] globalFlows;
+    private final @NotNull MqttMatchingPublishFlows matchingFlows = new MqttMatchingPublishFlows();
 
     @Inject
-    MqttIncomingPublishFlows() {
-        subscribedFlows = new MqttSubscribedPublishFlowTree();
+    MqttIncomingPublishFlows(final @NotNull MqttClientConfig clientConfig) {
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        final MqttSubscribedPublishFlows subscribedFlows = advancedConfig.isIndexExactTopicFilters() ?
+                new MqttSubscribedPublishFlowMap() : new MqttSubscribedPublishFlowTree();
+        final int topicMatchCacheSize = advancedConfig.getTopicMatchCacheSize();
+        if (topicMatchCacheSize == 0) {
+            this.subscribedFlows = subscribedFlows;
+            subscribedFlowsCache = null;
+        } else {
+            subscribedFlowsCache = new MqttSubscribedPublishFlowsCache(subscribedFlows, topicMatchCacheSize);
+            this.subscribedFlows = subscribedFlowsCache;
+        }
         //noinspection unchecked
         globalFlows = new HandleList[MqttGlobalPublishFilter.values().length];
     }
@@ -118,8 +133,17 @@ public class MqttIncomingPublishFlows {
         }
     }
 
+    /**
+     * Finds the flows matching the given publish.
+     * <p>
+     * The returned flows are reused and only valid until the next invocation of this method.
+     *
+     * @param publish the incoming publish.
+     * @return the matching flows.
+     */
     @NotNull MqttMatchingPublishFlows findMatching(final @NotNull MqttStatefulPublish publish) {
-        final MqttMatchingPublishFlows matchingFlows = new MqttMatchingPublishFlows();
+        final MqttMatchingPublishFlows matchingFlows = this.matchingFlows;
+        matchingFlows.clear();
         findMatching(publish, matchingFlows);
         return matchingFlows;
     }
@@ -166,4 +190,8 @@ public class MqttIncomingPublishFlows {
     public @NotNull Map<@NotNull Integer, @NotNull List<@NotNull MqttSubscription>> getSubscriptions() {
         return subscribedFlows.getSubscriptions();
     }
+
+    public @Nullable Mqtt5TopicMatchCacheMetrics getTopicMatchCacheMetrics() {
+        return subscribedFlowsCache;
+    }
 }
@@ -22,10 +22,12 @@ import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishPayloadReference;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishPayloadStream;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
-import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
-import com.hivemq.client.internal.util.collections.HandleList.Handle;
+import com.hivemq.client.internal.util.collections.NodeList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
+import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -41,16 +43,12 @@ class MqttIncomingPublishService {
     private final @NotNull MqttIncomingQosHandler incomingQosHandler;
     final @NotNull MqttIncomingPublishFlows incomingPublishFlows;
 
-    private final @NotNull ChunkedArrayQueue<Object> qos0Queue = new ChunkedArrayQueue<>(32);
-    private final ChunkedArrayQueue<Object>.@NotNull Iterator qos0It = qos0Queue.iterator();
-    private final @NotNull ChunkedArrayQueue<Object> qos1Or2Queue = new ChunkedArrayQueue<>(32);
-    private final ChunkedArrayQueue<Object>.@NotNull Iterator qos1Or2It = qos1Or2Queue.iterator();
+    private final @NotNull NodeList<MqttIncomingPublishEntry> qos0Entries = new NodeList<>();
+    private final @NotNull NodeList<MqttIncomingPublishEntry> qos1Or2Entries = new NodeList<>();
 
     private long nextQoS1Or2PublishId = 1;
 
-    private int referencedFlowCount;
     private int runIndex;
-    private int blockingFlowCount;
 
     MqttIncomingPublishService(
             final @NotNull MqttIncomingQosHandler incomingQosHandler,
@@ -62,129 +60,195 @@ class MqttIncomingPublishService {
 
     @CallByThread("Netty EventLoop")
     void onPublishQos0(final @NotNull MqttStatefulPublish publish, final int receiveMaximum) {
-        if (qos0Queue.size() >= (2 * receiveMaximum)) { // TODO receiveMaximum
+        if (qos0Entries.size() >= receiveMaximum) { // TODO receiveMaximum
             LOGGER.warn("QoS 0 publish message dropped.");
             if (QOS_0_DROP_OLDEST) {
-                qos0It.reset();
-                qos0It.next();
-                final MqttMatchingPublishFlows flows = (MqttMatchingPublishFlows) qos0It.next();
-                qos0It.remove();
-                for (Handle<MqttIncomingPublishFlow> h = flows.getFirst(); h != null; h = h.getNext()) {
-                    if (h.getElement().dereference() == 0) {
-                        referencedFlowCount--;
-                    }
-                }
+                final MqttIncomingPublishEntry droppedEntry = qos0Entries.getFirst();
+                assert droppedEntry != null;
+                qos0Entries.remove(droppedEntry);
+                drop(droppedEntry);
             } else {
+                publish.releasePayload();
                 return;
             }
         }
-        final MqttMatchingPublishFlows flows = onPublish(publish);
-        if (!flows.isEmpty()) {
-            qos0Queue.offer(publish);
-            qos0Queue.offer(flows);
-        }
+        final MqttIncomingPublishEntry entry = new MqttIncomingPublishEntry(publish);
+        qos0Entries.add(entry);
+        onPublish(entry);
     }
 
     @CallByThread("Netty EventLoop")
     boolean onPublishQos1Or2(final @NotNull MqttStatefulPublish publish, final int receiveMaximum) {
-        if (qos1Or2Queue.size() >= (2 * receiveMaximum)) {
+        if (qos1Or2Entries.size() >= receiveMaximum) {
             return false; // flow control error
         }
         publish.setId(nextQoS1Or2PublishId++);
-        final MqttMatchingPublishFlows flows = onPublish(publish);
-        if (qos1Or2Queue.isEmpty() && flows.isEmpty() && flows.areAcknowledged()) {
-            incomingQosHandler.ack(publish);
-        } else {
-            qos1Or2Queue.offer(publish);
-            qos1Or2Queue.offer(flows);
+        final MqttIncomingPublishEntry entry = new MqttIncomingPublishEntry(publish);
+        qos1Or2Entries.add(entry);
+        final MqttPublishPayloadStream payloadStream = publish.stateless().getRawPayloadStream();
+        if (payloadStream != null) {
+            payloadStream.setEndListener(() -> onPayloadStreamEnd(entry));
         }
+        onPublish(entry);
         return true;
     }
 
     @CallByThread("Netty EventLoop")
-    private @NotNull MqttMatchingPublishFlows onPublish(final @NotNull MqttStatefulPublish publish) {
+    private void onPublish(final @NotNull MqttIncomingPublishEntry entry) {
+        final MqttStatefulPublish publish = entry.publish;
         final MqttMatchingPublishFlows flows = incomingPublishFlows.findMatching(publish);
         if (flows.isEmpty()) {
             LOGGER.warn("No publish flow registered for {}.", publish);
         }
-        drain();
-        for (Handle<MqttIncomingPublishFlow> h = flows.getFirst(); h != null; h = h.getNext()) {
-            if (h.getElement().reference() == 1) {
-                referencedFlowCount++;
+        final boolean acknowledgeable = publish.stateless().getQos() != MqttQos.AT_MOST_ONCE;
+        runIndex++;
+        for (int i = 0; i < flows.size(); i++) {
+            final MqttIncomingPublishFlow flow = flows.get(i);
+            if (acknowledgeable && flow.manualAcknowledgement) {
+                entry.missingAcknowledgements++;
+                flow.increaseMissingAcknowledgements();
             }
+            if (flow.isCancelled()) {
+                continue;
+            }
+            if (flow.isQueueEmpty() && (flow.requested(runIndex) > 0)) {
+                emit(entry, flow);
+                flow.checkDone();
+            } else {
+                final MqttIncomingPublishEntry.Delivery delivery = new MqttIncomingPublishEntry.Delivery(entry, flow);
+                (acknowledgeable ? flow.qos1Or2Queue : flow.qos0Queue).add(delivery);
+            }
+        }
+        if (entry.isEmitted()) {
+            onEmitted(entry);
         }
-        emit(publish, flows);
-        return flows;
     }
 
+    /**
+     * Emits the queued publishes of the given flow as long as it has requested publishes, or removes them if the flow
+     * is cancelled.
+     * <p>
+     * Only the queues of the given flow are visited, publishes that are queued for other flows are not touched. Queued
+     * QoS 1 or 2 publishes are emitted before queued QoS 0 publishes, so acknowledgeable publishes are not delayed by
+     * QoS 0 publishes that can be dropped anyway.
+     *
+     * @param flow the flow to drain.
+     */
     @CallByThread("Netty EventLoop")
-    void drain() {
+    void drain(final @NotNull MqttIncomingPublishFlow flow) {
         runIndex++;
-        blockingFlowCount = 0;
-
-        qos1Or2It.reset();
-        while (qos1Or2It.hasNext()) {
-            final MqttStatefulPublish publish = (MqttStatefulPublish) qos1Or2It.next();
-            final MqttMatchingPublishFlows flows = (MqttMatchingPublishFlows) qos1Or2It.next();
-            emit(publish, flows);
-            if ((qos1Or2It.getIterated() == 2) && flows.isEmpty() && flows.areAcknowledged()) {
-                qos1Or2It.remove();
-                incomingQosHandler.ack(publish);
-            } else if (blockingFlowCount == referencedFlowCount) {
-                return;
+        final boolean cancelled = flow.isCancelled();
+        if (drain(flow, flow.qos1Or2Queue, cancelled) && drain(flow, flow.qos0Queue, cancelled) && !cancelled) {
+            flow.checkDone();
+        }
+    }
+
+    /**
+     * @return whether the queue was drained completely, otherwise the flow has not requested more publishes.
+     */
+    @CallByThread("Netty EventLoop")
+    private boolean drain(
+            final @NotNull MqttIncomingPublishFlow flow,
+            final @NotNull NodeList<MqttIncomingPublishEntry.Delivery> queue,
+            final boolean cancelled) {
+
+        for (MqttIncomingPublishEntry.Delivery d = queue.getFirst(); d != null; d = queue.getFirst()) {
+            final MqttIncomingPublishEntry entry = d.entry;
+            if (!cancelled) {
+                if (flow.requested(runIndex) <= 0) {
+                    return false;
+                }
+                emit(entry, flow);
+            }
+            queue.remove(d);
+            d.queued = false;
+            if (--entry.queuedCount == 0) {
+                onEmitted(entry);
             }
         }
-        qos0It.reset();
-        while (qos0It.hasNext()) {
-            final MqttStatefulPublish publish = (MqttStatefulPublish) qos0It.next();
-            final MqttMatchingPublishFlows flows = (MqttMatchingPublishFlows) qos0It.next();
-            emit(publish, flows);
-            if ((qos0It.getIterated() == 2) && flows.isEmpty()) {
-                qos0It.remove();
-            } else if (blockingFlowCount == referencedFlowCount) {
-                return;
+        return true;
+    }
+
+    @CallByThread("Netty EventLoop")
+    void acknowledge(final @NotNull MqttIncomingPublishEntry entry, final @NotNull MqttIncomingPublishFlow flow) {
+        if ((--entry.missingAcknowledgements == 0) && entry.isEmitted()) {
+            ackInOrder();
+        }
+        flow.acknowledge();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void emit(final @NotNull MqttIncomingPublishEntry entry, final @NotNull MqttIncomingPublishFlow flow) {
+        final MqttStatefulPublish statefulPublish = entry.publish;
+        MqttPublish publish = statefulPublish.stateless();
+        final ByteBuf retainedPayload = statefulPublish.getRetainedPayload();
+        if (retainedPayload != null) {
+            // every emitted publish holds its own reference which is released by the application
+            publish = publish.withPayloadReference(new MqttPublishPayloadReference(retainedPayload.retain()));
+        }
+        final MqttPublishPayloadStream payloadStream = publish.getRawPayloadStream();
+        if (payloadStream != null) {
+            payloadStream.markEmitted();
+        }
+        if (flow.manualAcknowledgement) {
+            final Confirmable confirmable;
+            if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
+                confirmable = new MqttIncomingPublishConfirmable.Qos0();
+            } else {
+                confirmable = new MqttIncomingPublishConfirmable(statefulPublish.getId(), flow, entry);
             }
+            publish = publish.withConfirmable(confirmable);
+        }
+        flow.onNext(publish);
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void onEmitted(final @NotNull MqttIncomingPublishEntry entry) {
+        entry.publish.releasePayload();
+        if (entry.publish.stateless().getQos() == MqttQos.AT_MOST_ONCE) {
+            qos0Entries.remove(entry);
+        } else if (entry.isDone()) {
+            ackInOrder();
         }
     }
 
     @CallByThread("Netty EventLoop")
-    private void emit(
-            final @NotNull MqttStatefulPublish statefulPublish, final @NotNull MqttMatchingPublishFlows flows) {
+    private void ackInOrder() {
+        for (MqttIncomingPublishEntry entry = qos1Or2Entries.getFirst(); (entry != null) && entry.isDone();
+             entry = qos1Or2Entries.getFirst()) {
+            qos1Or2Entries.remove(entry);
+            if (!entry.isPayloadFailed()) {
+                incomingQosHandler.ack(entry.publish);
+            }
+        }
+    }
 
-        for (Handle<MqttIncomingPublishFlow> h = flows.getFirst(); h != null; h = h.getNext()) {
-            final MqttIncomingPublishFlow flow = h.getElement();
+    /**
+     * Called when the streamed payload of a QoS 1 or 2 publish was received completely or could not be received
+     * completely because the connection was closed. The publish is only acknowledged in the first case. In the second
+     * case, the publish is forgotten, so the publish resent by the server is delivered again.
+     */
+    @CallByThread("Netty EventLoop")
+    private void onPayloadStreamEnd(final @NotNull MqttIncomingPublishEntry entry) {
+        if (entry.isPayloadFailed()) {
+            incomingQosHandler.forget(entry.publish);
+        }
+        ackInOrder();
+    }
 
-            if (flow.isCancelled()) {
-                flows.remove(h);
-                if (flow.dereference() == 0) {
-                    referencedFlowCount--;
-                }
-            } else {
-                final long requested = flow.requested(runIndex);
-                if (requested > 0) {
-                    MqttPublish publish = statefulPublish.stateless();
-                    if (flow.manualAcknowledgement) {
-                        final Confirmable confirmable;
-                        if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
-                            confirmable = new MqttIncomingPublishConfirmable.Qos0();
-                        } else {
-                            confirmable = new MqttIncomingPublishConfirmable(statefulPublish.getId(), flow, flows);
-                        }
-                        publish = publish.withConfirmable(confirmable);
-                    }
-                    flow.onNext(publish);
-                    flows.remove(h);
-                    if (flow.dereference() == 0) {
-                        referencedFlowCount--;
-                        flow.checkDone();
-                    }
-                } else if (requested == 0) {
-                    blockingFlowCount++;
-                    if (blockingFlowCount == referencedFlowCount) {
-                        break;
-                    }
+    @CallByThread("Netty EventLoop")
+    private static void drop(final @NotNull MqttIncomingPublishEntry entry) {
+        for (MqttIncomingPublishEntry.Delivery d = entry.firstDelivery; d != null; d = d.nextDelivery) {
+            if (d.queued) {
+                final MqttIncomingPublishFlow flow = d.flow;
+                flow.qos0Queue.remove(d);
+                d.queued = false;
+                if (!flow.isCancelled()) {
+                    flow.checkDone();
                 }
             }
         }
+        entry.queuedCount = 0;
+        entry.publish.releasePayload();
     }
 }
@@ -17,10 +17,17 @@
 package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
 import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.flush.MqttFlushCoalescingConfigImpl;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.advanced.persistence.MqttPersistenceExecutor;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
+import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.MqttMessage;
@@ -36,36 +43,50 @@ import com.hivemq.client.internal.netty.ContextFuture;
 import com.hivemq.client.internal.netty.DefaultContextPromise;
 import com.hivemq.client.internal.util.collections.IntIndex;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.flush.Mqtt5FlushCoalescingConfig;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5IncomingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5IncomingQos2Interceptor;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2Store;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
 import com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompReasonCode;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Silvio Giebl
  */
 @ClientScope
 public class MqttIncomingQosHandler extends MqttSessionAwareHandler
-        implements ContextFuture.Listener<MqttMessage.WithId> {
+        implements ContextFuture.Listener<MqttMessage.WithId>, Runnable {
 
     public static final @NotNull String NAME = "qos.incoming";
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttIncomingQosHandler.class);
     private static final IntIndex.@NotNull Spec<MqttMessage.WithId> INDEX_SPEC =
             new IntIndex.Spec<>(MqttMessage.WithId::getPacketIdentifier);
 
     private final @NotNull MqttClientConfig clientConfig;
     final @NotNull MqttIncomingPublishService incomingPublishService;
+    private final @Nullable Mqtt5IncomingQos2Store qos2Store;
+    private final int maximumUnflushedAcks;
+    private final long ackFlushDelayNanos; // 0 flushes after the current event loop task
 
     // valid for session
     private final @NotNull IntIndex<MqttMessage.WithId> messages = new IntIndex<>(INDEX_SPEC);
     // contains StatefulPublish with AT_LEAST_ONCE/EXACTLY_ONCE, MqttPubAck or MqttPubRec
+    private boolean restoring; // the QoS 2 store is loaded on a background thread
 
     // valid for connection
     private int receiveMaximum;
+    private int unflushedAcks;
+    private boolean flushScheduled;
+    private final @NotNull ArrayDeque<MqttMessage.WithId> heldBack = new ArrayDeque<>();
+    // contains StatefulPublish with EXACTLY_ONCE or MqttPubRel received while restoring
 
     @Inject
     MqttIncomingQosHandler(
@@ -74,6 +95,78 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
 
         this.clientConfig = clientConfig;
         incomingPublishService = new MqttIncomingPublishService(this, incomingPublishFlows);
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        qos2Store = advancedConfig.getIncomingQos2Store();
+        final MqttFlushCoalescingConfigImpl ackFlushCoalescing = advancedConfig.getAckFlushCoalescing();
+        if (ackFlushCoalescing == null) {
+            maximumUnflushedAcks = Mqtt5FlushCoalescingConfig.DEFAULT_MAXIMUM_MESSAGES;
+            ackFlushDelayNanos = 0;
+        } else {
+            maximumUnflushedAcks = ackFlushCoalescing.getMaximumMessages();
+            ackFlushDelayNanos = ackFlushCoalescing.getMaximumDelay(TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Restores the state of incoming QoS 2 publishes of a previous run of the application before the first session of
+     * this client is started or resumed.
+     * <p>
+     * The QoS 2 store is loaded on a background thread. Until the loaded packet identifiers are restored, incoming
+     * QoS 2 Publish and PubRel messages are held back, so a Publish message resent for a stored packet identifier is
+     * not delivered again.
+     *
+     * @param sessionPresent whether the server resumed the session, otherwise the stored state is obsolete.
+     * @param eventLoop      the event loop to restore the loaded packet identifiers on.
+     */
+    @CallByThread("Netty EventLoop")
+    public void restore(final boolean sessionPresent, final @NotNull EventLoop eventLoop) {
+        final Mqtt5IncomingQos2Store qos2Store = this.qos2Store;
+        if (qos2Store == null) {
+            return;
+        }
+        if (!sessionPresent) {
+            qos2Store.clear();
+            qos2Store.flush();
+            return;
+        }
+        restoring = true;
+        MqttPersistenceExecutor.execute(() -> {
+            int[] packetIdentifiers;
+            try {
+                packetIdentifiers = qos2Store.load();
+            } catch (final Throwable t) {
+                LOGGER.error("Could not load the incoming QoS 2 store, resent publishes may be delivered twice.", t);
+                packetIdentifiers = new int[0];
+            }
+            final int[] loadedPacketIdentifiers = packetIdentifiers;
+            eventLoop.execute(() -> restoreLoaded(qos2Store, loadedPacketIdentifiers));
+        });
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void restoreLoaded(
+            final @NotNull Mqtt5IncomingQos2Store qos2Store, final int @NotNull [] packetIdentifiers) {
+
+        restoring = false;
+        if (hasSession) {
+            for (final int packetIdentifier : packetIdentifiers) {
+                messages.putIfAbsent(new MqttPubRec(packetIdentifier, MqttPubRec.DEFAULT_REASON_CODE, null,
+                        MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+            }
+        } else { // session ended while loading
+            qos2Store.clear();
+            qos2Store.flush();
+        }
+        final ChannelHandlerContext ctx = this.ctx;
+        if (ctx != null) {
+            for (MqttMessage.WithId message = heldBack.poll(); message != null; message = heldBack.poll()) {
+                if (message instanceof MqttStatefulPublish) {
+                    readPublishQos2(ctx, (MqttStatefulPublish) message);
+                } else {
+                    readPubRel(ctx, (MqttPubRel) message);
+                }
+            }
+        }
     }
 
     @Override
@@ -81,6 +174,8 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
             final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
 
         receiveMaximum = connectionConfig.getReceiveMaximum();
+        unflushedAcks = 0;
+        flushScheduled = false;
         super.onSessionStartOrResume(connectionConfig, eventLoop);
     }
 
@@ -89,7 +184,11 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
         if (msg instanceof MqttStatefulPublish) {
             readPublish(ctx, (MqttStatefulPublish) msg);
         } else if (msg instanceof MqttPubRel) {
-            readPubRel(ctx, (MqttPubRel) msg);
+            if (restoring) {
+                heldBack.add((MqttPubRel) msg);
+            } else {
+                readPubRel(ctx, (MqttPubRel) msg);
+            }
         } else {
             ctx.fireChannelRead(msg);
         }
@@ -104,7 +203,11 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
                 readPublishQos1(ctx, publish);
                 break;
             case EXACTLY_ONCE:
-                readPublishQos2(ctx, publish);
+                if (restoring) {
+                    heldBack.add(publish);
+                } else {
+                    readPublishQos2(ctx, publish);
+                }
                 break;
         }
     }
@@ -128,6 +231,9 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
             MqttDisconnectUtil.disconnect(ctx.channel(), Mqtt5DisconnectReasonCode.PROTOCOL_ERROR,
                     "QoS 1 PUBLISH must not be received with the same packet identifier as a QoS 2 PUBLISH");
         }
+        if (prevMessage != null) { // resent or erroneous publish is not delivered
+            publish.releasePayload();
+        }
     }
 
     private void readPublishQos2(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
@@ -145,12 +251,16 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
             MqttDisconnectUtil.disconnect(ctx.channel(), Mqtt5DisconnectReasonCode.PROTOCOL_ERROR,
                     "QoS 2 PUBLISH must not be received with the same packet identifier as a QoS 1 PUBLISH");
         }
+        if (prevMessage != null) { // resent or erroneous publish is not delivered
+            publish.releasePayload();
+        }
     }
 
     private void readNewPublishQos1Or2(
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
 
         if (!incomingPublishService.onPublishQos1Or2(publish, receiveMaximum)) {
+            publish.releasePayload();
             MqttDisconnectUtil.disconnect(ctx.channel(), Mqtt5DisconnectReasonCode.RECEIVE_MAXIMUM_EXCEEDED,
                     "Received more QoS 1 and/or 2 PUBLISHes than allowed by Receive Maximum");
         }
@@ -180,6 +290,9 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
             case EXACTLY_ONCE:
                 final MqttPubRec pubRec = buildPubRec(new MqttPubRecBuilder(publish));
                 messages.put(pubRec);
+                if ((qos2Store != null) && !pubRec.getReasonCode().isError()) {
+                    qos2Store.store(pubRec.getPacketIdentifier());
+                }
                 if (ctx != null) {
                     writePubRec(ctx, pubRec);
                 }
@@ -187,16 +300,29 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
         }
     }
 
+    /**
+     * Forgets a QoS 1 or 2 publish that was not acknowledged, so the same publish resent by the server is delivered
+     * again.
+     */
+    @CallByThread("Netty EventLoop")
+    void forget(final @NotNull MqttStatefulPublish publish) {
+        if (messages.get(publish.getPacketIdentifier()) == publish) {
+            messages.remove(publish.getPacketIdentifier());
+        }
+    }
+
     private void writePubAck(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubAck pubAck) {
-        ctx.writeAndFlush(pubAck, new DefaultContextPromise<>(ctx.channel(), pubAck)).addListener(this);
+        ctx.write(pubAck, new DefaultContextPromise<>(ctx.channel(), pubAck)).addListener(this);
+        flushAck(ctx);
     }
 
     private void writePubRec(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubRec pubRec) {
         if (pubRec.getReasonCode().isError()) {
-            ctx.writeAndFlush(pubRec, new DefaultContextPromise<>(ctx.channel(), pubRec)).addListener(this);
+            ctx.write(pubRec, new DefaultContextPromise<>(ctx.channel(), pubRec)).addListener(this);
         } else {
-            ctx.writeAndFlush(pubRec, ctx.voidPromise());
+            ctx.write(pubRec, ctx.voidPromise());
         }
+        flushAck(ctx);
     }
 
     @Override
@@ -211,6 +337,9 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
     private void readPubRel(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubRel pubRel) {
         final MqttMessage.WithId prevMessage = messages.remove(pubRel.getPacketIdentifier());
         if (prevMessage instanceof MqttPubRec) { // normal case
+            if (qos2Store != null) {
+                qos2Store.remove(pubRel.getPacketIdentifier());
+            }
             writePubComp(ctx, buildPubComp(new MqttPubCompBuilder(pubRel)));
         } else if (prevMessage == null) { // may be resent
             writePubComp(
@@ -230,13 +359,70 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
     }
 
     private void writePubComp(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubComp pubComp) {
-        ctx.writeAndFlush(pubComp, ctx.voidPromise());
+        ctx.write(pubComp, ctx.voidPromise());
+        flushAck(ctx);
+    }
+
+    /**
+     * Coalesces the flushes of acknowledgements: all acknowledgements written until the flush task runs are flushed
+     * together. The flush task runs right after the current event loop task, or after the maximum delay of the
+     * configured ack flush coalescing. The count of unflushed acknowledgements is bounded by
+     * {@link #maximumUnflushedAcks}.
+     */
+    private void flushAck(final @NotNull ChannelHandlerContext ctx) {
+        if (++unflushedAcks >= maximumUnflushedAcks) {
+            unflushedAcks = 0;
+            flushQos2Store();
+            ctx.flush();
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            if (ackFlushDelayNanos == 0) {
+                ctx.channel().eventLoop().execute(this);
+            } else {
+                ctx.channel().eventLoop().schedule(this, ackFlushDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void run() {
+        flushScheduled = false;
+        final ChannelHandlerContext ctx = this.ctx;
+        if ((unflushedAcks > 0) && (ctx != null)) {
+            unflushedAcks = 0;
+            flushQos2Store();
+            ctx.flush();
+        }
+    }
+
+    private void flushQos2Store() {
+        if ((qos2Store != null) && !restoring) {
+            qos2Store.flush();
+        }
+    }
+
+    @Override
+    protected void onDisconnectEvent(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttDisconnectEvent disconnectEvent) {
+
+        super.onDisconnectEvent(ctx, disconnectEvent);
+        // held back messages are resent by the server if the session is resumed
+        for (MqttMessage.WithId message = heldBack.poll(); message != null; message = heldBack.poll()) {
+            if (message instanceof MqttStatefulPublish) {
+                ((MqttStatefulPublish) message).releasePayload();
+            }
+        }
     }
 
     @Override
     public void onSessionEnd(final @NotNull Throwable cause) {
         super.onSessionEnd(cause);
         messages.clear();
+        if ((qos2Store != null) && !restoring) { // otherwise cleared when loaded
+            qos2Store.clear();
+            qos2Store.flush();
+        }
     }
 
     private @NotNull MqttPubAck buildPubAck(final @NotNull MqttPubAckBuilder pubAckBuilder) {
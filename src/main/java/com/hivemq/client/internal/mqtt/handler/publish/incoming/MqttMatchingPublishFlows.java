@@ -17,32 +17,49 @@
 package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
 import com.hivemq.client.internal.annotations.NotThreadSafe;
-import com.hivemq.client.internal.util.collections.HandleList;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
+
 /**
+ * Array backed list of the flows matching an incoming publish.
+ * <p>
+ * Can be reused for multiple publishes by calling {@link #clear()}, so matching does not allocate once the array has
+ * grown to the maximum number of matching flows.
+ *
  * @author Silvio Giebl
  */
 @NotThreadSafe
-class MqttMatchingPublishFlows extends HandleList<MqttIncomingPublishFlow> {
+class MqttMatchingPublishFlows {
+
+    private static final int INITIAL_CAPACITY = 4;
 
     boolean subscriptionFound;
-    private int missingAcknowledgements;
+    private @NotNull MqttIncomingPublishFlow @NotNull [] flows = new MqttIncomingPublishFlow[INITIAL_CAPACITY];
+    private int size;
 
-    @Override
-    public @NotNull Handle<MqttIncomingPublishFlow> add(final @NotNull MqttIncomingPublishFlow flow) {
-        if (flow.manualAcknowledgement) {
-            missingAcknowledgements++;
-            flow.increaseMissingAcknowledgements();
+    void add(final @NotNull MqttIncomingPublishFlow flow) {
+        if (size == flows.length) {
+            flows = Arrays.copyOf(flows, size << 1);
         }
-        return super.add(flow);
+        flows[size++] = flow;
+    }
+
+    @NotNull MqttIncomingPublishFlow get(final int index) {
+        return flows[index];
+    }
+
+    int size() {
+        return size;
     }
 
-    boolean areAcknowledged() {
-        return missingAcknowledgements == 0;
+    boolean isEmpty() {
+        return size == 0;
     }
 
-    void acknowledge(final @NotNull MqttIncomingPublishFlow flow) {
-        flow.acknowledge(--missingAcknowledgements == 0);
+    void clear() {
+        Arrays.fill(flows, 0, size, null);
+        size = 0;
+        subscriptionFound = false;
     }
 }
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
+import com.hivemq.client.internal.util.ByteArray;
+import com.hivemq.client.internal.util.collections.HandleList.Handle;
+import com.hivemq.client.internal.util.collections.NodeList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Subscribed publish flows that index topic filters without wildcards by their bytes in a hash map.
+ * <p>
+ * Topic filters with wildcards are delegated to a {@link MqttSubscribedPublishFlowTree}. Matching a topic costs one
+ * hash lookup plus a walk of the tree that only contains the wildcard subscriptions. An exact subscription costs a map
+ * entry and a key that shares the bytes of the topic filter instead of tree nodes and copies of the topic levels.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class MqttSubscribedPublishFlowMap implements MqttSubscribedPublishFlows {
+
+    private final @NotNull HashMap<ByteArray, NodeList<Entry>> exactEntries = new HashMap<>();
+    private final @NotNull MqttSubscribedPublishFlowTree wildcardFlows = new MqttSubscribedPublishFlowTree();
+    private final @NotNull FilterKey lookupKey = new FilterKey(FilterKey.EMPTY, 0);
+
+    MqttSubscribedPublishFlowMap() {}
+
+    @Override
+    public void subscribe(
+            final @NotNull MqttSubscription subscription,
+            final int subscriptionIdentifier,
+            final @Nullable MqttSubscribedPublishFlow flow) {
+
+        final MqttTopicFilterImpl topicFilter = subscription.getTopicFilter();
+        if (topicFilter.containsWildcards()) {
+            wildcardFlows.subscribe(subscription, subscriptionIdentifier, flow);
+            return;
+        }
+        exactEntries.computeIfAbsent(FilterKey.of(topicFilter), key -> new NodeList<>())
+                .add(new Entry(subscription, subscriptionIdentifier, flow));
+    }
+
+    @Override
+    public void suback(
+            final @NotNull MqttTopicFilterImpl topicFilter, final int subscriptionIdentifier, final boolean error) {
+
+        if (topicFilter.containsWildcards()) {
+            wildcardFlows.suback(topicFilter, subscriptionIdentifier, error);
+            return;
+        }
+        final NodeList<Entry> entries = lookup(topicFilter);
+        if (entries != null) {
+            for (Entry entry = entries.getFirst(); entry != null; entry = entry.getNext()) {
+                if (entry.subscriptionIdentifier == subscriptionIdentifier) {
+                    if (!error) {
+                        entry.acknowledged = true;
+                        return;
+                    }
+                    if (entry.flow != null) {
+                        assert entry.handle != null : "entry.flow != null -> entry.handle != null";
+                        entry.flow.getTopicFilters().remove(entry.handle);
+                    }
+                    entries.remove(entry);
+                    removeIfEmpty(topicFilter, entries);
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void unsubscribe(final @NotNull MqttTopicFilterImpl topicFilter) {
+        if (topicFilter.containsWildcards()) {
+            wildcardFlows.unsubscribe(topicFilter);
+            return;
+        }
+        final NodeList<Entry> entries = lookup(topicFilter);
+        if (entries != null) {
+            for (Entry entry = entries.getFirst(); entry != null; entry = entry.getNext()) {
+                if (entry.acknowledged) {
+                    if (entry.flow != null) {
+                        assert entry.handle != null : "entry.flow != null -> entry.handle != null";
+                        entry.flow.getTopicFilters().remove(entry.handle);
+                        if (entry.flow.getTopicFilters().isEmpty()) {
+                            entry.flow.onComplete();
+                        }
+                    }
+                    entries.remove(entry);
+                }
+            }
+            removeIfEmpty(topicFilter, entries);
+        }
+    }
+
+    @Override
+    public void cancel(final @NotNull MqttSubscribedPublishFlow flow) {
+        for (Handle<MqttTopicFilterImpl> h = flow.getTopicFilters().getFirst(); h != null; h = h.getNext()) {
+            final MqttTopicFilterImpl topicFilter = h.getElement();
+            if (topicFilter.containsWildcards()) {
+                continue;
+            }
+            final NodeList<Entry> entries = lookup(topicFilter);
+            if (entries != null) {
+                for (Entry entry = entries.getFirst(); entry != null; entry = entry.getNext()) {
+                    if (entry.flow == flow) {
+                        entry.flow = null;
+                        entry.handle = null;
+                        break;
+                    }
+                }
+            }
+        }
+        wildcardFlows.cancel(flow);
+    }
+
+    @Override
+    public void findMatching(
+            final @NotNull MqttTopicImpl topic, final @NotNull MqttMatchingPublishFlows matchingFlows) {
+
+        final FilterKey lookupKey = this.lookupKey;
+        lookupKey.set(topic.toBinary(), 0);
+        final NodeList<Entry> entries = exactEntries.get(lookupKey);
+        lookupKey.set(FilterKey.EMPTY, 0);
+        if (entries != null) {
+            matchingFlows.subscriptionFound = true;
+            for (Entry entry = entries.getFirst(); entry != null; entry = entry.getNext()) {
+                if (entry.flow != null) {
+                    matchingFlows.add(entry.flow);
+                }
+            }
+        }
+        wildcardFlows.findMatching(topic, matchingFlows);
+    }
+
+    @Override
+    public void clear(final @NotNull Throwable cause) {
+        for (final NodeList<Entry> entries : exactEntries.values()) {
+            for (Entry entry = entries.getFirst(); entry != null; entry = entry.getNext()) {
+                if ((entry.flow != null) && entry.acknowledged) {
+                    entry.flow.onError(cause);
+                }
+            }
+        }
+        exactEntries.clear();
+        wildcardFlows.clear(cause);
+    }
+
+    @Override
+    public @NotNull Map<@NotNull Integer, @NotNull List<@NotNull MqttSubscription>> getSubscriptions() {
+        final Map<Integer, List<MqttSubscription>> map = wildcardFlows.getSubscriptions();
+        for (final NodeList<Entry> entries : exactEntries.values()) {
+            boolean exactFound = false;
+            for (Entry entry = entries.getLast(); entry != null; entry = entry.getPrev()) {
+                if (entry.acknowledged) {
+                    if (!entry.subscription.getTopicFilter().isShared()) {
+                        if (exactFound) {
+                            continue;
+                        }
+                        exactFound = true;
+                    }
+                    map.computeIfAbsent(entry.subscriptionIdentifier, k -> new LinkedList<>())
+                            .add(entry.subscription);
+                }
+            }
+        }
+        return map;
+    }
+
+    private @Nullable NodeList<Entry> lookup(final @NotNull MqttTopicFilterImpl topicFilter) {
+        final FilterKey lookupKey = this.lookupKey;
+        lookupKey.set(topicFilter.toBinary(), topicFilter.getFilterByteStart());
+        final NodeList<Entry> entries = exactEntries.get(lookupKey);
+        lookupKey.set(FilterKey.EMPTY, 0);
+        return entries;
+    }
+
+    private void removeIfEmpty(
+            final @NotNull MqttTopicFilterImpl topicFilter, final @NotNull NodeList<Entry> entries) {
+
+        if (entries.isEmpty()) {
+            final FilterKey lookupKey = this.lookupKey;
+            lookupKey.set(topicFilter.toBinary(), topicFilter.getFilterByteStart());
+            exactEntries.remove(lookupKey);
+            lookupKey.set(FilterKey.EMPTY, 0);
+        }
+    }
+
+    private static class Entry extends NodeList.Node<Entry> {
+
+        final @NotNull MqttSubscription subscription;
+        final int subscriptionIdentifier;
+        @Nullable MqttSubscribedPublishFlow flow;
+        @Nullable Handle<MqttTopicFilterImpl> handle;
+        boolean acknowledged;
+
+        Entry(
+                final @NotNull MqttSubscription subscription,
+                final int subscriptionIdentifier,
+                final @Nullable MqttSubscribedPublishFlow flow) {
+
+            this.subscription = subscription;
+            this.subscriptionIdentifier = subscriptionIdentifier;
+            this.flow = flow;
+            handle = (flow == null) ? null : flow.getTopicFilters().add(subscription.getTopicFilter());
+        }
+    }
+
+    /**
+     * Key of the bytes of a topic filter without the share prefix, sharing the array of the topic filter.
+     */
+    private static class FilterKey extends ByteArray {
+
+        static final byte @NotNull [] EMPTY = new byte[0];
+
+        static @NotNull FilterKey of(final @NotNull MqttTopicFilterImpl topicFilter) {
+            return new FilterKey(topicFilter.toBinary(), topicFilter.getFilterByteStart());
+        }
+
+        private int start;
+
+        FilterKey(final byte @NotNull [] array, final int start) {
+            super(array);
+            this.start = start;
+        }
+
+        void set(final byte @NotNull [] array, final int start) {
+            this.array = array;
+            this.start = start;
+        }
+
+        @Override
+        protected int getStart() {
+            return start;
+        }
+    }
+}
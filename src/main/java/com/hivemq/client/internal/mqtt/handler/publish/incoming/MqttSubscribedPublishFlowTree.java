@@ -36,6 +36,7 @@ import java.util.*;
 public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows {
 
     private @Nullable TopicTreeNode rootNode;
+    private @Nullable MqttTopicIterator matchingTopicIterator;
 
     MqttSubscribedPublishFlowTree() {}
 
@@ -93,7 +94,12 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
     public void findMatching(
             final @NotNull MqttTopicImpl topic, final @NotNull MqttMatchingPublishFlows matchingFlows) {
 
-        final MqttTopicIterator topicIterator = MqttTopicIterator.of(topic);
+        MqttTopicIterator topicIterator = matchingTopicIterator;
+        if (topicIterator == null) {
+            topicIterator = matchingTopicIterator = MqttTopicIterator.of(topic);
+        } else {
+            topicIterator.reset(topic);
+        }
         TopicTreeNode node = rootNode;
         while (node != null) {
             node = node.findMatching(topicIterator, matchingFlows);
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
+import com.hivemq.client.internal.util.ByteArray;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TopicMatchCacheMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded least recently used cache of the flows matching a topic in front of other subscribed publish flows.
+ * <p>
+ * Every change of the subscriptions increments a generation counter, which invalidates all cached entries at once.
+ * <p>
+ * The metrics are only written by the event loop, so they are volatile but not atomic.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class MqttSubscribedPublishFlowsCache implements MqttSubscribedPublishFlows, Mqtt5TopicMatchCacheMetrics {
+
+    private static final @NotNull MqttIncomingPublishFlow @NotNull [] NO_FLOWS = new MqttIncomingPublishFlow[0];
+
+    private final @NotNull MqttSubscribedPublishFlows delegate;
+    private final @NotNull LinkedHashMap<ByteArray, Entry> cache;
+    private final @NotNull LookupKey lookupKey = new LookupKey();
+    private int generation;
+    private volatile long hits;
+    private volatile long misses;
+
+    MqttSubscribedPublishFlowsCache(final @NotNull MqttSubscribedPublishFlows delegate, final int maximumSize) {
+        this.delegate = delegate;
+        cache = new LinkedHashMap<ByteArray, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final @NotNull Map.Entry<ByteArray, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public void subscribe(
+            final @NotNull MqttSubscription subscription,
+            final int subscriptionIdentifier,
+            final @Nullable MqttSubscribedPublishFlow flow) {
+
+        generation++;
+        delegate.subscribe(subscription, subscriptionIdentifier, flow);
+    }
+
+    @Override
+    public void suback(
+            final @NotNull MqttTopicFilterImpl topicFilter, final int subscriptionIdentifier, final boolean error) {
+
+        generation++;
+        delegate.suback(topicFilter, subscriptionIdentifier, error);
+    }
+
+    @Override
+    public void unsubscribe(final @NotNull MqttTopicFilterImpl topicFilter) {
+        generation++;
+        delegate.unsubscribe(topicFilter);
+    }
+
+    @Override
+    public void cancel(final @NotNull MqttSubscribedPublishFlow flow) {
+        generation++;
+        delegate.cancel(flow);
+    }
+
+    @Override
+    public void findMatching(
+            final @NotNull MqttTopicImpl topic, final @NotNull MqttMatchingPublishFlows matchingFlows) {
+
+        final byte[] binary = topic.toBinary();
+        final LookupKey lookupKey = this.lookupKey;
+        lookupKey.set(binary);
+        final Entry entry = cache.get(lookupKey);
+        lookupKey.set(LookupKey.EMPTY);
+
+        if ((entry != null) && (entry.generation == generation)) {
+            //noinspection NonAtomicOperationOnVolatileField
+            hits++;
+            if (entry.subscriptionFound) {
+                matchingFlows.subscriptionFound = true;
+            }
+            final MqttIncomingPublishFlow[] flows = entry.flows;
+            //noinspection ForLoopReplaceableByForEach
+            for (int i = 0; i < flows.length; i++) {
+                matchingFlows.add(flows[i]);
+            }
+            return;
+        }
+        //noinspection NonAtomicOperationOnVolatileField
+        misses++;
+
+        final boolean subscriptionFound = matchingFlows.subscriptionFound;
+        final int from = matchingFlows.size();
+        matchingFlows.subscriptionFound = false;
+        delegate.findMatching(topic, matchingFlows);
+        final int to = matchingFlows.size();
+        final MqttIncomingPublishFlow[] flows;
+        if (from == to) {
+            flows = NO_FLOWS;
+        } else {
+            flows = new MqttIncomingPublishFlow[to - from];
+            for (int i = from; i < to; i++) {
+                flows[i - from] = matchingFlows.get(i);
+            }
+        }
+        cache.put(new ByteArray(binary), new Entry(flows, matchingFlows.subscriptionFound, generation));
+        matchingFlows.subscriptionFound |= subscriptionFound;
+    }
+
+    @Override
+    public void clear(final @NotNull Throwable cause) {
+        generation++;
+        cache.clear();
+        delegate.clear(cause);
+    }
+
+    @Override
+    public @NotNull Map<@NotNull Integer, @NotNull List<@NotNull MqttSubscription>> getSubscriptions() {
+        return delegate.getSubscriptions();
+    }
+
+    @Override
+    public long getHits() {
+        return hits;
+    }
+
+    @Override
+    public long getMisses() {
+        return misses;
+    }
+
+    private static class Entry {
+
+        final @NotNull MqttIncomingPublishFlow @NotNull [] flows;
+        final boolean subscriptionFound;
+        final int generation;
+
+        Entry(
+                final @NotNull MqttIncomingPublishFlow @NotNull [] flows,
+                final boolean subscriptionFound,
+                final int generation) {
+
+            this.flows = flows;
+            this.subscriptionFound = subscriptionFound;
+            this.generation = generation;
+        }
+    }
+
+    private static class LookupKey extends ByteArray {
+
+        static final byte @NotNull [] EMPTY = new byte[0];
+
+        LookupKey() {
+            super(EMPTY);
+        }
+
+        void set(final byte @NotNull [] array) {
+            this.array = array;
+        }
+    }
+}
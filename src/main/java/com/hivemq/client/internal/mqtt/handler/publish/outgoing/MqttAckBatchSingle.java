@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.internal.disposables.EmptyDisposable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Publishes a batch of publishes with a single flow and emits the results of all publishes at once.
+ * <p>
+ * The publishes are queued in one step, so they are written in as few flush cycles as the send maximum and the
+ * writability of the channel allow. Errors of single publishes do not fail the batch, they are contained in their
+ * results. The results are emitted in the order of the publishes, regardless of the order in which they completed.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttAckBatchSingle extends Single<List<Mqtt5PublishResult>> {
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull ImmutableList<MqttPublish> publishes;
+
+    public MqttAckBatchSingle(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull ImmutableList<MqttPublish> publishes) {
+
+        this.clientConfig = clientConfig;
+        this.publishes = publishes;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull SingleObserver<? super List<Mqtt5PublishResult>> observer) {
+        if (publishes.isEmpty()) {
+            observer.onSubscribe(EmptyDisposable.INSTANCE);
+            observer.onSuccess(ImmutableList.of());
+        } else if (clientConfig.getState().isConnectedOrReconnect()) {
+            final ClientComponent clientComponent = clientConfig.getClientComponent();
+            final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
+
+            final Flow flow = new Flow(observer, clientConfig, publishes);
+            observer.onSubscribe(flow);
+            final MqttPublishWithFlow[] publishWithFlows = new MqttPublishWithFlow[publishes.size()];
+            for (int i = 0; i < publishWithFlows.length; i++) {
+                publishWithFlows[i] = new MqttPublishWithFlow(publishes.get(i), flow);
+            }
+            outgoingQosHandler.offerAll(publishWithFlows);
+        } else {
+            EmptyDisposable.error(MqttClientStateExceptions.notConnected(), observer);
+        }
+    }
+
+    private static class Flow extends MqttAckFlow implements Disposable {
+
+        private final @NotNull SingleObserver<? super List<Mqtt5PublishResult>> observer;
+        private final @NotNull Mqtt5PublishResult @NotNull [] results;
+        private final @NotNull IdentityHashMap<MqttPublish, Integer> indexes;
+        private final int @NotNull [] nextIndexes;
+        private int acknowledgedCount;
+
+        Flow(
+                final @NotNull SingleObserver<? super List<Mqtt5PublishResult>> observer,
+                final @NotNull MqttClientConfig clientConfig,
+                final @NotNull ImmutableList<MqttPublish> publishes) {
+
+            super(clientConfig);
+            this.observer = observer;
+            final int size = publishes.size();
+            results = new Mqtt5PublishResult[size];
+            indexes = new IdentityHashMap<>(size);
+            nextIndexes = new int[size];
+            // the same publish can be contained multiple times, its indexes are linked in ascending order
+            for (int i = size - 1; i >= 0; i--) {
+                final Integer nextIndex = indexes.put(publishes.get(i), i);
+                nextIndexes[i] = (nextIndex == null) ? -1 : nextIndex;
+            }
+            init();
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        void onNext(final @NotNull MqttPublishResult result) {
+            final MqttPublish publish = result.getPublish();
+            final Integer index = indexes.remove(publish);
+            assert index != null : "result of a publish that is not in the batch";
+            results[index] = result;
+            final int nextIndex = nextIndexes[index];
+            if (nextIndex != -1) {
+                indexes.put(publish, nextIndex);
+            }
+            if (result.acknowledged()) {
+                acknowledged(1);
+            }
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        void acknowledged(final long acknowledged) {
+            acknowledgedCount += acknowledged;
+            assert acknowledgedCount <= results.length : "more publishes acknowledged than in the batch";
+            if ((acknowledgedCount == results.length) && setDone()) {
+                observer.onSuccess(ImmutableList.copyOf(results));
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import io.reactivex.Flowable;
+import io.reactivex.exceptions.MissingBackpressureException;
 import io.reactivex.internal.subscriptions.EmptySubscription;
 import org.jetbrains.annotations.NotNull;
 import org.reactivestreams.Subscriber;
@@ -50,7 +51,9 @@ public class MqttAckFlowable extends Flowable<Mqtt5PublishResult> {
 
             final MqttAckFlowableFlow flow = new MqttAckFlowableFlow(subscriber, clientConfig, outgoingQosHandler);
             subscriber.onSubscribe(flow);
-            publishFlowables.add(new MqttPublishFlowableAckLink(publishFlowable, flow));
+            if (!publishFlowables.add(new MqttPublishFlowableAckLink(publishFlowable, flow))) {
+                flow.onError(new MissingBackpressureException("Too many queued publish flowables"), 0);
+            }
         } else {
             EmptySubscription.error(MqttClientStateExceptions.notConnected(), subscriber);
         }
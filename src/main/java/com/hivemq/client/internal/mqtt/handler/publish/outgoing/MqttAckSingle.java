@@ -23,7 +23,6 @@ import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
-import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.reactivex.SingleObserver;
 import io.reactivex.disposables.Disposable;
@@ -49,11 +48,10 @@ public class MqttAckSingle extends Single<Mqtt5PublishResult> {
         if (clientConfig.getState().isConnectedOrReconnect()) {
             final ClientComponent clientComponent = clientConfig.getClientComponent();
             final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
-            final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
 
-            final Flow flow = new Flow(observer, clientConfig, outgoingQosHandler);
+            final Flow flow = new Flow(observer, clientConfig);
             observer.onSubscribe(flow);
-            publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, flow)));
+            outgoingQosHandler.offer(new MqttPublishWithFlow(publish, flow));
         } else {
             EmptyDisposable.error(MqttClientStateExceptions.notConnected(), observer);
         }
@@ -62,18 +60,15 @@ public class MqttAckSingle extends Single<Mqtt5PublishResult> {
     private static class Flow extends MqttAckFlow implements Disposable {
 
         private final @NotNull SingleObserver<? super Mqtt5PublishResult> observer;
-        private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
 
         private @Nullable MqttPublishResult result;
 
         Flow(
                 final @NotNull SingleObserver<? super Mqtt5PublishResult> observer,
-                final @NotNull MqttClientConfig clientConfig,
-                final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
+                final @NotNull MqttClientConfig clientConfig) {
 
             super(clientConfig);
             this.observer = observer;
-            this.outgoingQosHandler = outgoingQosHandler;
             init();
         }
 
@@ -106,7 +101,6 @@ public class MqttAckSingle extends Single<Mqtt5PublishResult> {
                     observer.onError(error);
                 }
             }
-            outgoingQosHandler.request(1);
         }
     }
 }
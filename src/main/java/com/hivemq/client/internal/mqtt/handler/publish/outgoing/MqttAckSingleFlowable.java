@@ -50,11 +50,10 @@ public class MqttAckSingleFlowable extends Flowable<Mqtt5PublishResult> {
         if (clientConfig.getState().isConnectedOrReconnect()) {
             final ClientComponent clientComponent = clientConfig.getClientComponent();
             final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
-            final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
 
-            final Flow flow = new Flow(subscriber, clientConfig, outgoingQosHandler);
+            final Flow flow = new Flow(subscriber, clientConfig);
             subscriber.onSubscribe(flow);
-            publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, flow)));
+            outgoingQosHandler.offer(new MqttPublishWithFlow(publish, flow));
         } else {
             EmptySubscription.error(MqttClientStateExceptions.notConnected(), subscriber);
         }
@@ -68,19 +67,16 @@ public class MqttAckSingleFlowable extends Flowable<Mqtt5PublishResult> {
         private static final int STATE_CANCELLED = 3;
 
         private final @NotNull Subscriber<? super Mqtt5PublishResult> subscriber;
-        private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
 
         private final @NotNull AtomicInteger state = new AtomicInteger(STATE_NONE);
         private @Nullable MqttPublishResult result;
 
         Flow(
                 final @NotNull Subscriber<? super Mqtt5PublishResult> subscriber,
-                final @NotNull MqttClientConfig clientConfig,
-                final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
+                final @NotNull MqttClientConfig clientConfig) {
 
             super(clientConfig);
             this.subscriber = subscriber;
-            this.outgoingQosHandler = outgoingQosHandler;
             init();
         }
 
@@ -119,7 +115,6 @@ public class MqttAckSingleFlowable extends Flowable<Mqtt5PublishResult> {
             if (setDone()) {
                 subscriber.onComplete();
             }
-            outgoingQosHandler.request(1);
         }
 
         @Override
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPublishFlowableAckLink.LinkedFlow;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import io.reactivex.Completable;
+import io.reactivex.CompletableObserver;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.internal.disposables.EmptyDisposable;
+import io.reactivex.plugins.RxJavaPlugins;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes the publishes of a flowable without emitting a result per publish.
+ * <p>
+ * The publishes are merged with all other publish flowables, so they are subject to the same backpressure. Completes
+ * when the flowable completed and all of its publishes were handed over to the outgoing QoS handler. Failures of
+ * single publishes are reported to the {@link com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5FireAndForgetFailureListener
+ * Mqtt5FireAndForgetFailureListener}.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttFireAndForgetCompletable extends Completable {
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull Flowable<MqttPublish> publishFlowable;
+
+    public MqttFireAndForgetCompletable(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull Flowable<MqttPublish> publishFlowable) {
+
+        this.clientConfig = clientConfig;
+        this.publishFlowable = publishFlowable;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull CompletableObserver observer) {
+        if (clientConfig.getState().isConnectedOrReconnect()) {
+            final ClientComponent clientComponent = clientConfig.getClientComponent();
+            final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
+            final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
+
+            final MqttFireAndForgetFlow flow = new MqttFireAndForgetFlow(clientConfig, outgoingQosHandler, true);
+            final Link link = new Link(publishFlowable, flow, observer);
+            observer.onSubscribe(link);
+            if (!publishFlowables.add(link)) {
+                link.onError(new MissingBackpressureException("Too many queued publish flowables"), 0);
+            }
+        } else {
+            EmptyDisposable.error(MqttClientStateExceptions.notConnected(), observer);
+        }
+    }
+
+    private static class Link extends Flowable<MqttPublishWithFlow> implements Disposable {
+
+        private final @NotNull Flowable<MqttPublish> source;
+        private final @NotNull MqttFireAndForgetFlow flow;
+        private final @NotNull CompletableObserver observer;
+        private final @NotNull AtomicReference<@Nullable LinkedFlow> linkedFlow = new AtomicReference<>();
+        private volatile boolean done;
+
+        Link(
+                final @NotNull Flowable<MqttPublish> source,
+                final @NotNull MqttFireAndForgetFlow flow,
+                final @NotNull CompletableObserver observer) {
+
+            this.source = source;
+            this.flow = flow;
+            this.observer = observer;
+        }
+
+        @Override
+        protected void subscribeActual(final @NotNull Subscriber<? super MqttPublishWithFlow> s) {
+            source.subscribe(new LinkSubscriber(s, this));
+        }
+
+        void link(final @NotNull LinkedFlow linkedFlow) {
+            if (!this.linkedFlow.compareAndSet(null, linkedFlow)) {
+                linkedFlow.cancelLink();
+            }
+        }
+
+        void onComplete(final long published) {
+            done = true;
+            flow.onSourceDone(published);
+            observer.onComplete();
+        }
+
+        void onError(final @NotNull Throwable error, final long published) {
+            done = true;
+            flow.onSourceDone(published);
+            observer.onError(error);
+        }
+
+        @Override
+        public void dispose() {
+            final LinkedFlow linkedFlow = this.linkedFlow.getAndSet(LinkedFlow.CANCELLED);
+            if (linkedFlow != null) {
+                linkedFlow.cancelLink();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return done || (linkedFlow.get() == LinkedFlow.CANCELLED);
+        }
+    }
+
+    private static class LinkSubscriber implements FlowableSubscriber<MqttPublish>, Subscription, LinkedFlow {
+
+        private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(LinkSubscriber.class);
+
+        static final int STATE_NONE = 0;
+        static final int STATE_IN_PROGRESS = 1;
+        static final int STATE_DONE = 2;
+        static final int STATE_CANCELLED = 3;
+
+        private final @NotNull Subscriber<? super MqttPublishWithFlow> subscriber;
+        private final @NotNull Link link;
+        private @Nullable Subscription subscription;
+        private final @NotNull AtomicInteger state = new AtomicInteger(STATE_NONE);
+        private final @NotNull AtomicInteger requestState = new AtomicInteger(STATE_NONE);
+        private long published;
+
+        LinkSubscriber(final @NotNull Subscriber<? super MqttPublishWithFlow> subscriber, final @NotNull Link link) {
+            this.subscriber = subscriber;
+            this.link = link;
+        }
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription subscription) {
+            this.subscription = subscription;
+            subscriber.onSubscribe(this);
+            link.link(this);
+        }
+
+        @Override
+        public void onNext(final @NotNull MqttPublish publish) {
+            if (state.compareAndSet(STATE_NONE, STATE_IN_PROGRESS)) {
+                published++;
+                subscriber.onNext(new MqttPublishWithFlow(publish, link.flow));
+                if (!state.compareAndSet(STATE_IN_PROGRESS, STATE_NONE)) {
+                    cancelActual();
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (state.compareAndSet(STATE_NONE, STATE_DONE)) {
+                subscriber.onComplete();
+                link.onComplete(published);
+            }
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable error) {
+            if (state.compareAndSet(STATE_NONE, STATE_DONE)) {
+                subscriber.onComplete();
+                link.onError(error, published);
+            } else {
+                RxJavaPlugins.onError(error);
+            }
+        }
+
+        @Override
+        public void request(final long n) {
+            assert subscription != null;
+            if (requestState.compareAndSet(STATE_NONE, STATE_IN_PROGRESS)) {
+                subscription.request(n);
+                if (!requestState.compareAndSet(STATE_IN_PROGRESS, STATE_NONE)) {
+                    subscription.cancel();
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            LOGGER.error("MqttPublishFlowables is global and must never cancel. This must not happen and is a bug.");
+        }
+
+        @Override
+        public void cancelLink() {
+            if (state.getAndSet(STATE_CANCELLED) == STATE_NONE) {
+                cancelActual();
+            }
+        }
+
+        private void cancelActual() {
+            assert subscription != null;
+            if (requestState.getAndSet(STATE_CANCELLED) == STATE_NONE) {
+                subscription.cancel();
+            }
+            subscriber.onComplete();
+            link.flow.onSourceDone(published);
+        }
+    }
+}
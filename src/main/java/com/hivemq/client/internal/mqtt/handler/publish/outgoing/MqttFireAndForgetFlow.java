@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5FireAndForgetFailureListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ack flow of fire-and-forget publishes.
+ * <p>
+ * Fire-and-forget publishes do not produce a result per publish. Failures are only counted and reported in aggregate
+ * to the {@link Mqtt5FireAndForgetFailureListener} each time the outgoing QoS handler finished a write or read cycle.
+ * <p>
+ * Directly queued fire-and-forget publishes of a client share one flow. Fire-and-forget publishes emitted by a publish
+ * flowable use one flow per flowable which requests a new publish from the outgoing QoS handler for each completed
+ * publish.
+ * <p>
+ * The shared flow is referenced by the outgoing QoS handler for the duration of a session and additionally by each
+ * direct offer while it is queuing its publish. It is only released when all references are released, so an offer can
+ * never queue a publish with a flow that was already released.
+ * <p>
+ * The flow of a publish flowable is only released when the flowable is done and all publishes it emitted were
+ * acknowledged, as the outgoing QoS handler still uses the flow for queued and in-flight publishes until then.
+ *
+ * @author Silvio Giebl
+ */
+class MqttFireAndForgetFlow extends MqttAckFlow {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttFireAndForgetFlow.class);
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
+    private final boolean requesting;
+    private final @NotNull AtomicInteger references = new AtomicInteger(1);
+    private volatile long acknowledged;
+    private volatile long published = -1;
+    private int failedCount;
+    private @Nullable Throwable lastCause;
+
+    MqttFireAndForgetFlow(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttOutgoingQosHandler outgoingQosHandler,
+            final boolean requesting) {
+
+        super(clientConfig);
+        this.clientConfig = clientConfig;
+        this.outgoingQosHandler = outgoingQosHandler;
+        this.requesting = requesting;
+        init();
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    void onNext(final @NotNull MqttPublishResult result) {
+        final Throwable error = result.getRawError();
+        if (error != null) {
+            onFailure(error);
+        }
+        if (result.acknowledged()) {
+            acknowledged(1);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    void acknowledged(final long acknowledged) {
+        if (requesting) {
+            outgoingQosHandler.request(acknowledged);
+            final long newAcknowledged = this.acknowledged + acknowledged;
+            this.acknowledged = newAcknowledged;
+            if (newAcknowledged == published) {
+                setDone();
+            }
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void onFailure(final @NotNull Throwable cause) {
+        if (failedCount++ == 0) {
+            outgoingQosHandler.onFireAndForgetFailure(this);
+        }
+        lastCause = cause;
+    }
+
+    @CallByThread("Netty EventLoop")
+    void reportFailures() {
+        final Throwable lastCause = this.lastCause;
+        if (lastCause == null) {
+            return;
+        }
+        final int failedCount = this.failedCount;
+        this.failedCount = 0;
+        this.lastCause = null;
+        final Mqtt5FireAndForgetFailureListener listener =
+                clientConfig.getAdvancedConfig().getFireAndForgetFailureListener();
+        if (listener != null) {
+            try {
+                listener.onFailures(clientConfig, failedCount, lastCause);
+            } catch (final Throwable t) {
+                LOGGER.error("Unexpected exception thrown by fire-and-forget failure listener.", t);
+            }
+        }
+    }
+
+    /**
+     * Adds a reference to this flow if it is not released yet.
+     *
+     * @return whether the reference was added, otherwise this flow is already released.
+     */
+    boolean retain() {
+        while (true) {
+            final int references = this.references.get();
+            if (references == 0) {
+                return false;
+            }
+            if (this.references.compareAndSet(references, references + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        if (references.decrementAndGet() == 0) {
+            setDone();
+        }
+    }
+
+    /**
+     * Called when the publish flowable of this flow completed, failed or was cancelled.
+     *
+     * @param published the count of publishes the flowable emitted.
+     */
+    void onSourceDone(final long published) {
+        this.published = published;
+        if (acknowledged == published) {
+            setDone();
+        }
+    }
+}
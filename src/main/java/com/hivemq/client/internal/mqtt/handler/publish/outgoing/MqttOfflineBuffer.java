@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.advanced.offline.MqttOfflineBufferConfigImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.util.collections.NodeList;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
+import com.hivemq.client.mqtt.exceptions.MqttMessageExpiredException;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferEvictionPolicy;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bounded buffer for the publishes that are queued while the client is not connected.
+ * <p>
+ * Publishes are kept in the order they were buffered. With {@link Mqtt5OfflineBufferEvictionPolicy#DROP_QOS_0_FIRST}
+ * publishes with QoS 0 are kept in a separate list, so the oldest one can be evicted in constant time. Both lists are
+ * merged by the time the publishes were queued when they are polled.
+ * <p>
+ * All methods except the getters of the metrics must only be called on the event loop. The metrics are only written by
+ * the event loop, so they are volatile but not atomic.
+ *
+ * @author Silvio Giebl
+ */
+class MqttOfflineBuffer implements Mqtt5OfflineBufferMetrics {
+
+    private final int maximumMessages;
+    private final long maximumBytes;
+    private final @NotNull Mqtt5OfflineBufferEvictionPolicy evictionPolicy;
+    private final @NotNull NodeList<MqttPubOrRelWithFlow> publishes = new NodeList<>();
+    private final @NotNull NodeList<MqttPubOrRelWithFlow> qos0Publishes = new NodeList<>();
+    private int expiringMessages;
+    private long nextExpiryNanos;
+
+    private volatile int bufferedMessages;
+    private volatile long bufferedBytes;
+    private volatile long droppedMessages;
+    private volatile long droppedBytes;
+    private volatile long expiredMessages;
+
+    MqttOfflineBuffer(final @NotNull MqttOfflineBufferConfigImpl config) {
+        maximumMessages = config.getMaximumMessages();
+        maximumBytes = config.getMaximumBytes();
+        evictionPolicy = config.getEvictionPolicy();
+    }
+
+    @CallByThread("Netty EventLoop")
+    void add(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final long bytes = bytes(publishWithFlow);
+        final long nowNanos = System.nanoTime();
+        if (isFull(bytes) && (evictionPolicy == Mqtt5OfflineBufferEvictionPolicy.EXPIRE)) {
+            removeExpired(nowNanos);
+        }
+        if ((bytes > maximumBytes) ||
+                ((evictionPolicy == Mqtt5OfflineBufferEvictionPolicy.DROP_NEWEST) && isFull(bytes))) {
+            drop(publishWithFlow, bytes);
+            return;
+        }
+        while (isFull(bytes)) {
+            final MqttPublishWithFlow evicted = getEvictionCandidate();
+            assert evicted != null;
+            remove(evicted);
+            drop(evicted, bytes(evicted));
+        }
+        listOf(publishWithFlow).add(publishWithFlow);
+        //noinspection NonAtomicOperationOnVolatileField
+        bufferedMessages++;
+        //noinspection NonAtomicOperationOnVolatileField
+        bufferedBytes += bytes;
+        if (evictionPolicy == Mqtt5OfflineBufferEvictionPolicy.EXPIRE) {
+            final long expiryNanos = publishWithFlow.expiryNanos();
+            if ((expiryNanos != Long.MAX_VALUE) &&
+                    ((expiringMessages++ == 0) || (expiryNanos - nextExpiryNanos < 0))) {
+                nextExpiryNanos = expiryNanos;
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest buffered publish. With {@link Mqtt5OfflineBufferEvictionPolicy#EXPIRE} expired publishes are
+     * skipped and dropped.
+     *
+     * @return the oldest buffered publish or <code>null</code> if the buffer is empty.
+     */
+    @CallByThread("Netty EventLoop")
+    @Nullable MqttPublishWithFlow poll() {
+        MqttPublishWithFlow publishWithFlow;
+        while ((publishWithFlow = getFirst()) != null) {
+            remove(publishWithFlow);
+            if ((evictionPolicy == Mqtt5OfflineBufferEvictionPolicy.EXPIRE) &&
+                    publishWithFlow.isExpired(System.nanoTime())) {
+                expire(publishWithFlow);
+                continue;
+            }
+            return publishWithFlow;
+        }
+        return null;
+    }
+
+    @CallByThread("Netty EventLoop")
+    void clear(final @NotNull Throwable cause) {
+        MqttPublishWithFlow publishWithFlow;
+        while ((publishWithFlow = getFirst()) != null) {
+            remove(publishWithFlow);
+            publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+        }
+    }
+
+    boolean isEmpty() {
+        return bufferedMessages == 0;
+    }
+
+    private boolean isFull(final long bytes) {
+        return (bufferedMessages >= maximumMessages) || (bufferedBytes + bytes > maximumBytes);
+    }
+
+    private @Nullable MqttPublishWithFlow getFirst() {
+        final MqttPublishWithFlow first = (MqttPublishWithFlow) publishes.getFirst();
+        final MqttPublishWithFlow firstQos0 = (MqttPublishWithFlow) qos0Publishes.getFirst();
+        if (firstQos0 == null) {
+            return first;
+        }
+        if (first == null) {
+            return firstQos0;
+        }
+        return (firstQos0.queuedNanos - first.queuedNanos < 0) ? firstQos0 : first;
+    }
+
+    private @Nullable MqttPublishWithFlow getEvictionCandidate() {
+        final MqttPublishWithFlow firstQos0 = (MqttPublishWithFlow) qos0Publishes.getFirst();
+        return (firstQos0 == null) ? getFirst() : firstQos0;
+    }
+
+    private @NotNull NodeList<MqttPubOrRelWithFlow> listOf(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        return ((evictionPolicy == Mqtt5OfflineBufferEvictionPolicy.DROP_QOS_0_FIRST) &&
+                (publishWithFlow.getPublish().getQos() == MqttQos.AT_MOST_ONCE)) ? qos0Publishes : publishes;
+    }
+
+    private void remove(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        listOf(publishWithFlow).detach(publishWithFlow);
+        //noinspection NonAtomicOperationOnVolatileField
+        bufferedMessages--;
+        //noinspection NonAtomicOperationOnVolatileField
+        bufferedBytes -= bytes(publishWithFlow);
+        if ((evictionPolicy == Mqtt5OfflineBufferEvictionPolicy.EXPIRE) &&
+                (publishWithFlow.expiryNanos() != Long.MAX_VALUE)) {
+            expiringMessages--;
+        }
+    }
+
+    /**
+     * Removes all expired publishes. The buffer is only scanned if the earliest expiry of all buffered publishes has
+     * been reached, the scan then recalculates the earliest expiry of the remaining publishes.
+     */
+    private void removeExpired(final long nowNanos) {
+        if ((expiringMessages == 0) || (nowNanos - nextExpiryNanos < 0)) {
+            return;
+        }
+        long nextExpiryNanos = Long.MAX_VALUE;
+        MqttPubOrRelWithFlow current = publishes.getFirst();
+        while (current != null) {
+            final MqttPublishWithFlow publishWithFlow = (MqttPublishWithFlow) current;
+            current = current.getNext();
+            final long expiryNanos = publishWithFlow.expiryNanos();
+            if (expiryNanos != Long.MAX_VALUE) {
+                if (nowNanos - expiryNanos >= 0) {
+                    remove(publishWithFlow);
+                    expire(publishWithFlow);
+                } else if ((nextExpiryNanos == Long.MAX_VALUE) || (expiryNanos - nextExpiryNanos < 0)) {
+                    nextExpiryNanos = expiryNanos;
+                }
+            }
+        }
+        this.nextExpiryNanos = nextExpiryNanos;
+    }
+
+    private void drop(final @NotNull MqttPublishWithFlow publishWithFlow, final long bytes) {
+        //noinspection NonAtomicOperationOnVolatileField
+        droppedMessages++;
+        //noinspection NonAtomicOperationOnVolatileField
+        droppedBytes += bytes;
+        publishWithFlow.getAckFlow()
+                .onNext(new MqttPublishResult(publishWithFlow.getPublish(),
+                        new MqttClientStateException("Publish was dropped because the offline buffer is full.")));
+    }
+
+    private void expire(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        //noinspection NonAtomicOperationOnVolatileField
+        expiredMessages++;
+        publishWithFlow.getAckFlow()
+                .onNext(new MqttPublishResult(publishWithFlow.getPublish(),
+                        new MqttMessageExpiredException("Publish expired in the offline buffer.")));
+    }
+
+    private static long bytes(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final ByteBuffer payload = publishWithFlow.getPublish().getRawPayload();
+        return (payload == null) ? 0 : payload.remaining();
+    }
+
+    @Override
+    public int getBufferedMessages() {
+        return bufferedMessages;
+    }
+
+    @Override
+    public long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    @Override
+    public long getDroppedMessages() {
+        return droppedMessages;
+    }
+
+    @Override
+    public long getDroppedBytes() {
+        return droppedBytes;
+    }
+
+    @Override
+    public long getExpiredMessages() {
+        return expiredMessages;
+    }
+}
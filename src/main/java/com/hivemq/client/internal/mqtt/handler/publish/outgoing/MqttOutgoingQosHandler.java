@@ -21,7 +21,13 @@ import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.flush.MqttFlushCoalescingConfigImpl;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.advanced.offline.MqttOfflineBufferConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.persistence.MqttPersistenceExecutor;
+import com.hivemq.client.internal.mqtt.advanced.ratelimit.MqttPublishRateLimitImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
@@ -29,6 +35,7 @@ import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPubRelWithFl
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPubRelWithFlow.MqttQos2IntermediateWithFlow;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubscriptionHandler;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+import com.hivemq.client.internal.mqtt.message.connect.connack.MqttConnAck;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult.MqttQos1Result;
@@ -41,17 +48,24 @@ import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubComp;
 import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
 import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
 import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRelBuilder;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.netty.ContextFuture;
 import com.hivemq.client.internal.netty.DefaultContextPromise;
-import com.hivemq.client.internal.util.Ranges;
+import com.hivemq.client.internal.util.IdBitmap;
 import com.hivemq.client.internal.util.UnsignedDataTypes;
 import com.hivemq.client.internal.util.collections.IntIndex;
 import com.hivemq.client.internal.util.collections.NodeList;
 import com.hivemq.client.mqtt.MqttClientState;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
+import com.hivemq.client.mqtt.exceptions.MqttMessageExpiredException;
+import com.hivemq.client.mqtt.exceptions.MqttSessionExpiredException;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5OutgoingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5OutgoingQos2Interceptor;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferMetrics;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionEntry;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionStore;
+import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5ConnAckException;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubAckException;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubRecException;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
@@ -60,14 +74,18 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
 import io.reactivex.Flowable;
 import io.reactivex.FlowableSubscriber;
-import org.jctools.queues.SpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0;
 
@@ -82,24 +100,50 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttOutgoingQosHandler.class);
     private static final IntIndex.@NotNull Spec<MqttPubOrRelWithFlow> INDEX_SPEC =
             new IntIndex.Spec<>(x -> x.packetIdentifier);
-    private static final int MAX_CONCURRENT_PUBLISH_FLOWABLES = 64; // TODO configurable
-    private static final boolean QOS_2_COMPLETE_RESULT = false; // TODO configurable
+    private static final int MAX_PACKET_IDENTIFIER =
+            UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE - MqttSubscriptionHandler.MAX_SUB_PENDING;
 
     private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttPublishFlowables publishFlowables;
+    private final boolean qos2CompleteResult;
+    private final @Nullable Mqtt5OutgoingSessionStore sessionStore;
+    private final @Nullable MqttOfflineBuffer offlineBuffer;
+    private final @Nullable MqttPublishRateLimiter rateLimiter;
+    private final @Nullable MqttFlushCoalescingConfigImpl flushCoalescing;
+    private boolean restoring; // the session store is loaded on a background thread
+    private boolean rateLimitScheduled;
+    private @Nullable MqttPublishWithFlow rateLimitedPublish; // already dequeued, but held back by the rate limit
+    private final @NotNull Runnable rateLimitedRun = () -> {
+        rateLimitScheduled = false;
+        run();
+    };
 
     // valid for session
-    private final @NotNull SpscUnboundedArrayQueue<MqttPublishWithFlow> queue = new SpscUnboundedArrayQueue<>(32);
+    private final @NotNull MqttPublishQueues queues = new MqttPublishQueues();
     private final @NotNull AtomicInteger queuedCounter = new AtomicInteger();
     private final @NotNull NodeList<MqttPubOrRelWithFlow> pending = new NodeList<>();
-    private final @NotNull Ranges packetIdentifiers = new Ranges(1, 0);
+    private final @NotNull IdBitmap packetIdentifiers = new IdBitmap(1, 0);
 
     // valid for connection
     private final @NotNull IntIndex<MqttPubOrRelWithFlow> pendingIndex = new IntIndex<>(INDEX_SPEC);
     private @Nullable MqttPubOrRelWithFlow resendPending;
     private @Nullable MqttPublishWithFlow currentPending;
+    private @Nullable MqttFireAndForgetFlow currentFireAndForget;
+    private final @NotNull AtomicReference<@Nullable MqttFireAndForgetFlow> fireAndForgetFlow =
+            new AtomicReference<>();
+    private final @NotNull ArrayList<MqttFireAndForgetFlow> failedFireAndForgetFlows = new ArrayList<>(4);
     private int sendMaximum;
     private @Nullable MqttTopicAliasMapping topicAliasMapping;
+    private int unflushedMessages;
+    private long unflushedBytes;
+    private boolean flushScheduled;
+    private final @NotNull Runnable scheduledFlush = () -> {
+        flushScheduled = false;
+        final ChannelHandlerContext ctx = this.ctx;
+        if ((ctx != null) && (unflushedMessages > 0)) {
+            flush(ctx);
+        }
+    };
 
     private @Nullable Subscription subscription;
     private int shrinkRequests;
@@ -107,7 +151,16 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     @Inject
     MqttOutgoingQosHandler(final @NotNull MqttClientConfig clientConfig) {
         this.clientConfig = clientConfig;
-        publishFlowables = new MqttPublishFlowables();
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        publishFlowables = new MqttPublishFlowables(advancedConfig.getMaximumQueuedPublishFlowables());
+        qos2CompleteResult = advancedConfig.isQos2CompleteResult();
+        sessionStore = advancedConfig.getOutgoingSessionStore();
+        final MqttOfflineBufferConfigImpl offlineBufferConfig = advancedConfig.getOfflineBuffer();
+        offlineBuffer = (offlineBufferConfig == null) ? null : new MqttOfflineBuffer(offlineBufferConfig);
+        final MqttPublishRateLimitImpl rateLimit = advancedConfig.getPublishRateLimit();
+        rateLimiter = ((rateLimit == null) || !MqttPublishRateLimiter.isLimited(rateLimit)) ? null :
+                new MqttPublishRateLimiter(rateLimit, System.nanoTime());
+        flushCoalescing = advancedConfig.getFlushCoalescing();
     }
 
     @Override
@@ -115,13 +168,15 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
 
         final int oldSendMaximum = sendMaximum;
-        final int newSendMaximum = Math.min(connectionConfig.getSendMaximum(),
-                UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE - MqttSubscriptionHandler.MAX_SUB_PENDING);
+        final int newSendMaximum = Math.min(connectionConfig.getSendMaximum(), MAX_PACKET_IDENTIFIER);
         sendMaximum = newSendMaximum;
         packetIdentifiers.resize(newSendMaximum);
         if (oldSendMaximum == 0) {
-            publishFlowables.flatMap(
-                    f -> f, true, MAX_CONCURRENT_PUBLISH_FLOWABLES, Math.min(newSendMaximum, Flowable.bufferSize()))
+            final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+            // a prefetch of 1 per publish flowable makes the merge emit round-robin
+            final int prefetch =
+                    advancedConfig.isFairPublishFlowables() ? 1 : Math.min(newSendMaximum, Flowable.bufferSize());
+            publishFlowables.flatMap(f -> f, true, advancedConfig.getMaximumConcurrentPublishFlowables(), prefetch)
                     .subscribe(this);
             assert subscription != null;
             subscription.request(newSendMaximum);
@@ -136,16 +191,137 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             }
         }
         topicAliasMapping = connectionConfig.getSendTopicAliasMapping();
+        unflushedMessages = 0;
+        unflushedBytes = 0;
 
         pendingIndex.clear();
         resendPending = pending.getFirst();
-        if ((resendPending != null) || (queuedCounter.get() > 0)) {
+        if ((resendPending != null) || (queuedCounter.get() > 0) || (rateLimitedPublish != null) ||
+                hasOfflineBuffered()) {
             eventLoop.execute(this);
         }
 
         super.onSessionStartOrResume(connectionConfig, eventLoop);
     }
 
+    /**
+     * Restores the pending publishes and pubRels of a previous run of the application before the first session of this
+     * client is started or resumed.
+     * <p>
+     * The session store is loaded on a background thread, so the event loop never waits for the disk. Until the entries
+     * are restored, no new publishes are written, so their packet identifiers can not collide with the restored ones.
+     *
+     * @param connAck   the ConnAck of the first session, the stored entries can only be resent if the session is
+     *                  present.
+     * @param eventLoop the event loop to restore the loaded entries on.
+     */
+    @CallByThread("Netty EventLoop")
+    public void restore(final @NotNull MqttConnAck connAck, final @NotNull EventLoop eventLoop) {
+        final Mqtt5OutgoingSessionStore sessionStore = this.sessionStore;
+        if (sessionStore == null) {
+            return;
+        }
+        restoring = true;
+        MqttPersistenceExecutor.execute(() -> {
+            List<Mqtt5OutgoingSessionEntry> entries;
+            try {
+                entries = sessionStore.load();
+            } catch (final Throwable t) {
+                LOGGER.error("Could not load the outgoing session store, stored publishes are not resent.", t);
+                entries = new ArrayList<>();
+            }
+            final List<Mqtt5OutgoingSessionEntry> loadedEntries = entries;
+            eventLoop.execute(() -> restoreLoaded(sessionStore, loadedEntries, connAck));
+        });
+    }
+
+    /**
+     * Restores the loaded entries of the session store.
+     * <p>
+     * If the session is present or publishes are republished if the session expired, the entries are added to the
+     * pending messages, so they are resent like the pending messages of a resumed session. Otherwise, the entries are
+     * removed and the publishes fail. The results of restored messages are discarded, only failures are reported like
+     * for fire-and-forget publishes.
+     */
+    @CallByThread("Netty EventLoop")
+    private void restoreLoaded(
+            final @NotNull Mqtt5OutgoingSessionStore sessionStore,
+            final @NotNull List<Mqtt5OutgoingSessionEntry> entries,
+            final @NotNull MqttConnAck connAck) {
+
+        restoring = false;
+        if (!entries.isEmpty()) {
+            if ((hasSession && connAck.isSessionPresent()) || isRepublishIfSessionExpired()) {
+                restorePending(sessionStore, entries);
+                if (hasSession) {
+                    resendPending = pending.getFirst();
+                }
+            } else {
+                failRestored(sessionStore, entries, connAck);
+            }
+            sessionStore.flush();
+        }
+        run();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void restorePending(
+            final @NotNull Mqtt5OutgoingSessionStore sessionStore,
+            final @NotNull List<Mqtt5OutgoingSessionEntry> entries) {
+
+        final MqttFireAndForgetFlow flow = getFireAndForgetFlow();
+        for (final Mqtt5OutgoingSessionEntry entry : entries) {
+            final int packetIdentifier = entry.getPacketIdentifier();
+            final MqttPublish publish = MqttChecks.publish(entry.getPublish());
+            if ((publish.getQos() == MqttQos.AT_MOST_ONCE) || (packetIdentifier > MAX_PACKET_IDENTIFIER)) {
+                LOGGER.warn("Skipped invalid stored publish with packet identifier {}.", packetIdentifier);
+                sessionStore.remove(packetIdentifier);
+                continue;
+            }
+            if (packetIdentifier > sendMaximum) {
+                packetIdentifiers.resize(packetIdentifier);
+            }
+            if (!packetIdentifiers.takeId(packetIdentifier)) {
+                LOGGER.warn("Skipped stored publish with duplicate packet identifier {}.", packetIdentifier);
+                continue;
+            }
+            final MqttPubOrRelWithFlow pubOrRelWithFlow;
+            if (entry.isPubRelSent()) {
+                pubOrRelWithFlow = new MqttQos2IntermediateWithFlow(new MqttPubRel(packetIdentifier,
+                        MqttPubRel.DEFAULT_REASON_CODE, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES), flow);
+            } else {
+                pubOrRelWithFlow = new MqttPublishWithFlow(publish, flow);
+            }
+            pubOrRelWithFlow.packetIdentifier = packetIdentifier;
+            pending.add(pubOrRelWithFlow);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void failRestored(
+            final @NotNull Mqtt5OutgoingSessionStore sessionStore,
+            final @NotNull List<Mqtt5OutgoingSessionEntry> entries,
+            final @NotNull MqttConnAck connAck) {
+
+        final Throwable cause;
+        if (!connAck.isSessionPresent()) {
+            final String message =
+                    "Stored publishes were not resent as CONNACK did not contain the session present flag.";
+            cause = new MqttSessionExpiredException(message, new Mqtt5ConnAckException(connAck, message));
+        } else {
+            cause = MqttClientStateExceptions.notConnected();
+        }
+        final MqttFireAndForgetFlow flow = getFireAndForgetFlow();
+        for (final Mqtt5OutgoingSessionEntry entry : entries) {
+            sessionStore.remove(entry.getPacketIdentifier());
+            // a publish whose PubRel was sent was already received by the server, only its completion is unknown
+            if (!entry.isPubRelSent()) {
+                flow.onNext(new MqttPublishResult(MqttChecks.publish(entry.getPublish()), cause));
+            }
+        }
+        reportFireAndForgetFailures();
+    }
+
     @Override
     public void onSubscribe(final @NotNull Subscription subscription) {
         this.subscription = subscription;
@@ -153,12 +329,95 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
     @Override
     public void onNext(final @NotNull MqttPublishWithFlow publishWithFlow) {
-        queue.offer(publishWithFlow);
+        offer(publishWithFlow);
+    }
+
+    /**
+     * Queues a single publish directly, bypassing the merge of the publish flowables. In contrast to publishes emitted
+     * by the publish flowables, directly queued publishes do not use up requests, so they are only limited by the send
+     * maximum when they are written.
+     *
+     * @param publishWithFlow the publish to queue.
+     */
+    void offer(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        queues.offer(publishWithFlow);
         if (queuedCounter.getAndIncrement() == 0) {
             publishWithFlow.getAckFlow().getEventLoop().execute(this);
         }
     }
 
+    /**
+     * Queues a batch of publishes directly in one step, see {@link #offer(MqttPublishWithFlow)}. The handler is only
+     * scheduled once for the whole batch, so the batch is written in as few flush cycles as possible.
+     *
+     * @param publishWithFlows the publishes to queue, must not be empty and must all use the same flow.
+     */
+    void offerAll(final @NotNull MqttPublishWithFlow @NotNull [] publishWithFlows) {
+        for (final MqttPublishWithFlow publishWithFlow : publishWithFlows) {
+            queues.offer(publishWithFlow);
+        }
+        if (queuedCounter.getAndAdd(publishWithFlows.length) == 0) {
+            publishWithFlows[0].getAckFlow().getEventLoop().execute(this);
+        }
+    }
+
+    /**
+     * Queues a fire-and-forget publish directly, see {@link #offer(MqttPublishWithFlow)}. Fire-and-forget publishes
+     * share one flow, so no objects except the queue entry are allocated per publish.
+     * <p>
+     * The shared flow is retained while the publish is queued, so it can not be released by a concurrent session end in
+     * between. If the session ended meanwhile, the scheduled run fails the queued publish.
+     *
+     * @param publish the publish to queue.
+     */
+    public void offerFireAndForget(final @NotNull MqttPublish publish) {
+        final MqttFireAndForgetFlow flow = retainFireAndForgetFlow();
+        queues.offer(new MqttPublishWithFlow(publish, flow));
+        if (queuedCounter.getAndIncrement() == 0) {
+            flow.getEventLoop().execute(this);
+        }
+        flow.release();
+    }
+
+    private @NotNull MqttFireAndForgetFlow getFireAndForgetFlow() {
+        MqttFireAndForgetFlow flow;
+        while ((flow = fireAndForgetFlow.get()) == null) {
+            final MqttFireAndForgetFlow newFlow = new MqttFireAndForgetFlow(clientConfig, this, false);
+            if (fireAndForgetFlow.compareAndSet(null, newFlow)) {
+                return newFlow;
+            }
+            newFlow.release();
+        }
+        return flow;
+    }
+
+    private @NotNull MqttFireAndForgetFlow retainFireAndForgetFlow() {
+        while (true) {
+            // the reference to a flow is removed before the flow is released, so a released flow is not returned again
+            final MqttFireAndForgetFlow flow = getFireAndForgetFlow();
+            if (flow.retain()) {
+                return flow;
+            }
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void onFireAndForgetFailure(final @NotNull MqttFireAndForgetFlow flow) {
+        failedFireAndForgetFlows.add(flow);
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void reportFireAndForgetFailures() {
+        final ArrayList<MqttFireAndForgetFlow> failedFlows = this.failedFireAndForgetFlows;
+        if (!failedFlows.isEmpty()) {
+            //noinspection ForLoopReplaceableByForEach
+            for (int i = 0; i < failedFlows.size(); i++) {
+                failedFlows.get(i).reportFailures();
+            }
+            failedFlows.clear();
+        }
+    }
+
     @Override
     public void onComplete() {
         LOGGER.error("MqttPublishFlowables is global and must never complete. This must not happen and is a bug.");
@@ -187,42 +446,185 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     @CallByThread("Netty EventLoop")
     @Override
     public void run() {
+        if (restoring) { // queued publishes are held back until the stored entries are restored
+            return;
+        }
         if (!hasSession) {
             if (!isRepublishIfSessionExpired()) {
                 clearQueued(MqttClientStateExceptions.notConnected());
+            } else {
+                bufferQueued();
             }
             return;
         }
         final ChannelHandlerContext ctx = this.ctx;
         if (ctx == null) {
+            bufferQueued();
             return;
         }
         final Channel channel = ctx.channel();
+        final long nowNanos = System.nanoTime();
         final int maxWrites = sendMaximum - pendingIndex.size();
         int written = 0;
+        int expired = 0;
         for (MqttPubOrRelWithFlow pubOrRelWithFlow = resendPending;
              (pubOrRelWithFlow != null) && (written < maxWrites) && channel.isWritable();
              resendPending = pubOrRelWithFlow = pubOrRelWithFlow.getNext()) {
-            resend(ctx, pubOrRelWithFlow);
-            written++;
+            if (resend(ctx, pubOrRelWithFlow, nowNanos)) {
+                written++;
+            } else {
+                expired++;
+            }
         }
         int dequeued = 0;
         while ((written < maxWrites) && channel.isWritable()) {
-            final MqttPublishWithFlow publishWithFlow = queue.poll();
-            if (publishWithFlow == null) {
+            // a publish held back by the rate limit was already dequeued and is written before any other publish
+            MqttPublishWithFlow publishWithFlow = rateLimitedPublish;
+            if (publishWithFlow != null) {
+                rateLimitedPublish = null;
+            } else {
+                // publishes with high priority get the next free slot, even before the offline buffer
+                publishWithFlow = queues.pollHigh();
+                if (publishWithFlow == null) {
+                    // buffered publishes are not counted as dequeued, they were already dequeued when buffered
+                    publishWithFlow = (offlineBuffer == null) ? null : offlineBuffer.poll();
+                    if (publishWithFlow == null) {
+                        publishWithFlow = queues.poll();
+                        if (publishWithFlow == null) {
+                            break;
+                        }
+                        dequeued++;
+                    }
+                } else {
+                    dequeued++;
+                }
+            }
+            if (publishWithFlow.isExpired(nowNanos)) {
+                expire(publishWithFlow);
+                expired++;
+            } else if (isRateLimited(channel)) {
+                rateLimitedPublish = publishWithFlow;
                 break;
+            } else {
+                writePublish(ctx, publishWithFlow, nowNanos);
+                written++;
             }
-            writePublish(ctx, publishWithFlow);
-            written++;
-            dequeued++;
         }
+        final boolean wasWritable = channel.isWritable();
         if (written > 0) {
-            final boolean wasWritable = channel.isWritable();
-            ctx.flush();
-            if ((dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0) && wasWritable) {
-                channel.eventLoop().execute(this);
+            flushOrDefer(ctx, written, (written >= maxWrites) || !wasWritable);
+        }
+        if ((sessionStore != null) && ((written > 0) || (expired > 0))) {
+            sessionStore.flush();
+        }
+        if ((dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0) && wasWritable) {
+            channel.eventLoop().execute(this);
+        }
+        reportFireAndForgetFailures();
+    }
+
+    /**
+     * Flushes the written messages or defers the flush if flush coalescing is configured. A deferred flush is executed
+     * when the maximum count of unflushed messages or payload bytes is reached, or at the latest after the maximum
+     * delay.
+     *
+     * @param written     the count of messages written since the last call.
+     * @param immediately whether the flush must not be deferred, because no more messages can be written until the
+     *                    written messages are flushed.
+     */
+    @CallByThread("Netty EventLoop")
+    private void flushOrDefer(final @NotNull ChannelHandlerContext ctx, final int written, final boolean immediately) {
+        final MqttFlushCoalescingConfigImpl flushCoalescing = this.flushCoalescing;
+        if ((flushCoalescing == null) || immediately) {
+            flush(ctx);
+            return;
+        }
+        unflushedMessages += written;
+        if ((unflushedMessages >= flushCoalescing.getMaximumMessages()) ||
+                (unflushedBytes >= flushCoalescing.getMaximumBytes())) {
+            flush(ctx);
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            final long delayNanos = flushCoalescing.getMaximumDelay(TimeUnit.NANOSECONDS);
+            ctx.channel().eventLoop().schedule(scheduledFlush, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void flush(final @NotNull ChannelHandlerContext ctx) {
+        unflushedMessages = 0;
+        unflushedBytes = 0;
+        ctx.flush();
+    }
+
+    /**
+     * Checks if the next new publish is held back by the rate limit. It is only checked when a new publish is about to
+     * be written, so no wakeup is scheduled if nothing is queued. If held back, the publish is kept until the handler
+     * runs again as soon as enough tokens are available. Held back publishes are not acknowledged, so the publish
+     * flowables are not requested more publishes in the meantime. Resent publishes and pubRels are not rate limited as
+     * they are already bounded by the send maximum.
+     *
+     * @param channel the channel to schedule the next run on.
+     * @return whether the next new publish is held back.
+     */
+    @CallByThread("Netty EventLoop")
+    private boolean isRateLimited(final @NotNull Channel channel) {
+        final MqttPublishRateLimiter rateLimiter = this.rateLimiter;
+        if (rateLimiter == null) {
+            return false;
+        }
+        final long delayNanos = rateLimiter.delayNanos(System.nanoTime());
+        if (delayNanos == 0) {
+            return false;
+        }
+        if (!rateLimitScheduled) {
+            rateLimitScheduled = true;
+            channel.eventLoop().schedule(rateLimitedRun, delayNanos, TimeUnit.NANOSECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * Moves the queued publishes to the offline buffer while the client is not connected, so the bounds of the offline
+     * buffer apply. Without an offline buffer the publishes stay in the queue until the client is connected again.
+     */
+    @CallByThread("Netty EventLoop")
+    private void bufferQueued() {
+        final MqttOfflineBuffer offlineBuffer = this.offlineBuffer;
+        if (offlineBuffer == null) {
+            return;
+        }
+        final MqttPublishWithFlow rateLimitedPublish = this.rateLimitedPublish;
+        if (rateLimitedPublish != null) {
+            this.rateLimitedPublish = null;
+            offlineBuffer.add(rateLimitedPublish);
+        }
+        int polled = 0;
+        while (true) {
+            final MqttPublishWithFlow publishWithFlow = queues.pollAny();
+            if (publishWithFlow == null) {
+                if (queuedCounter.addAndGet(-polled) == 0) {
+                    break;
+                } else {
+                    polled = 0;
+                    continue;
+                }
             }
+            offlineBuffer.add(publishWithFlow);
+            polled++;
         }
+        reportFireAndForgetFailures();
+    }
+
+    private boolean hasOfflineBuffered() {
+        return (offlineBuffer != null) && !offlineBuffer.isEmpty();
+    }
+
+    /**
+     * @return the metrics of the offline buffer or <code>null</code> if no offline buffer is configured.
+     */
+    public @Nullable Mqtt5OfflineBufferMetrics getOfflineBufferMetrics() {
+        return offlineBuffer;
     }
 
     @Override
@@ -234,36 +636,80 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         ctx.fireChannelWritabilityChanged();
     }
 
-    private void resend(
-            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubOrRelWithFlow pubOrRelWithFlow) {
+    /**
+     * Resends a pending publish or pubRel. An expired QoS 1 publish is not resent but completed with an error and its
+     * packet identifier is released. An expired QoS 2 publish is still resent, as the server may already have stored
+     * its packet identifier, so the packet identifier must not be reused until the QoS 2 flow is completed.
+     *
+     * @return whether the publish or pubRel was resent.
+     */
+    private boolean resend(
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPubOrRelWithFlow pubOrRelWithFlow,
+            final long nowNanos) {
 
-        pendingIndex.put(pubOrRelWithFlow);
         if (pubOrRelWithFlow instanceof MqttPublishWithFlow) {
             final MqttPublishWithFlow publishWithFlow = (MqttPublishWithFlow) pubOrRelWithFlow;
-            final MqttStatefulPublish publish = publishWithFlow.getPublish()
+            if ((publishWithFlow.getPublish().getQos() == MqttQos.AT_LEAST_ONCE) &&
+                    publishWithFlow.isExpired(nowNanos)) {
+                expire(publishWithFlow);
+                completePending(ctx, publishWithFlow);
+                return false;
+            }
+            pendingIndex.put(pubOrRelWithFlow);
+            final MqttStatefulPublish publish = publishWithFlow.getPublishToSend(nowNanos)
                     .createStateful(publishWithFlow.packetIdentifier, true, topicAliasMapping);
             writeQos1Or2Publish(ctx, publish, publishWithFlow);
         } else {
+            pendingIndex.put(pubOrRelWithFlow);
             final MqttPubRelWithFlow pubRelWithFlow = (MqttPubRelWithFlow) pubOrRelWithFlow;
             writePubRel(ctx, pubRelWithFlow.getPubRel());
         }
+        return true;
+    }
+
+    private static void expire(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        publishWithFlow.getAckFlow()
+                .onNext(new MqttPublishResult(publishWithFlow.getPublish(),
+                        new MqttMessageExpiredException("Publish expired before it was sent.")));
     }
 
     private void writePublish(
-            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPublishWithFlow publishWithFlow) {
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPublishWithFlow publishWithFlow,
+            final long nowNanos) {
 
-        if (publishWithFlow.getPublish().getQos() == MqttQos.AT_MOST_ONCE) {
-            writeQos0Publish(ctx, publishWithFlow);
+        final ByteBuffer payload = publishWithFlow.getPublish().getRawPayload();
+        final int bytes = (payload == null) ? 0 : payload.remaining();
+        if (rateLimiter != null) {
+            rateLimiter.consume(bytes);
+        }
+        unflushedBytes += bytes;
+        final MqttPublish publish = publishWithFlow.getPublishToSend(nowNanos);
+        if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
+            writeQos0Publish(ctx, publish, publishWithFlow);
         } else {
-            writeQos1Or2Publish(ctx, publishWithFlow);
+            writeQos1Or2Publish(ctx, publish, publishWithFlow);
         }
     }
 
     private void writeQos0Publish(
-            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPublishWithFlow publishWithFlow) {
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPublish publishToSend,
+            final @NotNull MqttPublishWithFlow publishWithFlow) {
 
-        ctx.write(publishWithFlow.getPublish().createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping),
-                new DefaultContextPromise<>(ctx.channel(), publishWithFlow)).addListener(this);
+        final MqttStatefulPublish publish =
+                publishToSend.createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping);
+        final MqttAckFlow ackFlow = publishWithFlow.getAckFlow();
+        if (ackFlow instanceof MqttFireAndForgetFlow) {
+            final MqttFireAndForgetFlow fireAndForgetFlow = (MqttFireAndForgetFlow) ackFlow;
+            currentFireAndForget = fireAndForgetFlow;
+            ctx.write(publish, ctx.voidPromise());
+            currentFireAndForget = null;
+            fireAndForgetFlow.acknowledged(1);
+        } else {
+            ctx.write(publish, new DefaultContextPromise<>(ctx.channel(), publishWithFlow)).addListener(this);
+        }
     }
 
     @Override
@@ -281,7 +727,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     }
 
     private void writeQos1Or2Publish(
-            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPublishWithFlow publishWithFlow) {
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPublish publishToSend,
+            final @NotNull MqttPublishWithFlow publishWithFlow) {
 
         final int packetIdentifier = packetIdentifiers.getId();
         if (packetIdentifier < 0) {
@@ -291,9 +739,11 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         publishWithFlow.packetIdentifier = packetIdentifier;
         pendingIndex.put(publishWithFlow);
         pending.add(publishWithFlow);
+        if (sessionStore != null) {
+            sessionStore.storePublish(packetIdentifier, publishWithFlow.getPublish());
+        }
 
-        writeQos1Or2Publish(ctx,
-                publishWithFlow.getPublish().createStateful(packetIdentifier, false, topicAliasMapping),
+        writeQos1Or2Publish(ctx, publishToSend.createStateful(packetIdentifier, false, topicAliasMapping),
                 publishWithFlow);
     }
 
@@ -317,7 +767,12 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             readPubComp(ctx, (MqttPubComp) msg);
         } else {
             ctx.fireChannelRead(msg);
+            return;
+        }
+        if (sessionStore != null) {
+            sessionStore.flush();
         }
+        reportFireAndForgetFailures();
     }
 
     private void readPubAck(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubAck pubAck) {
@@ -382,7 +837,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         } else {
             final MqttPubRel pubRel = buildPubRel(publish, pubRec);
 
-            if (QOS_2_COMPLETE_RESULT) {
+            if (qos2CompleteResult) {
                 replacePending(publishWithFlow, new MqttQos2CompleteWithFlow(publish, pubRec, pubRel, ackFlow));
             } else {
                 final MqttQos2IntermediateWithFlow pubRelWithFlow = new MqttQos2IntermediateWithFlow(pubRel, ackFlow);
@@ -406,6 +861,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         pubRelWithFlow.packetIdentifier = publishWithFlow.packetIdentifier;
         pendingIndex.put(pubRelWithFlow);
         pending.replace(publishWithFlow, pubRelWithFlow);
+        if (sessionStore != null) {
+            sessionStore.storePubRel(pubRelWithFlow.packetIdentifier);
+        }
     }
 
     private void readPubComp(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubComp pubComp) {
@@ -434,7 +892,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         onPubComp(pubRel, pubComp);
 
-        if (QOS_2_COMPLETE_RESULT) {
+        if (pubRelWithFlow instanceof MqttQos2CompleteWithFlow) {
             final MqttQos2CompleteWithFlow complete = (MqttQos2CompleteWithFlow) pubRelWithFlow;
             ackFlow.onNext(new MqttQos2CompleteResult(complete.getPublish(), complete.getPubRec(), pubRel, pubComp));
         } else {
@@ -452,11 +910,15 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         final int packetIdentifier = oldPending.packetIdentifier;
         packetIdentifiers.returnId(packetIdentifier);
+        if (sessionStore != null) {
+            sessionStore.remove(packetIdentifier);
+        }
         if (packetIdentifier > sendMaximum) {
             packetIdentifiers.resize(sendMaximum);
         }
 
-        if (resendPending != null) {
+        if ((resendPending != null) || (queuedCounter.get() > 0) || (rateLimitedPublish != null) ||
+                hasOfflineBuffered()) {
             ctx.channel().eventLoop().execute(this);
         }
     }
@@ -468,6 +930,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             currentPending.getAckFlow().onNext(new MqttPublishResult(currentPending.getPublish(), cause));
             completePending(ctx, currentPending);
             currentPending = null;
+        } else if (!(cause instanceof IOException) && (currentFireAndForget != null)) {
+            currentFireAndForget.onFailure(cause);
+            currentFireAndForget = null;
         } else {
             ctx.fireExceptionCaught(cause);
         }
@@ -486,10 +951,13 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         for (MqttPubOrRelWithFlow current = pending.getFirst(); current != null; current = current.getNext()) {
             packetIdentifiers.returnId(current.packetIdentifier);
+            if (sessionStore != null) {
+                sessionStore.remove(current.packetIdentifier);
+            }
             if (current instanceof MqttPublishWithFlow) {
                 final MqttPublishWithFlow publishWithFlow = (MqttPublishWithFlow) current;
                 current.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
-            } else if (QOS_2_COMPLETE_RESULT) {
+            } else if (current instanceof MqttQos2CompleteWithFlow) {
                 final MqttQos2CompleteWithFlow complete = (MqttQos2CompleteWithFlow) current;
                 current.getAckFlow().onNext(new MqttQos2Result(complete.getPublish(), cause, complete.getPubRec()));
                 // TODO actually not an error, default PubComp?
@@ -501,7 +969,15 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             }
         }
         pending.clear();
+        if ((sessionStore != null) && !restoring) {
+            sessionStore.flush();
+        }
         clearQueued(cause);
+
+        final MqttFireAndForgetFlow fireAndForgetFlow = this.fireAndForgetFlow.getAndSet(null);
+        if (fireAndForgetFlow != null) {
+            fireAndForgetFlow.release();
+        }
     }
 
     private boolean isRepublishIfSessionExpired() {
@@ -509,9 +985,17 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     }
 
     private void clearQueued(final @NotNull Throwable cause) {
+        if (offlineBuffer != null) {
+            offlineBuffer.clear(cause);
+        }
+        final MqttPublishWithFlow rateLimitedPublish = this.rateLimitedPublish;
+        if (rateLimitedPublish != null) {
+            this.rateLimitedPublish = null;
+            rateLimitedPublish.getAckFlow().onNext(new MqttPublishResult(rateLimitedPublish.getPublish(), cause));
+        }
         int polled = 0;
         while (true) {
-            final MqttPublishWithFlow publishWithFlow = queue.poll();
+            final MqttPublishWithFlow publishWithFlow = queues.pollAny();
             if (publishWithFlow == null) {
                 if (queuedCounter.addAndGet(-polled) == 0) {
                     break;
@@ -523,6 +1007,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
             polled++;
         }
+        reportFireAndForgetFailures();
     }
 
     private static void error(final @NotNull ChannelHandlerContext ctx, final @NotNull String reasonString) {
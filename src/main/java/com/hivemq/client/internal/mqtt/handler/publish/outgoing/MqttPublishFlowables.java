@@ -16,28 +16,44 @@
 
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
-import com.hivemq.client.internal.logging.InternalLogger;
-import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import io.reactivex.Flowable;
 import io.reactivex.internal.util.BackpressureHelper;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
+ * Merges the publish flowables of all publishing threads into one flowable.
+ * <p>
+ * Adding a publish flowable never blocks: it is offered to a lock-free multi producer queue and emitted as soon as
+ * there is demand. The thread that wins the work-in-progress counter emits on behalf of all other threads. The amount
+ * of queued publish flowables is bounded, a publish flowable that exceeds the bound is rejected and must be failed by
+ * the caller.
+ *
  * @author Silvio Giebl
  */
 @ClientScope
 public class MqttPublishFlowables extends Flowable<Flowable<MqttPublishWithFlow>> implements Subscription {
 
-    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttPublishFlowables.class);
+    private static final int QUEUE_CHUNK_SIZE = 64;
 
-    private @Nullable Subscriber<? super Flowable<MqttPublishWithFlow>> subscriber;
-    private long requested;
+    private volatile @Nullable Subscriber<? super Flowable<MqttPublishWithFlow>> subscriber;
+    private final @NotNull MpscUnboundedArrayQueue<Flowable<MqttPublishWithFlow>> queue =
+            new MpscUnboundedArrayQueue<>(QUEUE_CHUNK_SIZE);
+    private final int maximumQueued;
+    private final @NotNull AtomicInteger queued = new AtomicInteger();
+    private final @NotNull AtomicLong requested = new AtomicLong();
+    private final @NotNull AtomicInteger wip = new AtomicInteger();
 
-    MqttPublishFlowables() {}
+    MqttPublishFlowables(final int maximumQueued) {
+        this.maximumQueued = maximumQueued;
+    }
 
     @Override
     protected void subscribeActual(final @NotNull Subscriber<? super Flowable<MqttPublishWithFlow>> s) {
@@ -46,34 +62,57 @@ public class MqttPublishFlowables extends Flowable<Flowable<MqttPublishWithFlow>
         s.onSubscribe(this);
     }
 
-    public void add(final @NotNull Flowable<MqttPublishWithFlow> publishFlowable) {
-        synchronized (this) {
-            while (requested == 0) {
-                try {
-                    this.wait();
-                } catch (final InterruptedException e) {
-                    LOGGER.error("thread interrupted while waiting to publish.", e);
-                    return;
-                }
-            }
-            assert subscriber != null;
-            subscriber.onNext(publishFlowable);
-            requested--;
+    /**
+     * Adds a publish flowable if the maximum amount of queued publish flowables is not reached.
+     *
+     * @param publishFlowable the publish flowable to add.
+     * @return whether the publish flowable was added, otherwise it was rejected and must be failed by the caller.
+     */
+    public boolean add(final @NotNull Flowable<MqttPublishWithFlow> publishFlowable) {
+        if (queued.getAndIncrement() >= maximumQueued) {
+            queued.decrementAndGet();
+            return false;
         }
+        queue.offer(publishFlowable);
+        drain();
+        return true;
     }
 
     @Override
     public void request(final long n) {
-        synchronized (this) {
-            requested = BackpressureHelper.addCap(requested, n);
-            if (requested == n) {
-                this.notifyAll();
-            }
-        }
+        BackpressureHelper.add(requested, n);
+        drain();
     }
 
     @Override
     public void cancel() {
         subscriber = null;
     }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            final Subscriber<? super Flowable<MqttPublishWithFlow>> subscriber = this.subscriber;
+            if (subscriber != null) {
+                final long requested = this.requested.get();
+                long emitted = 0;
+                while (emitted != requested) {
+                    final Flowable<MqttPublishWithFlow> publishFlowable = queue.poll();
+                    if (publishFlowable == null) {
+                        break;
+                    }
+                    subscriber.onNext(publishFlowable);
+                    emitted++;
+                }
+                if (emitted != 0) {
+                    queued.addAndGet((int) -emitted);
+                    BackpressureHelper.produced(this.requested, emitted);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Queues for the publishes that wait to be written, one per {@link Mqtt5PublishPriority}.
+ * <p>
+ * Publishes can be offered by any thread, but must only be polled on the event loop. Publishes with high priority are
+ * always polled first. Publishes with normal and low priority are polled weighted: while publishes with low priority
+ * are waiting, at most {@link #NORMAL_PRIORITY_WEIGHT} publishes with normal priority are polled in a row, so
+ * publishes with low priority are not starved by a backlog of publishes with normal priority.
+ *
+ * @author Silvio Giebl
+ */
+class MqttPublishQueues {
+
+    static final int NORMAL_PRIORITY_WEIGHT = 4;
+
+    private final @NotNull MpscUnboundedArrayQueue<MqttPublishWithFlow> highQueue = new MpscUnboundedArrayQueue<>(32);
+    private final @NotNull MpscUnboundedArrayQueue<MqttPublishWithFlow> normalQueue =
+            new MpscUnboundedArrayQueue<>(32);
+    private final @NotNull MpscUnboundedArrayQueue<MqttPublishWithFlow> lowQueue = new MpscUnboundedArrayQueue<>(32);
+    private int normalPriorityStreak; // count of normal publishes polled since the last low publish, at most the weight
+
+    void offer(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        switch (publishWithFlow.getPublish().getPriority()) {
+            case HIGH:
+                highQueue.offer(publishWithFlow);
+                break;
+            case NORMAL:
+                normalQueue.offer(publishWithFlow);
+                break;
+            case LOW:
+                lowQueue.offer(publishWithFlow);
+                break;
+        }
+    }
+
+    /**
+     * Polls the next queued publish by priority.
+     *
+     * @return the next queued publish or <code>null</code> if no publish is queued.
+     */
+    @CallByThread("Netty EventLoop")
+    @Nullable MqttPublishWithFlow poll() {
+        MqttPublishWithFlow publishWithFlow = highQueue.poll();
+        if (publishWithFlow != null) {
+            return publishWithFlow;
+        }
+        if (normalPriorityStreak < NORMAL_PRIORITY_WEIGHT) {
+            publishWithFlow = normalQueue.poll();
+            if (publishWithFlow != null) {
+                normalPriorityStreak++;
+                return publishWithFlow;
+            }
+        }
+        publishWithFlow = lowQueue.poll();
+        if (publishWithFlow != null) {
+            normalPriorityStreak = 0;
+            return publishWithFlow;
+        }
+        // the streak is not reset if no low publish is waiting, so the next low publish is polled right away
+        return normalQueue.poll();
+    }
+
+    /**
+     * Polls the next queued publish with high priority.
+     *
+     * @return the next queued publish with high priority or <code>null</code> if no publish with high priority is
+     *         queued.
+     */
+    @CallByThread("Netty EventLoop")
+    @Nullable MqttPublishWithFlow pollHigh() {
+        return highQueue.poll();
+    }
+
+    /**
+     * Polls any queued publish without weighting the priorities, used when all queued publishes are removed.
+     *
+     * @return any queued publish or <code>null</code> if no publish is queued.
+     */
+    @CallByThread("Netty EventLoop")
+    @Nullable MqttPublishWithFlow pollAny() {
+        MqttPublishWithFlow publishWithFlow = highQueue.poll();
+        if (publishWithFlow == null) {
+            publishWithFlow = normalQueue.poll();
+            if (publishWithFlow == null) {
+                publishWithFlow = lowQueue.poll();
+            }
+        }
+        return publishWithFlow;
+    }
+}
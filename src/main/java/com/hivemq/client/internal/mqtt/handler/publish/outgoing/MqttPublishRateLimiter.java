@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.mqtt.advanced.ratelimit.MqttPublishRateLimitImpl;
+import com.hivemq.client.mqtt.mqtt5.advanced.ratelimit.Mqtt5PublishRateLimit;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Token buckets for the count of messages and the payload bytes of outgoing publishes.
+ * <p>
+ * A publish may be sent if at least one message token and any byte token is available. Its payload bytes are consumed
+ * after it was sent, so the byte bucket may go into debt by up to the size of one payload. This way publishes with a
+ * payload that is larger than the byte burst are still sent, and the average rate is kept nevertheless.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+class MqttPublishRateLimiter {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double messagesPerNano;
+    private final long messageBurst;
+    private final double bytesPerNano;
+    private final long byteBurst;
+    private double messageTokens;
+    private double byteTokens;
+    private long lastRefillNanos;
+
+    MqttPublishRateLimiter(final @NotNull MqttPublishRateLimitImpl rateLimit, final long nowNanos) {
+        messagesPerNano = rateLimit.getMessagesPerSecond() / NANOS_PER_SECOND;
+        messageBurst = rateLimit.getMessageBurst();
+        bytesPerNano = rateLimit.getBytesPerSecond() / NANOS_PER_SECOND;
+        byteBurst = rateLimit.getByteBurst();
+        messageTokens = messageBurst;
+        byteTokens = byteBurst;
+        lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Refills the buckets and calculates how long the next publish has to wait.
+     *
+     * @param nowNanos the current time in nanoseconds.
+     * @return 0 if the next publish may be sent now, otherwise the delay in nanoseconds until enough tokens are
+     *         available.
+     */
+    long delayNanos(final long nowNanos) {
+        refill(nowNanos);
+        long delayNanos = 0;
+        if ((messagesPerNano > 0) && (messageTokens < 1)) {
+            delayNanos = nanosUntil(1 - messageTokens, messagesPerNano);
+        }
+        if ((bytesPerNano > 0) && (byteTokens <= 0)) {
+            delayNanos = Math.max(delayNanos, nanosUntil(-byteTokens, bytesPerNano));
+        }
+        return delayNanos;
+    }
+
+    /**
+     * Consumes the tokens for a sent publish.
+     *
+     * @param bytes the count of payload bytes of the sent publish.
+     */
+    void consume(final long bytes) {
+        if (messagesPerNano > 0) {
+            messageTokens--;
+        }
+        if (bytesPerNano > 0) {
+            byteTokens -= bytes;
+        }
+    }
+
+    private void refill(final long nowNanos) {
+        final long elapsedNanos = nowNanos - lastRefillNanos;
+        if (elapsedNanos <= 0) {
+            return;
+        }
+        lastRefillNanos = nowNanos;
+        if (messagesPerNano > 0) {
+            messageTokens = Math.min(messageBurst, messageTokens + elapsedNanos * messagesPerNano);
+        }
+        if (bytesPerNano > 0) {
+            byteTokens = Math.min(byteBurst, byteTokens + elapsedNanos * bytesPerNano);
+        }
+    }
+
+    private static long nanosUntil(final double missingTokens, final double tokensPerNano) {
+        // at least 1 nanosecond, as the missing tokens may be 0 if a bucket is exactly empty
+        return Math.max(1, (long) Math.ceil(missingTokens / tokensPerNano));
+    }
+
+    static boolean isLimited(final @NotNull MqttPublishRateLimitImpl rateLimit) {
+        return (rateLimit.getMessagesPerSecond() != Mqtt5PublishRateLimit.UNLIMITED) ||
+                (rateLimit.getBytesPerSecond() != Mqtt5PublishRateLimit.UNLIMITED);
+    }
+}
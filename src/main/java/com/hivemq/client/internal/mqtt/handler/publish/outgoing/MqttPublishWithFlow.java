@@ -19,19 +19,61 @@ package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author Silvio Giebl
  */
 class MqttPublishWithFlow extends MqttPubOrRelWithFlow {
 
     private final @NotNull MqttPublish publish;
+    final long queuedNanos;
 
     MqttPublishWithFlow(final @NotNull MqttPublish publish, final @NotNull MqttAckFlow ackFlow) {
         super(ackFlow);
         this.publish = publish;
+        queuedNanos = System.nanoTime();
     }
 
     @NotNull MqttPublish getPublish() {
         return publish;
     }
+
+    /**
+     * @return the time in nanoseconds when the message expiry interval of the publish elapses or {@link Long#MAX_VALUE}
+     *         if the publish does not expire.
+     */
+    long expiryNanos() {
+        final long messageExpiryInterval = publish.getRawMessageExpiryInterval();
+        if (messageExpiryInterval == MqttPublish.NO_MESSAGE_EXPIRY) {
+            return Long.MAX_VALUE;
+        }
+        return queuedNanos + TimeUnit.SECONDS.toNanos(messageExpiryInterval);
+    }
+
+    boolean isExpired(final long nowNanos) {
+        final long expiryNanos = expiryNanos();
+        return (expiryNanos != Long.MAX_VALUE) && (nowNanos - expiryNanos >= 0);
+    }
+
+    /**
+     * Returns the publish to send, which has its message expiry interval decremented by the whole seconds it has been
+     * waiting since it was queued. The original publish is returned if it does not expire or waited less than a second,
+     * so the cached encoded properties of its template can still be used.
+     *
+     * @param nowNanos the current time in nanoseconds.
+     * @return the publish to send.
+     */
+    @NotNull MqttPublish getPublishToSend(final long nowNanos) {
+        final long messageExpiryInterval = publish.getRawMessageExpiryInterval();
+        if (messageExpiryInterval == MqttPublish.NO_MESSAGE_EXPIRY) {
+            return publish;
+        }
+        final long waitedSeconds = TimeUnit.NANOSECONDS.toSeconds(nowNanos - queuedNanos);
+        if (waitedSeconds <= 0) {
+            return publish;
+        }
+        // at least 1 second, as an expired QoS 2 publish is still resent while its packet identifier is in use
+        return publish.withMessageExpiryInterval(Math.max(1, messageExpiryInterval - waitedSeconds));
+    }
 }
@@ -17,10 +17,13 @@
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.ByteArray;
 import com.hivemq.client.internal.util.collections.Index;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.charset.StandardCharsets;
+
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
 
 /**
@@ -33,10 +36,11 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
     private static final byte OVERWRITE_COST_MIN = 2;
     private static final byte OVERWRITE_COST_MAX = 126;
     private static final byte OVERWRITE_COST_INC = 2;
-    private static final Index.@NotNull Spec<Entry, String> INDEX_SPEC = new Index.Spec<>(entry -> entry.topic);
+    private static final Index.@NotNull Spec<Entry, ByteArray> INDEX_SPEC = new Index.Spec<>(entry -> entry);
 
     private final int topicAliasMaximum;
-    private final @NotNull Index<Entry, String> map = new Index<>(INDEX_SPEC);
+    private final @NotNull Index<Entry, ByteArray> map = new Index<>(INDEX_SPEC);
+    private final @NotNull TopicKey lookupKey = new TopicKey();
     private @Nullable Entry lowest; // entry with lowest priority
     private long accessCounter; // strictly incremented
     private byte overwriteTries;
@@ -56,8 +60,11 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
     @Override
     public int onPublish(final @NotNull MqttTopicImpl topic) {
         final long accessCounter = ++this.accessCounter;
-        final String topicString = topic.toString();
-        final Entry entry = map.get(topicString);
+        final byte[] topicBinary = topic.toBinary();
+        final TopicKey lookupKey = this.lookupKey;
+        lookupKey.set(topicBinary);
+        final Entry entry = map.get(lookupKey);
+        lookupKey.set(TopicKey.EMPTY);
         if (entry != null) { // entry already present
             entry.access(accessCounter);
             if (entry.topicAlias != DEFAULT_NO_TOPIC_ALIAS) {
@@ -78,7 +85,7 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
             swapNewer(entry, accessCounter);
             return entry.topicAlias; // topic alias is 0 if entry is part of oversize
         }
-        final Entry newEntry = new Entry(topicString, accessCounter);
+        final Entry newEntry = new Entry(topicBinary, accessCounter);
         if (map.size() < topicAliasMaximum + OVERSIZE) {
             if (map.size() < topicAliasMaximum) { // still unused topic aliases available
                 newEntry.setNewTopicAlias(map.size() + 1);
@@ -104,7 +111,7 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
             if (lowest.topicAlias != DEFAULT_NO_TOPIC_ALIAS) {
                 newEntry.setNewTopicAlias(lowest.topicAlias);
             }
-            map.remove(lowest.topic);
+            map.remove(lowest);
             map.put(newEntry);
             final Entry higher = lowest.higher;
             newEntry.higher = higher;
@@ -173,17 +180,19 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
         return builder.append("\n}").toString();
     }
 
-    static class Entry {
+    /**
+     * Entry of a topic. Is its own key in the index as it is equal to the UTF-8 encoded bytes of the topic.
+     */
+    static class Entry extends ByteArray {
 
-        final @NotNull String topic;
         int topicAlias;
         private long used; // number of accesses, decays over time
         private long access; // stamp when the entry was last accessed
         @Nullable Entry higher; // entry with the next higher priority
         @Nullable Entry lower; // entry with the next lower priority
 
-        Entry(final @NotNull String topic, final long accessCounter) {
-            this.topic = topic;
+        Entry(final byte @NotNull [] topic, final long accessCounter) {
+            super(topic);
             topicAlias = DEFAULT_NO_TOPIC_ALIAS;
             used = 1;
             access = accessCounter;
@@ -206,10 +215,26 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
 
         @Override
         public @NotNull String toString() {
-            return '{' + "topic='" + topic + '\'' +
+            return '{' + "topic='" + new String(array, StandardCharsets.UTF_8) + '\'' +
                     ((topicAlias == DEFAULT_NO_TOPIC_ALIAS) ? "" : (", alias=" + (topicAlias & TOPIC_ALIAS_FLAG))) +
                     (((topicAlias & TOPIC_ALIAS_FLAG_NEW) == 0) ? "" : ", new ") + ", used = " + used + ", access = " +
                     access + '}';
         }
     }
+
+    /**
+     * Reusable key for looking up the entry of a topic without allocating.
+     */
+    private static class TopicKey extends ByteArray {
+
+        static final byte @NotNull [] EMPTY = new byte[0];
+
+        TopicKey() {
+            super(EMPTY);
+        }
+
+        void set(final byte @NotNull [] topic) {
+            array = topic;
+        }
+    }
 }
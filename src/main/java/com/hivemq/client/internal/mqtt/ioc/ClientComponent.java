@@ -17,6 +17,7 @@
 package com.hivemq.client.internal.mqtt.ioc;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingPublishFlows;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingQosHandler;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttOutgoingQosHandler;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubscriptionHandler;
@@ -39,6 +40,8 @@ public interface ClientComponent {
 
     @NotNull MqttIncomingQosHandler incomingQosHandler();
 
+    @NotNull MqttIncomingPublishFlows incomingPublishFlows();
+
     @NotNull MqttOutgoingQosHandler outgoingQosHandler();
 
     @Subcomponent.Builder
@@ -31,6 +31,8 @@ import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import com.hivemq.client.mqtt.datatypes.MqttUtf8String;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority;
+import io.reactivex.Flowable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -61,6 +63,12 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
     private final @Nullable ByteBuffer correlationData;
 
     private final @Nullable Confirmable confirmable;
+    private final @NotNull Mqtt5PublishPriority priority;
+    private final @Nullable MqttPublishPayloadReference payloadReference;
+    private final @Nullable MqttPublishPayloadStream payloadStream;
+
+    private final @Nullable MqttPublish template;
+    private volatile byte @Nullable [] encodedFixedProperties;
 
     public MqttPublish(
             final @NotNull MqttTopicImpl topic,
@@ -75,6 +83,45 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
             final @NotNull MqttUserPropertiesImpl userProperties,
             final @Nullable Confirmable confirmable) {
 
+        this(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType, responseTopic,
+                correlationData, userProperties, confirmable, DEFAULT_PRIORITY, null, null, null);
+    }
+
+    public MqttPublish(
+            final @NotNull MqttTopicImpl topic,
+            final @Nullable ByteBuffer payload,
+            final @NotNull MqttQos qos,
+            final boolean retain,
+            final long messageExpiryInterval,
+            final @Nullable Mqtt5PayloadFormatIndicator payloadFormatIndicator,
+            final @Nullable MqttUtf8StringImpl contentType,
+            final @Nullable MqttTopicImpl responseTopic,
+            final @Nullable ByteBuffer correlationData,
+            final @NotNull MqttUserPropertiesImpl userProperties,
+            final @Nullable Confirmable confirmable,
+            final @NotNull Mqtt5PublishPriority priority) {
+
+        this(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType, responseTopic,
+                correlationData, userProperties, confirmable, priority, null, null, null);
+    }
+
+    private MqttPublish(
+            final @NotNull MqttTopicImpl topic,
+            final @Nullable ByteBuffer payload,
+            final @NotNull MqttQos qos,
+            final boolean retain,
+            final long messageExpiryInterval,
+            final @Nullable Mqtt5PayloadFormatIndicator payloadFormatIndicator,
+            final @Nullable MqttUtf8StringImpl contentType,
+            final @Nullable MqttTopicImpl responseTopic,
+            final @Nullable ByteBuffer correlationData,
+            final @NotNull MqttUserPropertiesImpl userProperties,
+            final @Nullable Confirmable confirmable,
+            final @NotNull Mqtt5PublishPriority priority,
+            final @Nullable MqttPublishPayloadReference payloadReference,
+            final @Nullable MqttPublishPayloadStream payloadStream,
+            final @Nullable MqttPublish template) {
+
         super(userProperties);
         this.topic = topic;
         this.payload = payload;
@@ -86,6 +133,10 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         this.responseTopic = responseTopic;
         this.correlationData = correlationData;
         this.confirmable = confirmable;
+        this.priority = priority;
+        this.payloadReference = payloadReference;
+        this.payloadStream = payloadStream;
+        this.template = template;
     }
 
     @Override
@@ -102,6 +153,15 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         return payload;
     }
 
+    @Override
+    public @NotNull Optional<Flowable<ByteBuffer>> getPayloadStream() {
+        return Optional.ofNullable(payloadStream);
+    }
+
+    public @Nullable MqttPublishPayloadStream getRawPayloadStream() {
+        return payloadStream;
+    }
+
     @Override
     public byte @NotNull [] getPayloadAsBytes() {
         return ByteBufferUtil.copyBytes(payload);
@@ -175,6 +235,12 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         }
     }
 
+    @Override
+    public boolean releasePayload() {
+        final MqttPublishPayloadReference payloadReference = this.payloadReference;
+        return (payloadReference != null) && payloadReference.release();
+    }
+
     @Override
     public @NotNull MqttWillPublish asWill() {
         return new MqttPublishBuilder.WillDefault(this).build();
@@ -185,6 +251,55 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         return new MqttPublishBuilder.Default(this);
     }
 
+    @Override
+    public @NotNull MqttPublish withPayload(final byte @Nullable [] payload) {
+        return withRawPayload(ByteBufferUtil.wrap(payload));
+    }
+
+    @Override
+    public @NotNull MqttPublish withPayload(final @Nullable ByteBuffer payload) {
+        return withRawPayload(ByteBufferUtil.slice(payload));
+    }
+
+    private @NotNull MqttPublish withRawPayload(final @Nullable ByteBuffer payload) {
+        return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
+                responseTopic, correlationData, getUserProperties(), null, priority, null, null,
+                (template == null) ? this : template);
+    }
+
+    @Override
+    public @NotNull Mqtt5PublishPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Returns the publish message this publish message was created from via {@link #withPayload(ByteBuffer)}.
+     * <p>
+     * All properties except the payload are the same as the properties of the template, so encoded properties can be
+     * cached in the template and reused for every publish message created from it.
+     *
+     * @return the template of this publish message or <code>null</code> if it was not created from a template.
+     */
+    public @Nullable MqttPublish getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return the cached encoded fixed properties or <code>null</code> if they were not encoded yet.
+     */
+    public byte @Nullable [] getEncodedFixedProperties() {
+        return encodedFixedProperties;
+    }
+
+    /**
+     * Caches the encoded fixed properties of this publish message.
+     *
+     * @param encodedFixedProperties the encoded fixed properties, must not be modified afterwards.
+     */
+    public void setEncodedFixedProperties(final byte @NotNull [] encodedFixedProperties) {
+        this.encodedFixedProperties = encodedFixedProperties;
+    }
+
     public @NotNull MqttStatefulPublish createStateful(
             final int packetIdentifier,
             final boolean dup,
@@ -202,14 +317,60 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         return createStateful(packetIdentifier, dup, topicAlias, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
     }
 
+    /**
+     * Creates a copy of this publish message with a different message expiry interval.
+     * <p>
+     * The copy is not linked to the template of this publish message, as the cached encoded properties of the template
+     * contain the original message expiry interval.
+     *
+     * @param messageExpiryInterval the message expiry interval of the copy.
+     * @return the copy of this publish message.
+     */
+    public @NotNull MqttPublish withMessageExpiryInterval(final long messageExpiryInterval) {
+        return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
+                responseTopic, correlationData, getUserProperties(), confirmable, priority, payloadReference,
+                payloadStream, null);
+    }
+
     public @NotNull MqttPublish withConfirmable(final @NotNull Confirmable confirmable) {
         return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
-                responseTopic, correlationData, getUserProperties(), confirmable);
+                responseTopic, correlationData, getUserProperties(), confirmable, priority, payloadReference,
+                payloadStream, template);
+    }
+
+    /**
+     * Creates a copy of this publish message which holds the given reference to the network buffer its payload is a
+     * view of.
+     *
+     * @param payloadReference the reference which is released via {@link #releasePayload()}.
+     * @return the copy of this publish message.
+     */
+    public @NotNull MqttPublish withPayloadReference(final @NotNull MqttPublishPayloadReference payloadReference) {
+        return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
+                responseTopic, correlationData, getUserProperties(), confirmable, priority, payloadReference,
+                payloadStream, template);
+    }
+
+    /**
+     * Creates a copy of this publish message whose payload is received in chunks via the given stream.
+     *
+     * @param payloadStream the stream of the payload.
+     * @return the copy of this publish message.
+     */
+    public @NotNull MqttPublish withPayloadStream(final @NotNull MqttPublishPayloadStream payloadStream) {
+        return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
+                responseTopic, correlationData, getUserProperties(), confirmable, priority, payloadReference,
+                payloadStream, template);
+    }
+
+    public @Nullable MqttPublishPayloadReference getPayloadReference() {
+        return payloadReference;
     }
 
     @Override
     protected @NotNull String toAttributeString() {
-        return "topic=" + topic + ((payload == null) ? "" : ", payload=" + payload.remaining() + "byte") + ", qos=" +
+        return "topic=" + topic + ((payload == null) ? ((payloadStream == null) ? "" : ", payload=stream") :
+                ", payload=" + payload.remaining() + "byte") + ", qos=" +
                 qos + ", retain=" + retain + ((messageExpiryInterval == NO_MESSAGE_EXPIRY) ? "" :
                 ", messageExpiryInterval=" + messageExpiryInterval) +
                 ((payloadFormatIndicator == null) ? "" : ", payloadFormatIndicator=" + payloadFormatIndicator) +
@@ -26,6 +26,7 @@ import com.hivemq.client.mqtt.datatypes.MqttUtf8String;
 import com.hivemq.client.mqtt.mqtt5.datatypes.Mqtt5UserProperties;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5WillPublishBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -48,6 +49,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
     @Nullable MqttTopicImpl responseTopic;
     @Nullable ByteBuffer correlationData;
     @NotNull MqttUserPropertiesImpl userProperties = MqttUserPropertiesImpl.NO_USER_PROPERTIES;
+    @NotNull Mqtt5PublishPriority priority = MqttPublish.DEFAULT_PRIORITY;
 
     MqttPublishBuilder() {}
 
@@ -62,6 +64,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
         responseTopic = publish.getRawResponseTopic();
         correlationData = publish.getRawCorrelationData();
         userProperties = publish.getUserProperties();
+        priority = publish.getPriority();
     }
 
     MqttPublishBuilder(final @NotNull MqttPublishBuilder<?> publishBuilder) {
@@ -75,6 +78,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
         responseTopic = publishBuilder.responseTopic;
         correlationData = publishBuilder.correlationData;
         userProperties = publishBuilder.userProperties;
+        priority = publishBuilder.priority;
     }
 
     abstract @NotNull B self();
@@ -161,6 +165,11 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
         return new MqttUserPropertiesImplBuilder.Nested<>(userProperties, this::userProperties);
     }
 
+    public @NotNull B priority(final @Nullable Mqtt5PublishPriority priority) {
+        this.priority = Checks.notNull(priority, "Priority");
+        return self();
+    }
+
     private static abstract class Base<B extends Base<B>> extends MqttPublishBuilder<B> {
 
         Base() {}
@@ -186,7 +195,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
         public @NotNull MqttPublish build() {
             Checks.notNull(topic, "Topic");
             return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator,
-                    contentType, responseTopic, correlationData, userProperties, null);
+                    contentType, responseTopic, correlationData, userProperties, null, priority);
         }
     }
 
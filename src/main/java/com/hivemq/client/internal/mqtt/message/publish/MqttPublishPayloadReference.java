@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reference to the network buffer the payload of an incoming publish is a view of.
+ * <p>
+ * Every incoming publish that is emitted to the application holds its own reference which is released by the
+ * application via {@link MqttPublish#releasePayload()}.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttPublishPayloadReference {
+
+    private final @NotNull AtomicReference<ByteBuf> buffer;
+
+    /**
+     * @param buffer the buffer the payload is a view of, the ownership of one reference count is transferred.
+     */
+    public MqttPublishPayloadReference(final @NotNull ByteBuf buffer) {
+        this.buffer = new AtomicReference<>(buffer);
+    }
+
+    /**
+     * Releases the buffer. Calling this method multiple times has no effect.
+     *
+     * @return whether the buffer was released by this call.
+     */
+    public boolean release() {
+        final ByteBuf buffer = this.buffer.getAndSet(null);
+        if (buffer == null) {
+            return false;
+        }
+        buffer.release();
+        return true;
+    }
+
+    /**
+     * @return whether the buffer was already released.
+     */
+    public boolean isReleased() {
+        return buffer.get() == null;
+    }
+}
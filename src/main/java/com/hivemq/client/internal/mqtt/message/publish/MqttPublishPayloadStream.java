@@ -0,0 +1,248 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import io.netty.channel.Channel;
+import io.reactivex.Flowable;
+import io.reactivex.internal.subscriptions.EmptySubscription;
+import io.reactivex.internal.util.BackpressureHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stream of the payload of an incoming publish that is emitted in chunks while it is received.
+ * <p>
+ * Chunks are queued until they are requested by the subscriber. While chunks are queued, reading from the channel is
+ * paused by disabling auto read, so at most the chunks of one read are held in memory.
+ * <p>
+ * The stream can only be subscribed once. If the publish is not emitted to any flow, the stream is discarded, so the
+ * remaining payload is skipped instead of blocking the channel.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttPublishPayloadStream extends Flowable<ByteBuffer> implements Subscription, Runnable {
+
+    private final @NotNull Channel channel;
+
+    private final @NotNull AtomicBoolean subscribed = new AtomicBoolean();
+    private volatile @Nullable Subscriber<? super ByteBuffer> subscriber;
+    private final @NotNull AtomicLong requested = new AtomicLong();
+    private volatile boolean cancelled;
+
+    private final @NotNull ArrayDeque<ByteBuffer> queue = new ArrayDeque<>();
+    private boolean received;
+    private @Nullable Throwable error;
+    private boolean terminated;
+    private boolean paused;
+    private boolean emitted;
+    private @Nullable Runnable endListener;
+
+    public MqttPublishPayloadStream(final @NotNull Channel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull Subscriber<? super ByteBuffer> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            EmptySubscription.error(
+                    new IllegalStateException("The payload stream can only be subscribed once"), subscriber);
+            return;
+        }
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(this);
+        channel.eventLoop().execute(this);
+    }
+
+    @Override
+    public void request(final long n) {
+        if ((n > 0) && !cancelled) {
+            BackpressureHelper.add(requested, n);
+            channel.eventLoop().execute(this);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            channel.eventLoop().execute(this);
+        }
+    }
+
+    /**
+     * Adds a received chunk of the payload.
+     *
+     * @param chunk the chunk, must not be modified afterwards.
+     */
+    @CallByThread("Netty EventLoop")
+    public void add(final @NotNull ByteBuffer chunk) {
+        if (!cancelled) {
+            queue.offer(chunk);
+            run();
+        }
+    }
+
+    /**
+     * Signals that the payload was received completely.
+     */
+    @CallByThread("Netty EventLoop")
+    public void complete() {
+        end(null);
+    }
+
+    /**
+     * Signals that the payload could not be received completely.
+     *
+     * @param error the cause.
+     */
+    @CallByThread("Netty EventLoop")
+    public void fail(final @NotNull Throwable error) {
+        end(error);
+    }
+
+    private void end(final @Nullable Throwable error) {
+        if (received) {
+            return;
+        }
+        received = true;
+        this.error = error;
+        run();
+        final Runnable endListener = this.endListener;
+        if (endListener != null) {
+            this.endListener = null;
+            endListener.run();
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void run() {
+        if (cancelled) {
+            queue.clear();
+            subscriber = null;
+            resume();
+            return;
+        }
+        final Subscriber<? super ByteBuffer> subscriber = this.subscriber;
+        if (subscriber != null) {
+            final long requested = this.requested.get();
+            long emitted = 0;
+            while (emitted != requested) {
+                final ByteBuffer chunk = queue.poll();
+                if (chunk == null) {
+                    break;
+                }
+                subscriber.onNext(chunk);
+                emitted++;
+                if (cancelled) {
+                    queue.clear();
+                    this.subscriber = null;
+                    resume();
+                    return;
+                }
+            }
+            if (emitted > 0) {
+                BackpressureHelper.produced(this.requested, emitted);
+            }
+            if (received && queue.isEmpty() && !terminated) {
+                terminated = true;
+                this.subscriber = null;
+                if (error == null) {
+                    subscriber.onComplete();
+                } else {
+                    subscriber.onError(error);
+                }
+            }
+        }
+        if (queue.isEmpty() || received) {
+            resume();
+        } else {
+            pause();
+        }
+    }
+
+    private void pause() {
+        if (!paused) {
+            paused = true;
+            channel.config().setAutoRead(false);
+        }
+    }
+
+    private void resume() {
+        if (paused) {
+            paused = false;
+            channel.config().setAutoRead(true);
+        }
+    }
+
+    /**
+     * @return whether the payload was received completely or could not be received completely.
+     */
+    @CallByThread("Netty EventLoop")
+    public boolean isReceived() {
+        return received;
+    }
+
+    /**
+     * @return whether the payload could not be received completely.
+     */
+    @CallByThread("Netty EventLoop")
+    public boolean isFailed() {
+        return received && (error != null);
+    }
+
+    /**
+     * Sets the listener that is called when the payload was received completely or could not be received completely.
+     *
+     * @param endListener the listener.
+     */
+    @CallByThread("Netty EventLoop")
+    public void setEndListener(final @NotNull Runnable endListener) {
+        if (!received) {
+            this.endListener = endListener;
+        }
+    }
+
+    /**
+     * Marks that the publish was emitted to a flow, so the application is responsible for the stream.
+     */
+    @CallByThread("Netty EventLoop")
+    public void markEmitted() {
+        emitted = true;
+    }
+
+    /**
+     * Discards the stream if the publish was not emitted to any flow, so the remaining payload is skipped instead of
+     * blocking the channel.
+     */
+    @CallByThread("Netty EventLoop")
+    public void discardIfNotEmitted() {
+        if (!emitted) {
+            cancelled = true;
+            run();
+        }
+    }
+}
@@ -20,7 +20,9 @@ import com.hivemq.client.annotations.Immutable;
 import com.hivemq.client.internal.mqtt.message.MqttStatefulMessage;
 import com.hivemq.client.internal.util.UnsignedDataTypes;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
+import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Silvio Giebl
@@ -38,6 +40,7 @@ public class MqttStatefulPublish extends MqttStatefulMessage.WithId<MqttPublish>
     private final int topicAlias;
     private final @NotNull ImmutableIntList subscriptionIdentifiers;
     private long id;
+    private @Nullable ByteBuf retainedPayload;
 
     MqttStatefulPublish(
             final @NotNull MqttPublish publish,
@@ -76,6 +79,46 @@ public class MqttStatefulPublish extends MqttStatefulMessage.WithId<MqttPublish>
         this.id = id;
     }
 
+    /**
+     * @return the buffer the payload of this publish is a view of, or null if the payload was copied.
+     */
+    public @Nullable ByteBuf getRetainedPayload() {
+        return retainedPayload;
+    }
+
+    public void setRetainedPayload(final @Nullable ByteBuf retainedPayload) {
+        this.retainedPayload = retainedPayload;
+    }
+
+    /**
+     * Releases the buffer the payload of this publish is a view of. Calling this method multiple times has no effect.
+     * The payload must not be accessed afterwards.
+     * <p>
+     * If the payload is streamed and this publish was not emitted to any flow, the stream is discarded.
+     */
+    public void releasePayload() {
+        final ByteBuf retainedPayload = this.retainedPayload;
+        if (retainedPayload != null) {
+            this.retainedPayload = null;
+            retainedPayload.release();
+        }
+        final MqttPublishPayloadStream payloadStream = stateless().getRawPayloadStream();
+        if (payloadStream != null) {
+            payloadStream.discardIfNotEmitted();
+        }
+    }
+
+    /**
+     * Creates a copy of this publish whose payload is received in chunks via the given stream.
+     *
+     * @param payloadStream the stream of the payload.
+     * @return the copy of this publish.
+     */
+    public @NotNull MqttStatefulPublish withPayloadStream(final @NotNull MqttPublishPayloadStream payloadStream) {
+        return new MqttStatefulPublish(stateless().withPayloadStream(payloadStream), getPacketIdentifier(), dup,
+                topicAlias, subscriptionIdentifiers);
+    }
+
     @Override
     protected @NotNull String toAttributeString() {
         return super.toAttributeString() + ", dup=" + dup + ", topicAlias=" + topicAlias +
@@ -129,6 +129,11 @@ public class Mqtt3PublishView implements Mqtt3Publish {
         delegate.acknowledge();
     }
 
+    @Override
+    public boolean releasePayload() {
+        return delegate.releasePayload();
+    }
+
     @Override
     public Mqtt3PublishViewBuilder.@NotNull Default extend() {
         return new Mqtt3PublishViewBuilder.Default(this);
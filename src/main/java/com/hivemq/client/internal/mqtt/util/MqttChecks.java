@@ -200,6 +200,14 @@ public final class MqttChecks {
         return Checks.notImplemented(publish, MqttPublish.class, "Publish");
     }
 
+    @Contract("null -> fail")
+    public static @NotNull ImmutableList<MqttPublish> publishes(
+            final @Nullable Collection<@Nullable ? extends Mqtt5Publish> publishes) {
+
+        final ImmutableList<Mqtt5Publish> immutable = ImmutableList.copyOf(publishes, "Publishes");
+        return Checks.elementsNotImplemented(immutable, MqttPublish.class, "Publish");
+    }
+
     @Contract("null -> fail")
     public static @NotNull MqttPublish publish(final @Nullable Mqtt3Publish publish) {
         return Checks.notImplemented(publish, Mqtt3PublishView.class, "Publish").getDelegate();
@@ -24,7 +24,7 @@ import org.jetbrains.annotations.Nullable;
  */
 public class ByteArray {
 
-    protected final byte @NotNull [] array;
+    protected byte @NotNull [] array;
 
     public ByteArray(final byte @NotNull [] array) {
         this.array = array;
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.util;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Alternative to {@link Ranges} with the same API which keeps the free ids in a hierarchical bitmap.
+ * <p>
+ * Getting and returning an id takes constant time independent of the order in which ids are returned, whereas the
+ * intervals of {@link Ranges} fragment if ids are returned out of order.
+ * <p>
+ * The bitmap has 3 levels of 64 bit words: a set bit on the lowest level marks a free id, a set bit on the upper levels
+ * marks a word on the level below that contains at least one set bit. This limits the maximum id to {@value MAX_ID}.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class IdBitmap {
+
+    public static final int MAX_ID = (1 << 18) - 1;
+
+    private final int minId;
+    private int maxId;
+    private long @NotNull [] level0 = new long[0];
+    private long @NotNull [] level1 = new long[0];
+    private long level2;
+
+    public IdBitmap(final int minId, final int maxId) {
+        this.minId = minId;
+        this.maxId = minId - 1;
+        resize(maxId);
+    }
+
+    public int getId() {
+        final long word2 = level2;
+        if (word2 == 0) {
+            return -1;
+        }
+        final int index1 = Long.numberOfTrailingZeros(word2);
+        final int index0 = (index1 << 6) + Long.numberOfTrailingZeros(level1[index1]);
+        final int id = (index0 << 6) + Long.numberOfTrailingZeros(level0[index0]);
+        clear(id);
+        return id;
+    }
+
+    public void returnId(final int id) {
+        if ((id < minId) || (id > maxId)) {
+            throw new IllegalStateException("The id is greater than maxId. This must not happen and is a bug.");
+        }
+        if (isFree(id)) {
+            throw new IllegalStateException("The id was already returned. This must not happen and is a bug.");
+        }
+        set(id);
+    }
+
+    /**
+     * Takes the given id if it is free, for example to restore ids that were in use before a restart.
+     *
+     * @param id the id to take.
+     * @return whether the id was free and is now taken.
+     */
+    public boolean takeId(final int id) {
+        if ((id < minId) || (id > maxId) || !isFree(id)) {
+            return false;
+        }
+        clear(id);
+        return true;
+    }
+
+    public int resize(final int maxId) {
+        final int oldMaxId = this.maxId;
+        if (maxId >= oldMaxId) {
+            ensureCapacity(maxId);
+            for (int id = Math.max(oldMaxId + 1, minId); id <= maxId; id++) {
+                set(id);
+            }
+            this.maxId = maxId;
+            return 0;
+        }
+        final int from = Math.max(maxId + 1, minId);
+        if (from > oldMaxId) {
+            this.maxId = maxId;
+            return 0;
+        }
+        final int fromIndex0 = from >> 6;
+        final int toIndex0 = oldMaxId >> 6;
+        int count = 0;
+        for (int index0 = fromIndex0; index0 <= toIndex0; index0++) {
+            count += Long.bitCount(~level0[index0] & rangeMask(index0, from, oldMaxId));
+        }
+        if (count == 0) {
+            for (int index0 = fromIndex0; index0 <= toIndex0; index0++) {
+                clearWord(index0, rangeMask(index0, from, oldMaxId));
+            }
+            this.maxId = maxId;
+        }
+        return count;
+    }
+
+    private static long rangeMask(final int index0, final int fromId, final int toId) {
+        final int firstId = index0 << 6;
+        final int fromBit = Math.max(fromId - firstId, 0);
+        final int toBit = Math.min(toId - firstId, 63);
+        return (-1L << fromBit) & (-1L >>> (63 - toBit));
+    }
+
+    private boolean isFree(final int id) {
+        return (level0[id >> 6] & (1L << id)) != 0;
+    }
+
+    private void set(final int id) {
+        final int index0 = id >> 6;
+        final long word0 = level0[index0];
+        level0[index0] = word0 | (1L << id);
+        if (word0 == 0) {
+            final int index1 = index0 >> 6;
+            final long word1 = level1[index1];
+            level1[index1] = word1 | (1L << index0);
+            if (word1 == 0) {
+                level2 |= 1L << index1;
+            }
+        }
+    }
+
+    private void clear(final int id) {
+        final int index0 = id >> 6;
+        final long word0 = level0[index0] & ~(1L << id);
+        level0[index0] = word0;
+        if (word0 == 0) {
+            final int index1 = index0 >> 6;
+            final long word1 = level1[index1] & ~(1L << index0);
+            level1[index1] = word1;
+            if (word1 == 0) {
+                level2 &= ~(1L << index1);
+            }
+        }
+    }
+
+    private void clearWord(final int index0, final long mask) {
+        final long word0 = level0[index0];
+        final long newWord0 = word0 & ~mask;
+        level0[index0] = newWord0;
+        if ((word0 != 0) && (newWord0 == 0)) {
+            final int index1 = index0 >> 6;
+            final long word1 = level1[index1] & ~(1L << index0);
+            level1[index1] = word1;
+            if (word1 == 0) {
+                level2 &= ~(1L << index1);
+            }
+        }
+    }
+
+    private void ensureCapacity(final int maxId) {
+        if (maxId > MAX_ID) {
+            throw new IllegalArgumentException("maxId must not be greater than " + MAX_ID + ", but was " + maxId + ".");
+        }
+        final int length0 = (maxId >> 6) + 1;
+        if (length0 > level0.length) {
+            level0 = Arrays.copyOf(level0, length0);
+            final int length1 = ((length0 - 1) >> 6) + 1;
+            if (length1 > level1.length) {
+                level1 = Arrays.copyOf(level1, length1);
+            }
+        }
+    }
+}
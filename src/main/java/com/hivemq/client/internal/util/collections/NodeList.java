@@ -92,6 +92,18 @@ public class NodeList<N extends NodeList.Node<N>> {
         size--;
     }
 
+    /**
+     * Removes the given node like {@link #remove(Node)} and additionally clears its links, so it can be added to a list
+     * again.
+     *
+     * @param node the node to remove.
+     */
+    public void detach(final @NotNull N node) {
+        remove(node);
+        node.prev = null;
+        node.next = null;
+    }
+
     public void replace(final @NotNull N oldNode, final @NotNull N newNode) {
         assert (oldNode.prev != null) || (oldNode == first);
         assert (oldNode.next != null) || (oldNode == last);
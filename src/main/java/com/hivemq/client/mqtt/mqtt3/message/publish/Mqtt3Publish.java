@@ -86,6 +86,17 @@ public interface Mqtt3Publish extends Mqtt3Message {
      */
     void acknowledge();
 
+    /**
+     * Releases the payload of this Publish message if it references a network buffer.
+     * <p>
+     * Calling this method for Publish messages with a copied payload or multiple times has no effect.
+     *
+     * @return whether the payload was released by this call.
+     * @see com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#releasePayload()
+     * @since 1.3
+     */
+    boolean releasePayload();
+
     @Override
     default @NotNull Mqtt3MessageType getType() {
         return Mqtt3MessageType.PUBLISH;
@@ -35,6 +35,8 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5UnsubscribeBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -322,6 +324,39 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
     @CheckReturnValue
     Mqtt5PublishBuilder.@NotNull Send<CompletableFuture<Mqtt5PublishResult>> publishWith();
 
+    /**
+     * Publishes the given Publish message in fire-and-forget mode.
+     * <p>
+     * In contrast to {@link #publish(Mqtt5Publish)}, no {@link CompletableFuture} and no {@link Mqtt5PublishResult} are
+     * created. Failures are aggregated and reported to the {@link
+     * com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#getFireAndForgetFailureListener() fire-and-forget
+     * failure listener} instead. This mode is intended for high rates of Publish messages with QoS 0.
+     *
+     * @param publish the Publish message sent to the broker.
+     * @throws com.hivemq.client.mqtt.exceptions.MqttClientStateException if the client is not connected.
+     * @since 1.3
+     */
+    void publishFireAndForget(@NotNull Mqtt5Publish publish);
+
+    /**
+     * Publishes the given Publish messages as a batch.
+     * <p>
+     * The whole batch is queued in one step and written in as few flush cycles as possible, which is more efficient
+     * than calling {@link #publish(Mqtt5Publish)} for every Publish message.
+     *
+     * @param publishes the Publish messages sent to the broker.
+     * @return a {@link CompletableFuture} which
+     *         <ul>
+     *           <li>completes normally with the {@link Mqtt5PublishResult}s of all Publish messages in the order of
+     *             the given Publish messages. An error of a single Publish message does not fail the batch, it is
+     *             available via {@link Mqtt5PublishResult#getError()} of the corresponding result or
+     *           <li>completes exceptionally if the client is not connected.
+     *         </ul>
+     * @since 1.3
+     */
+    @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt5PublishResult>> publishBatch(
+            @NotNull Collection<@NotNull ? extends Mqtt5Publish> publishes);
+
     /**
      * Re-authenticates this client.
      *
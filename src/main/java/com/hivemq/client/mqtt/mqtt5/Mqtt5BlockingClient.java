@@ -35,6 +35,8 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5UnsubscribeBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -172,6 +174,21 @@ public interface Mqtt5BlockingClient extends Mqtt5Client {
     @CheckReturnValue
     Mqtt5PublishBuilder.@NotNull Send<Mqtt5PublishResult> publishWith();
 
+    /**
+     * Publishes the given Publish messages as a batch.
+     * <p>
+     * The whole batch is queued in one step and written in as few flush cycles as possible, which is more efficient
+     * than calling {@link #publish(Mqtt5Publish)} for every Publish message.
+     *
+     * @param publishes the Publish messages sent to the broker.
+     * @return the {@link Mqtt5PublishResult}s of all Publish messages in the order of the given Publish messages. An
+     *         error of a single Publish message does not fail the batch, it is available via {@link
+     *         Mqtt5PublishResult#getError()} of the corresponding result.
+     * @since 1.3
+     */
+    @NotNull List<@NotNull Mqtt5PublishResult> publishBatch(
+            @NotNull Collection<@NotNull ? extends Mqtt5Publish> publishes);
+
     /**
      * Re-authenticates this client.
      *
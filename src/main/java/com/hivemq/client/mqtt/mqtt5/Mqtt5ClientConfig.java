@@ -19,6 +19,8 @@ package com.hivemq.client.mqtt.mqtt5;
 import com.hivemq.client.annotations.DoNotImplement;
 import com.hivemq.client.mqtt.MqttClientConfig;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TopicMatchCacheMetrics;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferMetrics;
 import com.hivemq.client.mqtt.mqtt5.auth.Mqtt5EnhancedAuthMechanism;
 import com.hivemq.client.mqtt.mqtt5.message.auth.Mqtt5SimpleAuth;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5WillPublish;
@@ -87,4 +89,26 @@ public interface Mqtt5ClientConfig extends MqttClientConfig {
      * @since 1.1
      */
     @NotNull Optional<Mqtt5WillPublish> getWillPublish();
+
+    /**
+     * Returns the metrics of the offline buffer of the client.
+     * <p>
+     * The metrics are only present if the {@link Mqtt5ClientAdvancedConfig#getOfflineBuffer() offline buffer} is
+     * configured.
+     *
+     * @return the optional metrics of the offline buffer.
+     * @since 1.3
+     */
+    @NotNull Optional<Mqtt5OfflineBufferMetrics> getOfflineBufferMetrics();
+
+    /**
+     * Returns the metrics of the topic match cache of the client.
+     * <p>
+     * The metrics are only present if the {@link Mqtt5ClientAdvancedConfig#getTopicMatchCacheSize() topic match cache}
+     * is enabled.
+     *
+     * @return the optional metrics of the topic match cache.
+     * @since 1.3
+     */
+    @NotNull Optional<Mqtt5TopicMatchCacheMetrics> getTopicMatchCacheMetrics();
 }
@@ -317,6 +317,31 @@ public interface Mqtt5RxClient extends Mqtt5Client {
     @CheckReturnValue
     @NotNull Flowable<Mqtt5PublishResult> publish(@NotNull Flowable<Mqtt5Publish> publishFlowable);
 
+    /**
+     * Creates a {@link Completable} for publishing the Publish messages emitted by the given {@link Flowable} in
+     * fire-and-forget mode.
+     * <p>
+     * In contrast to {@link #publish(Flowable)}, no {@link Mqtt5PublishResult} is created per Publish message. Failures
+     * are aggregated and reported to the {@link
+     * com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#getFireAndForgetFailureListener() fire-and-forget
+     * failure listener} instead. This mode is intended for high rates of Publish messages with QoS 0.
+     * <p>
+     * Calling this method does not start publishing yet. Publishing is performed lazy and asynchronous. When
+     * subscribing to the returned {@link Completable} the client subscribes (in terms of Reactive Streams) to the given
+     * {@link Flowable}.
+     *
+     * @param publishFlowable the source of the Publish messages to publish.
+     * @return the {@link Completable} which
+     *         <ul>
+     *           <li>completes when the given {@link Flowable} completes and all Publish messages were handed over to
+     *             the client or
+     *           <li>errors with the same exception if the given {@link Flowable} errors.
+     *         </ul>
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull Completable publishFireAndForget(@NotNull Flowable<Mqtt5Publish> publishFlowable);
+
     /**
      * Creates a {@link Completable} for re-authenticating this client.
      * <p>
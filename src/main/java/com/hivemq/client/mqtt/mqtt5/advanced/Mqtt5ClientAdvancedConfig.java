@@ -18,7 +18,12 @@ package com.hivemq.client.mqtt.mqtt5.advanced;
 
 import com.hivemq.client.annotations.DoNotImplement;
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.flush.Mqtt5FlushCoalescingConfig;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2Store;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionStore;
+import com.hivemq.client.mqtt.mqtt5.advanced.ratelimit.Mqtt5PublishRateLimit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -31,6 +36,20 @@ import org.jetbrains.annotations.Nullable;
 @DoNotImplement
 public interface Mqtt5ClientAdvancedConfig {
 
+    /**
+     * The default maximum amount of publish flowables that are merged concurrently.
+     *
+     * @since 1.3
+     */
+    int DEFAULT_MAXIMUM_CONCURRENT_PUBLISH_FLOWABLES = 64;
+
+    /**
+     * The default maximum amount of publish flowables that are queued until they are merged.
+     *
+     * @since 1.3
+     */
+    int DEFAULT_MAXIMUM_QUEUED_PUBLISH_FLOWABLES = 65_536;
+
     /**
      * Creates a builder for an advanced configuration.
      *
@@ -53,6 +72,223 @@ public interface Mqtt5ClientAdvancedConfig {
      */
     boolean isValidatePayloadFormat();
 
+    /**
+     * Returns whether the payload of incoming {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish
+     * Mqtt5Publish} messages references the network buffer directly instead of being copied.
+     * <p>
+     * If enabled, the payload of an incoming publish is a view of a pooled network buffer which stays valid, also on
+     * other threads, until the application calls
+     * {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#releasePayload() releasePayload()}. Every
+     * incoming publish must be released, otherwise the buffer is not returned to the pool.
+     *
+     * @return whether the payload of incoming publishes is not copied.
+     * @since 1.3
+     */
+    boolean isZeroCopyPayload();
+
+    /**
+     * Returns whether the payload of incoming {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish
+     * Mqtt5Publish} messages is decoded into a direct buffer.
+     * <p>
+     * If {@link #isZeroCopyPayload() zero copy} is enabled too, the direct buffer is taken from a pool.
+     *
+     * @return whether the payload of incoming publishes is decoded into a direct buffer.
+     * @since 1.3
+     */
+    boolean isDirectBufferPayload();
+
+    /**
+     * @return whether the authentication data of incoming {@link com.hivemq.client.mqtt.mqtt5.message.auth.Mqtt5Auth
+     *         Mqtt5Auth} messages is decoded into a direct buffer.
+     * @since 1.3
+     */
+    boolean isDirectBufferAuth();
+
+    /**
+     * @return whether the correlation data of incoming {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish
+     *         Mqtt5Publish} messages is decoded into a direct buffer.
+     * @since 1.3
+     */
+    boolean isDirectBufferCorrelationData();
+
+    /**
+     * Returns the maximum amount of publish flowables that are merged concurrently. Further publish flowables are
+     * merged as soon as one of the currently merged publish flowables completes.
+     *
+     * @return the maximum amount of publish flowables that are merged concurrently.
+     * @since 1.3
+     */
+    int getMaximumConcurrentPublishFlowables();
+
+    /**
+     * Returns the maximum amount of publish flowables that are queued until they are merged.
+     * <p>
+     * Publishing a flowable never blocks the calling thread. If this maximum is reached, further publish flowables are
+     * rejected immediately: their result flowable or completable fails with a
+     * {@link io.reactivex.exceptions.MissingBackpressureException MissingBackpressureException}.
+     *
+     * @return the maximum amount of publish flowables that are queued until they are merged.
+     * @since 1.3
+     */
+    int getMaximumQueuedPublishFlowables();
+
+    /**
+     * Returns whether the concurrently merged publish flowables are served in a round-robin fashion.
+     * <p>
+     * If enabled, a publish flowable that emits at a high rate can not starve the other publish flowables, at the cost
+     * of throughput of a single publish flowable.
+     *
+     * @return whether the publish flowables are merged fairly.
+     * @since 1.3
+     */
+    boolean isFairPublishFlowables();
+
+    /**
+     * Returns whether the result for a publish with QoS level 2 is only emitted after the PubComp message was
+     * received.
+     * <p>
+     * If enabled, the result is a {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult.Mqtt5Qos2CompleteResult
+     * Mqtt5Qos2CompleteResult}.
+     *
+     * @return whether the result for a publish with QoS level 2 contains the complete flow.
+     * @since 1.3
+     */
+    boolean isQos2CompleteResult();
+
+    /**
+     * Returns the maximum amount of topics for which the matching subscriptions of incoming publishes are cached.
+     * <p>
+     * The least recently used topics are evicted first. The cache is invalidated when subscriptions change.
+     * <code>0</code> disables the cache.
+     *
+     * @return the maximum amount of topics for which the matching subscriptions are cached.
+     * @since 1.3
+     */
+    int getTopicMatchCacheSize();
+
+    /**
+     * Returns whether subscriptions to topic filters without wildcards are indexed by their exact topic.
+     * <p>
+     * If enabled, incoming publishes are matched against these subscriptions with a single hash lookup and each of
+     * these subscriptions uses less memory. This is beneficial if the client holds a large amount of subscriptions to
+     * topic filters without wildcards.
+     *
+     * @return whether subscriptions to topic filters without wildcards are indexed by their exact topic.
+     * @since 1.3
+     */
+    boolean isIndexExactTopicFilters();
+
+    /**
+     * Returns the listener that is notified about failed fire-and-forget Publish messages.
+     * <p>
+     * Fire-and-forget Publish messages do not produce a result per message, so failures are aggregated and reported to
+     * this listener instead.
+     *
+     * @return the listener for failed fire-and-forget Publish messages or <code>null</code> if failures are ignored.
+     * @since 1.3
+     */
+    @Nullable Mqtt5FireAndForgetFailureListener getFireAndForgetFailureListener();
+
+    /**
+     * Returns the optional store for outgoing Publish messages with QoS 1 or 2 that have not been completely
+     * acknowledged yet.
+     * <p>
+     * If set, the stored messages are resent when the session is started for the first time, so they are not lost if
+     * the application is restarted. Only messages that were already sent are stored, see {@link
+     * Mqtt5OutgoingSessionStore}.
+     *
+     * @return the store for outgoing Publish messages or <code>null</code> if they are only kept in memory.
+     * @since 1.3
+     */
+    @Nullable Mqtt5OutgoingSessionStore getOutgoingSessionStore();
+
+    /**
+     * Returns the optional store for the packet identifiers of incoming Publish messages with QoS 2 that have been
+     * received but not released yet.
+     * <p>
+     * If set, Publish messages with QoS 2 that are resent by the server after the application was restarted are not
+     * delivered twice.
+     *
+     * @return the store for incoming QoS 2 packet identifiers or <code>null</code> if they are only kept in memory.
+     * @since 1.3
+     */
+    @Nullable Mqtt5IncomingQos2Store getIncomingQos2Store();
+
+    /**
+     * Returns the optional configuration of the offline buffer for Publish messages that are published while the
+     * client is not connected.
+     * <p>
+     * If not set, the Publish messages are buffered without a bound until the client is connected again.
+     *
+     * @return the configuration of the offline buffer or <code>null</code> if the offline buffer is not bounded.
+     * @since 1.3
+     */
+    @Nullable Mqtt5OfflineBufferConfig getOfflineBuffer();
+
+    /**
+     * Returns the optional rate limit for outgoing Publish messages.
+     * <p>
+     * If set, the client shapes its outgoing Publish messages so the rates enforced by the server are not exceeded.
+     *
+     * @return the rate limit for outgoing Publish messages or <code>null</code> if the rate is not limited.
+     * @since 1.3
+     */
+    @Nullable Mqtt5PublishRateLimit getPublishRateLimit();
+
+    /**
+     * Returns the optional flush coalescing configuration for outgoing Publish messages.
+     * <p>
+     * If set, the flush of outgoing Publish messages is deferred within the configured bounds, so multiple messages are
+     * flushed together.
+     *
+     * @return the flush coalescing configuration or <code>null</code> if Publish messages are flushed immediately.
+     * @since 1.3
+     */
+    @Nullable Mqtt5FlushCoalescingConfig getFlushCoalescing();
+
+    /**
+     * Returns the optional flush coalescing configuration for outgoing acknowledgements (PubAck, PubRec and PubComp
+     * messages).
+     * <p>
+     * If set, the flush of acknowledgements is deferred until the configured
+     * {@link Mqtt5FlushCoalescingConfig#getMaximumMessages() maximum count of unflushed messages} is reached, or at the
+     * latest after the configured {@link Mqtt5FlushCoalescingConfig#getMaximumDelay(java.util.concurrent.TimeUnit)
+     * maximum delay}. The maximum count of unflushed bytes does not apply to acknowledgements.
+     * <p>
+     * If not set, acknowledgements are flushed after the current event loop task, or immediately when
+     * {@link Mqtt5FlushCoalescingConfig#DEFAULT_MAXIMUM_MESSAGES} acknowledgements are unflushed.
+     *
+     * @return the flush coalescing configuration for acknowledgements or <code>null</code> if the default applies.
+     * @since 1.3
+     */
+    @Nullable Mqtt5FlushCoalescingConfig getAckFlushCoalescing();
+
+    /**
+     * Returns whether small MQTT packets are encoded into shared buffers.
+     * <p>
+     * If enabled, consecutive small packets are encoded into a shared pooled buffer and written to the channel
+     * together. This reduces the amount of buffer allocations and writes if the client sends many small messages.
+     *
+     * @return whether small MQTT packets are encoded into shared buffers.
+     * @since 1.3
+     */
+    boolean isAggregateWrites();
+
+    /**
+     * Returns the packet size above which the payload of incoming Publish messages is streamed.
+     * <p>
+     * Such a Publish message is emitted as soon as its header has been received. Its payload is emitted in chunks by
+     * its {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#getPayloadStream() payload stream} while it
+     * is received, so the memory usage does not depend on the size of the payload. Reading from the connection is
+     * paused while the chunks are not requested. The payload format is not validated for streamed payloads.
+     * <p>
+     * <code>0</code> disables streaming, then every Publish message is emitted with its complete payload.
+     *
+     * @return the packet size above which the payload of incoming Publish messages is streamed.
+     * @since 1.3
+     */
+    int getStreamingPayloadThreshold();
+
     /**
      * @return the optional interceptors of messages.
      */
@@ -18,8 +18,16 @@ package com.hivemq.client.mqtt.mqtt5.advanced;
 
 import com.hivemq.client.annotations.CheckReturnValue;
 import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.mqtt.mqtt5.advanced.flush.Mqtt5FlushCoalescingConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.flush.Mqtt5FlushCoalescingConfigBuilder;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptorsBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferConfigBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2Store;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionStore;
+import com.hivemq.client.mqtt.mqtt5.advanced.ratelimit.Mqtt5PublishRateLimit;
+import com.hivemq.client.mqtt.mqtt5.advanced.ratelimit.Mqtt5PublishRateLimitBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -51,6 +59,290 @@ public interface Mqtt5ClientAdvancedConfigBuilderBase<B extends Mqtt5ClientAdvan
     @CheckReturnValue
     @NotNull B validatePayloadFormat(boolean validatePayloadFormat);
 
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isZeroCopyPayload() the payload of incoming publishes is not
+     * copied}.
+     *
+     * @param zeroCopyPayload whether the payload of incoming publishes is not copied.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B zeroCopyPayload(boolean zeroCopyPayload);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isDirectBufferPayload() the payload of incoming publishes is
+     * decoded into a direct buffer}.
+     *
+     * @param directBufferPayload whether the payload of incoming publishes is decoded into a direct buffer.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B directBufferPayload(boolean directBufferPayload);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isDirectBufferAuth() the authentication data of incoming auth
+     * messages is decoded into a direct buffer}.
+     *
+     * @param directBufferAuth whether the authentication data of incoming auth messages is decoded into a direct
+     *                         buffer.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B directBufferAuth(boolean directBufferAuth);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isDirectBufferCorrelationData() the correlation data of incoming
+     * publishes is decoded into a direct buffer}.
+     *
+     * @param directBufferCorrelationData whether the correlation data of incoming publishes is decoded into a direct
+     *                                    buffer.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B directBufferCorrelationData(boolean directBufferCorrelationData);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getMaximumConcurrentPublishFlowables() maximum amount of publish
+     * flowables that are merged concurrently}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param maximumConcurrentPublishFlowables the maximum amount of publish flowables that are merged concurrently.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B maximumConcurrentPublishFlowables(int maximumConcurrentPublishFlowables);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getMaximumQueuedPublishFlowables() maximum amount of publish flowables
+     * that are queued until they are merged}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param maximumQueuedPublishFlowables the maximum amount of publish flowables that are queued until they are
+     *                                      merged.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B maximumQueuedPublishFlowables(int maximumQueuedPublishFlowables);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isFairPublishFlowables() the publish flowables are merged
+     * fairly}.
+     *
+     * @param fairPublishFlowables whether the publish flowables are merged fairly.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B fairPublishFlowables(boolean fairPublishFlowables);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isQos2CompleteResult() the result for a publish with QoS level 2
+     * contains the complete flow}.
+     *
+     * @param qos2CompleteResult whether the result for a publish with QoS level 2 contains the complete flow.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B qos2CompleteResult(boolean qos2CompleteResult);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getTopicMatchCacheSize() maximum amount of topics for which the
+     * matching subscriptions of incoming publishes are cached}.
+     * <p>
+     * It must not be negative. <code>0</code> disables the cache.
+     *
+     * @param topicMatchCacheSize the maximum amount of topics for which the matching subscriptions are cached.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B topicMatchCacheSize(int topicMatchCacheSize);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isIndexExactTopicFilters() subscriptions to topic filters without
+     * wildcards are indexed by their exact topic}.
+     *
+     * @param indexExactTopicFilters whether subscriptions to topic filters without wildcards are indexed by their exact
+     *                               topic.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B indexExactTopicFilters(boolean indexExactTopicFilters);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getFireAndForgetFailureListener() listener that is notified about
+     * failed fire-and-forget Publish messages}.
+     *
+     * @param fireAndForgetFailureListener the listener for failed fire-and-forget Publish messages or <code>null</code>
+     *                                     to ignore failures.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B fireAndForgetFailureListener(@Nullable Mqtt5FireAndForgetFailureListener fireAndForgetFailureListener);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getOutgoingSessionStore() store for outgoing Publish messages
+     * with QoS 1 or 2 that have not been completely acknowledged yet}.
+     * <p>
+     * A store must only be used by one client. Only Publish messages that were already sent are stored, queued Publish
+     * messages are still lost on a restart of the application.
+     *
+     * @param outgoingSessionStore the store for outgoing Publish messages or <code>null</code> to only keep them in
+     *                             memory.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B outgoingSessionStore(@Nullable Mqtt5OutgoingSessionStore outgoingSessionStore);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getIncomingQos2Store() store for the packet identifiers of
+     * incoming Publish messages with QoS 2 that have been received but not released yet}.
+     * <p>
+     * A store must only be used by one client.
+     *
+     * @param incomingQos2Store the store for incoming QoS 2 packet identifiers or <code>null</code> to only keep them
+     *                          in memory.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B incomingQos2Store(@Nullable Mqtt5IncomingQos2Store incomingQos2Store);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getOfflineBuffer() configuration of the offline buffer}.
+     *
+     * @param offlineBuffer the configuration of the offline buffer or <code>null</code> to not bound the offline
+     *                      buffer.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B offlineBuffer(@Nullable Mqtt5OfflineBufferConfig offlineBuffer);
+
+    /**
+     * Fluent counterpart of {@link #offlineBuffer(Mqtt5OfflineBufferConfig)}.
+     * <p>
+     * Calling {@link Mqtt5OfflineBufferConfigBuilder.Nested#applyOfflineBuffer()} on the returned builder has the
+     * effect of extending the current configuration of the offline buffer.
+     *
+     * @return the fluent builder for the configuration of the offline buffer.
+     * @see #offlineBuffer(Mqtt5OfflineBufferConfig)
+     * @since 1.3
+     */
+    @CheckReturnValue
+    Mqtt5OfflineBufferConfigBuilder.@NotNull Nested<? extends B> offlineBuffer();
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getPublishRateLimit() rate limit for outgoing Publish
+     * messages}.
+     *
+     * @param publishRateLimit the rate limit for outgoing Publish messages or <code>null</code> to not limit the rate.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B publishRateLimit(@Nullable Mqtt5PublishRateLimit publishRateLimit);
+
+    /**
+     * Fluent counterpart of {@link #publishRateLimit(Mqtt5PublishRateLimit)}.
+     * <p>
+     * Calling {@link Mqtt5PublishRateLimitBuilder.Nested#applyPublishRateLimit()} on the returned builder has the
+     * effect of extending the current rate limit for outgoing Publish messages.
+     *
+     * @return the fluent builder for the rate limit for outgoing Publish messages.
+     * @see #publishRateLimit(Mqtt5PublishRateLimit)
+     * @since 1.3
+     */
+    @CheckReturnValue
+    Mqtt5PublishRateLimitBuilder.@NotNull Nested<? extends B> publishRateLimit();
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getFlushCoalescing() flush coalescing configuration for
+     * outgoing Publish messages}.
+     *
+     * @param flushCoalescing the flush coalescing configuration or <code>null</code> to flush Publish messages
+     *                        immediately.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B flushCoalescing(@Nullable Mqtt5FlushCoalescingConfig flushCoalescing);
+
+    /**
+     * Fluent counterpart of {@link #flushCoalescing(Mqtt5FlushCoalescingConfig)}.
+     * <p>
+     * Calling {@link Mqtt5FlushCoalescingConfigBuilder.Nested#applyFlushCoalescing()} on the returned builder has the
+     * effect of extending the current flush coalescing configuration.
+     *
+     * @return the fluent builder for the flush coalescing configuration.
+     * @see #flushCoalescing(Mqtt5FlushCoalescingConfig)
+     * @since 1.3
+     */
+    @CheckReturnValue
+    Mqtt5FlushCoalescingConfigBuilder.@NotNull Nested<? extends B> flushCoalescing();
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getAckFlushCoalescing() flush coalescing configuration for
+     * outgoing acknowledgements}.
+     *
+     * @param ackFlushCoalescing the flush coalescing configuration for acknowledgements or <code>null</code> to use the
+     *                           default.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B ackFlushCoalescing(@Nullable Mqtt5FlushCoalescingConfig ackFlushCoalescing);
+
+    /**
+     * Fluent counterpart of {@link #ackFlushCoalescing(Mqtt5FlushCoalescingConfig)}.
+     * <p>
+     * Calling {@link Mqtt5FlushCoalescingConfigBuilder.Nested#applyFlushCoalescing()} on the returned builder has the
+     * effect of extending the current flush coalescing configuration for acknowledgements.
+     *
+     * @return the fluent builder for the flush coalescing configuration for acknowledgements.
+     * @see #ackFlushCoalescing(Mqtt5FlushCoalescingConfig)
+     * @since 1.3
+     */
+    @CheckReturnValue
+    Mqtt5FlushCoalescingConfigBuilder.@NotNull Nested<? extends B> ackFlushCoalescing();
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isAggregateWrites() small MQTT packets are encoded into shared
+     * buffers}.
+     *
+     * @param aggregateWrites whether small MQTT packets are encoded into shared buffers.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B aggregateWrites(boolean aggregateWrites);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getStreamingPayloadThreshold() packet size above which the payload
+     * of incoming Publish messages is streamed}.
+     * <p>
+     * It must not be negative. <code>0</code> disables it.
+     *
+     * @param streamingPayloadThreshold the packet size above which the payload of incoming Publish messages is
+     *                                  streamed.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B streamingPayloadThreshold(int streamingPayloadThreshold);
+
     /**
      * Sets the optional {@link Mqtt5ClientInterceptors collection of interceptors of MQTT messages}.
      *
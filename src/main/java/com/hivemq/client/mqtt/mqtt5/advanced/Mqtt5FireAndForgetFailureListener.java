@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientConfig;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener for failures of fire-and-forget Publish messages.
+ * <p>
+ * Fire-and-forget Publish messages do not produce a result per message. Instead, all failures that occur while the
+ * client writes a series of Publish messages are aggregated and reported at once.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@FunctionalInterface
+public interface Mqtt5FireAndForgetFailureListener {
+
+    /**
+     * Called when at least one fire-and-forget Publish message failed since the last invocation.
+     * <p>
+     * This method is called on the Netty event loop of the client, so it must not block.
+     *
+     * @param clientConfig the config of the client.
+     * @param failedCount  the amount of fire-and-forget Publish messages that failed since the last invocation.
+     * @param lastCause    the cause of the last failure.
+     */
+    void onFailures(@NotNull Mqtt5ClientConfig clientConfig, int failedCount, @NotNull Throwable lastCause);
+}
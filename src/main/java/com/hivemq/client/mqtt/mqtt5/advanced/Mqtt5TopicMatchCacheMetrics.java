@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+import com.hivemq.client.annotations.DoNotImplement;
+
+/**
+ * Metrics of the {@link Mqtt5ClientAdvancedConfig#getTopicMatchCacheSize() topic match cache} of a client.
+ * <p>
+ * The values are updated by the client's event loop, so they are only eventually consistent with each other.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface Mqtt5TopicMatchCacheMetrics {
+
+    /**
+     * @return the total count of incoming Publish messages whose matching subscriptions were found in the cache.
+     */
+    long getHits();
+
+    /**
+     * @return the total count of incoming Publish messages whose matching subscriptions were not found in the cache.
+     */
+    long getMisses();
+}
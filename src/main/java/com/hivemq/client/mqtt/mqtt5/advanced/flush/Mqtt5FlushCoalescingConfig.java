@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.flush;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.advanced.flush.MqttFlushCoalescingConfigImplBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the flush coalescing for outgoing Publish messages of a client.
+ * <p>
+ * Without flush coalescing, outgoing Publish messages are flushed to the network as soon as they are written, so a
+ * steady but light stream of Publish messages causes one flush (system call and TCP segment) per message. With flush
+ * coalescing, the flush is deferred until one of the following bounds is reached:
+ * <ul>
+ *   <li>the {@link #getMaximumMessages() maximum count of unflushed Publish messages},</li>
+ *   <li>the {@link #getMaximumBytes() maximum count of unflushed payload bytes} or</li>
+ *   <li>the {@link #getMaximumDelay(TimeUnit) maximum delay} since the first unflushed Publish message was
+ *       written.</li>
+ * </ul>
+ * Publish messages are flushed immediately if no more Publish messages can be written, because the send maximum is
+ * reached or the channel is not writable, so the latency added by flush coalescing is bounded by the maximum delay.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface Mqtt5FlushCoalescingConfig {
+
+    /**
+     * The default maximum count of unflushed Publish messages.
+     */
+    int DEFAULT_MAXIMUM_MESSAGES = 64;
+    /**
+     * The default maximum count of unflushed payload bytes.
+     */
+    long DEFAULT_MAXIMUM_BYTES = 64 * 1024;
+    /**
+     * The default maximum delay in microseconds.
+     */
+    long DEFAULT_MAXIMUM_DELAY_MICROS = 200;
+
+    /**
+     * Creates a builder for a flush coalescing configuration.
+     *
+     * @return the created builder for a flush coalescing configuration.
+     */
+    static @NotNull Mqtt5FlushCoalescingConfigBuilder builder() {
+        return new MqttFlushCoalescingConfigImplBuilder.Default();
+    }
+
+    /**
+     * @return the maximum count of unflushed Publish messages.
+     */
+    int getMaximumMessages();
+
+    /**
+     * @return the maximum count of unflushed payload bytes.
+     */
+    long getMaximumBytes();
+
+    /**
+     * Returns the maximum delay since the first unflushed Publish message was written.
+     *
+     * @param timeUnit the time unit of the returned maximum delay.
+     * @return the maximum delay in the given time unit.
+     */
+    long getMaximumDelay(@NotNull TimeUnit timeUnit);
+
+    /**
+     * Creates a builder for extending this flush coalescing configuration.
+     *
+     * @return the created builder.
+     */
+    @NotNull Mqtt5FlushCoalescingConfigBuilder extend();
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.flush;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder base for a {@link Mqtt5FlushCoalescingConfig}.
+ *
+ * @param <B> the type of the builder.
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface Mqtt5FlushCoalescingConfigBuilderBase<B extends Mqtt5FlushCoalescingConfigBuilderBase<B>> {
+
+    /**
+     * Sets the {@link Mqtt5FlushCoalescingConfig#getMaximumMessages() maximum count of unflushed Publish messages}.
+     * <p>
+     * It must be positive.
+     *
+     * @param maximumMessages the maximum count of unflushed Publish messages.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B maximumMessages(int maximumMessages);
+
+    /**
+     * Sets the {@link Mqtt5FlushCoalescingConfig#getMaximumBytes() maximum count of unflushed payload bytes}.
+     * <p>
+     * It must be positive.
+     *
+     * @param maximumBytes the maximum count of unflushed payload bytes.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B maximumBytes(long maximumBytes);
+
+    /**
+     * Sets the {@link Mqtt5FlushCoalescingConfig#getMaximumDelay(TimeUnit) maximum delay} since the first unflushed
+     * Publish message was written.
+     * <p>
+     * It must be positive.
+     *
+     * @param maximumDelay the maximum delay.
+     * @param timeUnit     the time unit of the given maximum delay.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B maximumDelay(long maximumDelay, @NotNull TimeUnit timeUnit);
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.offline;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.advanced.offline.MqttOfflineBufferConfigImplBuilder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Configuration of the offline buffer of a client.
+ * <p>
+ * Publish messages that are published while the client is not connected (for example while it is reconnecting) are
+ * held in the offline buffer and sent after the reconnect. The offline buffer is bounded by a maximum count of
+ * messages and a maximum count of payload bytes. If one of the bounds would be exceeded, messages are dropped
+ * according to the {@link #getEvictionPolicy() eviction policy}. The Publish result of a dropped message completes
+ * exceptionally with a {@link com.hivemq.client.mqtt.exceptions.MqttClientStateException MqttClientStateException},
+ * the Publish result of an expired message with a
+ * {@link com.hivemq.client.mqtt.exceptions.MqttMessageExpiredException MqttMessageExpiredException}.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface Mqtt5OfflineBufferConfig {
+
+    /**
+     * The default maximum count of Publish messages in the offline buffer.
+     */
+    int DEFAULT_MAXIMUM_MESSAGES = 10_000;
+    /**
+     * The default maximum count of payload bytes of the Publish messages in the offline buffer.
+     */
+    long DEFAULT_MAXIMUM_BYTES = 64 * 1024 * 1024;
+    /**
+     * The default eviction policy of the offline buffer.
+     */
+    @NotNull Mqtt5OfflineBufferEvictionPolicy DEFAULT_EVICTION_POLICY = Mqtt5OfflineBufferEvictionPolicy.DROP_OLDEST;
+
+    /**
+     * Creates a builder for an offline buffer configuration.
+     *
+     * @return the created builder for an offline buffer configuration.
+     */
+    static @NotNull Mqtt5OfflineBufferConfigBuilder builder() {
+        return new MqttOfflineBufferConfigImplBuilder.Default();
+    }
+
+    /**
+     * @return the maximum count of Publish messages in the offline buffer.
+     */
+    int getMaximumMessages();
+
+    /**
+     * @return the maximum count of payload bytes of the Publish messages in the offline buffer.
+     */
+    long getMaximumBytes();
+
+    /**
+     * @return the policy which Publish messages are dropped if the offline buffer is full.
+     */
+    @NotNull Mqtt5OfflineBufferEvictionPolicy getEvictionPolicy();
+
+    /**
+     * Creates a builder for extending this offline buffer configuration.
+     *
+     * @return the created builder.
+     */
+    @NotNull Mqtt5OfflineBufferConfigBuilder extend();
+}
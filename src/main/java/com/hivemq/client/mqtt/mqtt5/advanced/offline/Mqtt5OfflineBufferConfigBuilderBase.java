@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.offline;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Builder base for a {@link Mqtt5OfflineBufferConfig}.
+ *
+ * @param <B> the type of the builder.
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface Mqtt5OfflineBufferConfigBuilderBase<B extends Mqtt5OfflineBufferConfigBuilderBase<B>> {
+
+    /**
+     * Sets the {@link Mqtt5OfflineBufferConfig#getMaximumMessages() maximum count of Publish messages in the offline
+     * buffer}.
+     * <p>
+     * It must be positive.
+     *
+     * @param maximumMessages the maximum count of Publish messages.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B maximumMessages(int maximumMessages);
+
+    /**
+     * Sets the {@link Mqtt5OfflineBufferConfig#getMaximumBytes() maximum count of payload bytes of the Publish
+     * messages in the offline buffer}.
+     * <p>
+     * It must be positive.
+     *
+     * @param maximumBytes the maximum count of payload bytes.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B maximumBytes(long maximumBytes);
+
+    /**
+     * Sets the {@link Mqtt5OfflineBufferConfig#getEvictionPolicy() eviction policy}.
+     *
+     * @param evictionPolicy the eviction policy.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B evictionPolicy(@NotNull Mqtt5OfflineBufferEvictionPolicy evictionPolicy);
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.offline;
+
+/**
+ * Policy which Publish messages are dropped if the {@link Mqtt5OfflineBufferConfig offline buffer} is full.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+public enum Mqtt5OfflineBufferEvictionPolicy {
+
+    /**
+     * The oldest buffered Publish message is dropped to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * The new Publish message is dropped, the buffered Publish messages are kept.
+     */
+    DROP_NEWEST,
+    /**
+     * The oldest buffered Publish message with QoS 0 is dropped to make room for the new one. If no Publish message
+     * with QoS 0 is buffered, the oldest buffered Publish message is dropped.
+     */
+    DROP_QOS_0_FIRST,
+    /**
+     * Buffered Publish messages whose message expiry interval has elapsed are dropped, also when they are sent after
+     * the reconnect. If no buffered Publish message is expired, the oldest buffered Publish message is dropped.
+     *
+     * @see com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#getMessageExpiryInterval()
+     */
+    EXPIRE
+}
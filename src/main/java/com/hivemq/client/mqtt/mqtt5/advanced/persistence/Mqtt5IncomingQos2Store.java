@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.persistence;
+
+import com.hivemq.client.internal.mqtt.advanced.persistence.MqttMappedIncomingQos2Store;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+
+/**
+ * Store for the packet identifiers of incoming Publish messages with QoS 2 for which a PubRec message was sent but no
+ * PubRel message was received yet.
+ * <p>
+ * The store allows to keep the exactly once delivery guarantee after a restart of the application if the session is
+ * resumed: a Publish message that is resent by the server for a stored packet identifier is not delivered again. A
+ * store must only be used by one client.
+ * <p>
+ * All methods except {@link #load()} are called on the thread of the client's event loop, so they must not block. A
+ * packet identifier is stored before the PubRec message is sent. Durable writes should be batched and only be
+ * completed on {@link #flush()}. The methods must not throw exceptions.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+public interface Mqtt5IncomingQos2Store {
+
+    /**
+     * Creates a store that keeps the packet identifiers as a bitmap in the given memory-mapped file.
+     * <p>
+     * A change only sets or clears a single bit in the mapped file, so it survives a crash of the application
+     * immediately. Flushes are forced to the disk in the background.
+     *
+     * @param file the file of the bitmap, is created if it does not exist.
+     * @return the created store.
+     */
+    static @NotNull Mqtt5IncomingQos2Store mappedFile(final @NotNull File file) {
+        return new MqttMappedIncomingQos2Store(file);
+    }
+
+    /**
+     * Loads the stored packet identifiers.
+     * <p>
+     * This method is called once on a background thread when the client's session is resumed for the first time. No
+     * other method is called before it has returned.
+     *
+     * @return the stored packet identifiers.
+     */
+    int @NotNull [] load();
+
+    /**
+     * Stores the packet identifier of a Publish message with QoS 2 for which a PubRec message is sent.
+     *
+     * @param packetIdentifier the packet identifier.
+     */
+    void store(int packetIdentifier);
+
+    /**
+     * Removes the packet identifier of a Publish message with QoS 2 for which a PubRel message was received.
+     *
+     * @param packetIdentifier the packet identifier.
+     */
+    void remove(int packetIdentifier);
+
+    /**
+     * Removes all packet identifiers, because the session ended or was not present.
+     */
+    void clear();
+
+    /**
+     * Makes all previous changes durable.
+     * <p>
+     * This method is called once per batch of changes, so implementations can combine the writes of a batch to a single
+     * sync to the disk.
+     */
+    void flush();
+}
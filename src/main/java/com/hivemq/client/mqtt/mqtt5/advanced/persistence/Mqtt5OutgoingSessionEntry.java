@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.persistence;
+
+import com.hivemq.client.internal.mqtt.advanced.persistence.MqttOutgoingSessionEntry;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Entry of a {@link Mqtt5OutgoingSessionStore}.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+public interface Mqtt5OutgoingSessionEntry {
+
+    /**
+     * Creates an entry.
+     *
+     * @param packetIdentifier the packet identifier the Publish message was sent with.
+     * @param publish          the Publish message with QoS 1 or 2.
+     * @param pubRelSent       whether the PubRel message was already sent for the Publish message.
+     * @return the created entry.
+     */
+    static @NotNull Mqtt5OutgoingSessionEntry of(
+            final int packetIdentifier, final @NotNull Mqtt5Publish publish, final boolean pubRelSent) {
+
+        return new MqttOutgoingSessionEntry(packetIdentifier, publish, pubRelSent);
+    }
+
+    /**
+     * @return the packet identifier the Publish message was sent with.
+     */
+    int getPacketIdentifier();
+
+    /**
+     * @return the Publish message with QoS 1 or 2.
+     */
+    @NotNull Mqtt5Publish getPublish();
+
+    /**
+     * @return whether the PubRel message was already sent for the Publish message, only possible for QoS 2.
+     */
+    boolean isPubRelSent();
+}
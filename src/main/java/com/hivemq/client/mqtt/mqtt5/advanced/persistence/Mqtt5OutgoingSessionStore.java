@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.persistence;
+
+import com.hivemq.client.internal.mqtt.advanced.persistence.MqttSegmentLogOutgoingSessionStore;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Store for the outgoing Publish messages with QoS 1 or 2 that have been sent but not completely acknowledged yet.
+ * <p>
+ * The store allows to resend these Publish (or PubRel) messages after a restart of the application if the session is
+ * resumed. A store must only be used by one client.
+ * <p>
+ * Only in-flight Publish messages are durable: a Publish message is stored when it is sent with a packet identifier.
+ * Publish messages that are still queued, buffered while the client is disconnected or held back by the publish rate
+ * limit are not stored, so they are lost on a restart of the application.
+ * <p>
+ * All methods except {@link #load()} are called on the thread of the client's event loop, so they must not block.
+ * Durable writes should be batched and only be completed on {@link #flush()}. The methods must not throw exceptions.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+public interface Mqtt5OutgoingSessionStore {
+
+    /**
+     * The default size of a segment of the {@link #segmentLog(File) segment log store}.
+     */
+    int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * Creates a store that appends the state changes to memory-mapped segment files in the given directory.
+     * <p>
+     * Segments are compacted when they are full by starting a new segment with a snapshot of the current state.
+     * Flushes are batched and forced to the disk in the background.
+     *
+     * @param directory the directory of the segment files, is created if it does not exist.
+     * @return the created store.
+     */
+    static @NotNull Mqtt5OutgoingSessionStore segmentLog(final @NotNull File directory) {
+        return segmentLog(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates a store that appends the state changes to memory-mapped segment files in the given directory.
+     *
+     * @param directory   the directory of the segment files, is created if it does not exist.
+     * @param segmentSize the size of a segment in bytes.
+     * @return the created store.
+     * @see #segmentLog(File)
+     */
+    static @NotNull Mqtt5OutgoingSessionStore segmentLog(final @NotNull File directory, final int segmentSize) {
+        return new MqttSegmentLogOutgoingSessionStore(directory, segmentSize);
+    }
+
+    /**
+     * Loads the stored entries.
+     * <p>
+     * This method is called once on a background thread when the client's session is started for the first time. No
+     * other method is called before it has returned.
+     *
+     * @return the stored entries in the order the Publish messages were sent.
+     */
+    @NotNull List<@NotNull Mqtt5OutgoingSessionEntry> load();
+
+    /**
+     * Stores a Publish message that is sent with the given packet identifier.
+     *
+     * @param packetIdentifier the packet identifier of the Publish message.
+     * @param publish          the Publish message with QoS 1 or 2.
+     */
+    void storePublish(int packetIdentifier, @NotNull Mqtt5Publish publish);
+
+    /**
+     * Marks that the PubRel message was sent for the Publish message with the given packet identifier.
+     *
+     * @param packetIdentifier the packet identifier of the Publish message with QoS 2.
+     */
+    void storePubRel(int packetIdentifier);
+
+    /**
+     * Removes the entry with the given packet identifier, because the Publish message was acknowledged (PubAck or
+     * PubComp) or failed.
+     *
+     * @param packetIdentifier the packet identifier of the entry.
+     */
+    void remove(int packetIdentifier);
+
+    /**
+     * Makes all previous changes durable.
+     * <p>
+     * This method is called once per batch of changes, so implementations can combine the writes of a batch to a single
+     * sync to the disk.
+     */
+    void flush();
+}
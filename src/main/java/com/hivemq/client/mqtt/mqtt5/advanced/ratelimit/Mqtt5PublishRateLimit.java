@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.ratelimit;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.advanced.ratelimit.MqttPublishRateLimitImplBuilder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Rate limit for outgoing Publish messages of a client.
+ * <p>
+ * The rate limit is enforced with token buckets for the count of messages and for the payload bytes. A bucket is
+ * refilled with the configured rate per second and holds at most the configured burst. Publish messages are only sent
+ * while tokens are available, otherwise they stay queued and are sent as soon as the buckets are refilled. The
+ * application threads are never blocked, and Publish flowables are not requested more messages while their messages
+ * are held back.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface Mqtt5PublishRateLimit {
+
+    /**
+     * Value of a rate that is not limited.
+     */
+    long UNLIMITED = 0;
+
+    /**
+     * Creates a builder for a rate limit for outgoing Publish messages.
+     *
+     * @return the created builder for a rate limit.
+     */
+    static @NotNull Mqtt5PublishRateLimitBuilder builder() {
+        return new MqttPublishRateLimitImplBuilder.Default();
+    }
+
+    /**
+     * @return the maximum count of Publish messages per second or {@link #UNLIMITED}.
+     */
+    long getMessagesPerSecond();
+
+    /**
+     * @return the maximum count of Publish messages that can be sent at once after an idle period.
+     */
+    long getMessageBurst();
+
+    /**
+     * @return the maximum count of payload bytes per second or {@link #UNLIMITED}.
+     */
+    long getBytesPerSecond();
+
+    /**
+     * @return the maximum count of payload bytes that can be sent at once after an idle period.
+     */
+    long getByteBurst();
+
+    /**
+     * Creates a builder for extending this rate limit.
+     *
+     * @return the created builder.
+     */
+    @NotNull Mqtt5PublishRateLimitBuilder extend();
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.ratelimit;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Builder base for a {@link Mqtt5PublishRateLimit}.
+ *
+ * @param <B> the type of the builder.
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface Mqtt5PublishRateLimitBuilderBase<B extends Mqtt5PublishRateLimitBuilderBase<B>> {
+
+    /**
+     * Sets the {@link Mqtt5PublishRateLimit#getMessagesPerSecond() maximum count of Publish messages per second}.
+     * <p>
+     * It must be positive or {@link Mqtt5PublishRateLimit#UNLIMITED}. If no burst is set, the burst equals the rate.
+     *
+     * @param messagesPerSecond the maximum count of Publish messages per second.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B messagesPerSecond(long messagesPerSecond);
+
+    /**
+     * Sets the {@link Mqtt5PublishRateLimit#getMessageBurst() maximum count of Publish messages that can be sent at
+     * once}.
+     * <p>
+     * It must be positive.
+     *
+     * @param messageBurst the maximum count of Publish messages that can be sent at once.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B messageBurst(long messageBurst);
+
+    /**
+     * Sets the {@link Mqtt5PublishRateLimit#getBytesPerSecond() maximum count of payload bytes per second}.
+     * <p>
+     * It must be positive or {@link Mqtt5PublishRateLimit#UNLIMITED}. If no burst is set, the burst equals the rate.
+     *
+     * @param bytesPerSecond the maximum count of payload bytes per second.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B bytesPerSecond(long bytesPerSecond);
+
+    /**
+     * Sets the {@link Mqtt5PublishRateLimit#getByteBurst() maximum count of payload bytes that can be sent at once}.
+     * <p>
+     * It must be positive.
+     *
+     * @param byteBurst the maximum count of payload bytes that can be sent at once.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B byteBurst(long byteBurst);
+}
@@ -24,7 +24,9 @@ import com.hivemq.client.mqtt.datatypes.MqttUtf8String;
 import com.hivemq.client.mqtt.mqtt5.datatypes.Mqtt5UserProperties;
 import com.hivemq.client.mqtt.mqtt5.message.Mqtt5Message;
 import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import io.reactivex.Flowable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
 import java.util.Optional;
@@ -44,6 +46,12 @@ public interface Mqtt5Publish extends Mqtt5Message {
      * level should be explicitly specified if special delivery guarantees are needed.
      */
     @NotNull MqttQos DEFAULT_QOS = MqttQos.AT_MOST_ONCE;
+    /**
+     * Default {@link Mqtt5PublishPriority priority} of a Publish message.
+     *
+     * @since 1.3
+     */
+    @NotNull Mqtt5PublishPriority DEFAULT_PRIORITY = Mqtt5PublishPriority.NORMAL;
 
     /**
      * Creates a builder for a Publish message.
@@ -69,6 +77,26 @@ public interface Mqtt5Publish extends Mqtt5Message {
      */
     byte @NotNull [] getPayloadAsBytes();
 
+    /**
+     * Returns the optional stream of the payload of this Publish message.
+     * <p>
+     * If a {@link com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#getStreamingPayloadThreshold()
+     * streaming payload threshold} is configured, an incoming Publish message that exceeds the threshold is emitted as
+     * soon as its header has been received. It then has no {@link #getPayload() payload}, instead the payload is
+     * emitted by this stream in chunks while it is received.
+     * <p>
+     * The stream applies backpressure to the connection: reading from the connection is paused while received chunks
+     * are not requested. So the stream must be subscribed and consumed or cancelled, otherwise no further messages are
+     * received. The stream can only be subscribed once, also if the Publish message is emitted to multiple flows. If
+     * the connection is closed before the payload was received completely, the stream emits an error.
+     * <p>
+     * A QoS 1 or 2 Publish message is only acknowledged after its payload was received completely.
+     *
+     * @return the optional stream of the payload of this Publish message.
+     * @since 1.3
+     */
+    @NotNull Optional<Flowable<ByteBuffer>> getPayloadStream();
+
     /**
      * @return the QoS of this Publish message.
      */
@@ -118,6 +146,21 @@ public interface Mqtt5Publish extends Mqtt5Message {
      */
     void acknowledge();
 
+    /**
+     * Releases the payload of this Publish message if it references a network buffer.
+     * <p>
+     * If {@link com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#isZeroCopyPayload() zero copy payload}
+     * is enabled, the payload of an incoming Publish message is a view of a pooled network buffer. Every incoming
+     * Publish message must then be released by the application when it no longer accesses the payload, otherwise the
+     * buffer is not returned to the pool. The payload must not be accessed after it was released.
+     * <p>
+     * Calling this method for Publish messages with a copied payload or multiple times has no effect.
+     *
+     * @return whether the payload was released by this call.
+     * @since 1.3
+     */
+    boolean releasePayload();
+
     @Override
     default @NotNull Mqtt5MessageType getType() {
         return Mqtt5MessageType.PUBLISH;
@@ -136,4 +179,36 @@ public interface Mqtt5Publish extends Mqtt5Message {
      * @return the created builder.
      */
     Mqtt5PublishBuilder.@NotNull Complete extend();
+
+    /**
+     * Creates a Publish message with the same properties as this Publish message but a different payload.
+     * <p>
+     * This Publish message is used as a template: its encoded properties are computed only once and reused for every
+     * Publish message created from it. This makes repeatedly sending to the same topic with the same properties
+     * cheaper than building a new Publish message for every payload.
+     *
+     * @param payload the payload of the created Publish message.
+     * @return the created Publish message.
+     * @since 1.3
+     */
+    @NotNull Mqtt5Publish withPayload(byte @Nullable [] payload);
+
+    /**
+     * Creates a Publish message with the same properties as this Publish message but a different payload.
+     * <p>
+     * This Publish message is used as a template, see {@link #withPayload(byte[])}.
+     *
+     * @param payload the payload of the created Publish message.
+     * @return the created Publish message.
+     * @since 1.3
+     */
+    @NotNull Mqtt5Publish withPayload(@Nullable ByteBuffer payload);
+
+    /**
+     * Returns the priority of this Publish message in the client. The priority is not sent to the server.
+     *
+     * @return the priority of this Publish message.
+     * @since 1.3
+     */
+    @NotNull Mqtt5PublishPriority getPriority();
 }
@@ -230,6 +230,16 @@ public interface Mqtt5PublishBuilderBase<C extends Mqtt5PublishBuilderBase.Compl
          */
         @CheckReturnValue
         Mqtt5UserPropertiesBuilder.@NotNull Nested<? extends C> userProperties();
+
+        /**
+         * Sets the {@link Mqtt5Publish#getPriority() priority} of the Publish message in the client.
+         *
+         * @param priority the priority.
+         * @return the builder.
+         * @since 1.3
+         */
+        @CheckReturnValue
+        @NotNull C priority(@NotNull Mqtt5PublishPriority priority);
     }
 
     /**
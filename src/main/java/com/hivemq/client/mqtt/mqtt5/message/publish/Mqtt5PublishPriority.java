@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.message.publish;
+
+/**
+ * Priority of an outgoing {@link Mqtt5Publish Publish message} in the client.
+ * <p>
+ * The priority only affects the order in which the client sends queued Publish messages, it is not sent to the server.
+ * Publish messages with {@link #HIGH} priority are always sent first, Publish messages with {@link #NORMAL} and {@link
+ * #LOW} priority share the remaining capacity with a weight of 4 to 1, so Publish messages with low priority are not
+ * starved. Publish messages with the same priority are sent in the order they were published.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+public enum Mqtt5PublishPriority {
+
+    /**
+     * Priority for control traffic which is sent before any other queued Publish messages.
+     */
+    HIGH,
+    /**
+     * Default priority.
+     */
+    NORMAL,
+    /**
+     * Priority for bulk traffic which is sent with a lower weight than Publish messages with {@link #NORMAL} priority.
+     */
+    LOW
+}
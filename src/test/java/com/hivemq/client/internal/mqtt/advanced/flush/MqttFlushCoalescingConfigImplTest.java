@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.flush;
+
+import com.hivemq.client.mqtt.mqtt5.advanced.flush.Mqtt5FlushCoalescingConfig;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttFlushCoalescingConfigImplTest {
+
+    @Test
+    void equals() {
+        EqualsVerifier.forClass(MqttFlushCoalescingConfigImpl.class).suppress(Warning.STRICT_INHERITANCE).verify();
+    }
+
+    @Test
+    void builder_default() {
+        final Mqtt5FlushCoalescingConfig config = Mqtt5FlushCoalescingConfig.builder().build();
+        assertEquals(MqttFlushCoalescingConfigImpl.DEFAULT, config);
+        assertEquals(Mqtt5FlushCoalescingConfig.DEFAULT_MAXIMUM_MESSAGES, config.getMaximumMessages());
+        assertEquals(Mqtt5FlushCoalescingConfig.DEFAULT_MAXIMUM_BYTES, config.getMaximumBytes());
+        assertEquals(Mqtt5FlushCoalescingConfig.DEFAULT_MAXIMUM_DELAY_MICROS,
+                config.getMaximumDelay(TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    void builder_extend() {
+        final Mqtt5FlushCoalescingConfig config = Mqtt5FlushCoalescingConfig.builder()
+                .maximumMessages(10)
+                .maximumBytes(1024)
+                .maximumDelay(1, TimeUnit.MILLISECONDS)
+                .build();
+        assertEquals(10, config.getMaximumMessages());
+        assertEquals(1024, config.getMaximumBytes());
+        assertEquals(1_000_000, config.getMaximumDelay(TimeUnit.NANOSECONDS));
+        assertEquals(config, config.extend().build());
+        assertEquals(20, config.extend().maximumMessages(20).build().getMaximumMessages());
+    }
+
+    @Test
+    void builder_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5FlushCoalescingConfig.builder().maximumMessages(0));
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5FlushCoalescingConfig.builder().maximumBytes(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> Mqtt5FlushCoalescingConfig.builder().maximumDelay(0, TimeUnit.MICROSECONDS));
+        //noinspection ConstantConditions
+        assertThrows(NullPointerException.class, () -> Mqtt5FlushCoalescingConfig.builder().maximumDelay(1, null));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.offline;
+
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferEvictionPolicy;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttOfflineBufferConfigImplTest {
+
+    @Test
+    void equals() {
+        EqualsVerifier.forClass(MqttOfflineBufferConfigImpl.class).suppress(Warning.STRICT_INHERITANCE).verify();
+    }
+
+    @Test
+    void builder_default() {
+        final Mqtt5OfflineBufferConfig config = Mqtt5OfflineBufferConfig.builder().build();
+        assertEquals(MqttOfflineBufferConfigImpl.DEFAULT, config);
+    }
+
+    @Test
+    void builder_extend() {
+        final Mqtt5OfflineBufferConfig config = Mqtt5OfflineBufferConfig.builder()
+                .maximumMessages(10)
+                .maximumBytes(1024)
+                .evictionPolicy(Mqtt5OfflineBufferEvictionPolicy.EXPIRE)
+                .build();
+        assertEquals(10, config.getMaximumMessages());
+        assertEquals(1024, config.getMaximumBytes());
+        assertEquals(Mqtt5OfflineBufferEvictionPolicy.EXPIRE, config.getEvictionPolicy());
+        assertEquals(config, config.extend().build());
+        assertEquals(20, config.extend().maximumMessages(20).build().getMaximumMessages());
+    }
+
+    @Test
+    void builder_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5OfflineBufferConfig.builder().maximumMessages(0));
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5OfflineBufferConfig.builder().maximumBytes(0));
+        //noinspection ConstantConditions
+        assertThrows(NullPointerException.class, () -> Mqtt5OfflineBufferConfig.builder().evictionPolicy(null));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttMappedIncomingQos2StoreTest {
+
+    @Test
+    void load_empty(final @TempDir @NotNull File directory) {
+        final MqttMappedIncomingQos2Store store = new MqttMappedIncomingQos2Store(new File(directory, "qos2"));
+        assertArrayEquals(new int[0], store.load());
+    }
+
+    @Test
+    void load_afterRestart(final @TempDir @NotNull File directory) {
+        final File file = new File(directory, "qos2");
+        final MqttMappedIncomingQos2Store store = new MqttMappedIncomingQos2Store(file);
+        store.load();
+        store.store(1);
+        store.store(8);
+        store.store(9);
+        store.store(65535);
+        store.remove(8);
+        store.flush();
+
+        assertArrayEquals(new int[]{1, 9, 65535}, new MqttMappedIncomingQos2Store(file).load());
+    }
+
+    @Test
+    void clear(final @TempDir @NotNull File directory) {
+        final File file = new File(directory, "qos2");
+        final MqttMappedIncomingQos2Store store = new MqttMappedIncomingQos2Store(file);
+        store.store(1);
+        store.store(1000);
+        store.clear();
+        store.flush();
+
+        assertArrayEquals(new int[0], new MqttMappedIncomingQos2Store(file).load());
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionEntry;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttSegmentLogOutgoingSessionStoreTest {
+
+    @Test
+    void load_empty(final @TempDir @NotNull File directory) {
+        final MqttSegmentLogOutgoingSessionStore store = new MqttSegmentLogOutgoingSessionStore(directory, 4096);
+        assertEquals(0, store.load().size());
+    }
+
+    @Test
+    void load_afterRestart(final @TempDir @NotNull File directory) {
+        final Mqtt5Publish publish1 = Mqtt5Publish.builder()
+                .topic("test/1")
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .payload(new byte[]{1, 2, 3})
+                .retain(true)
+                .messageExpiryInterval(10)
+                .payloadFormatIndicator(Mqtt5PayloadFormatIndicator.UTF_8)
+                .contentType("type")
+                .responseTopic("response")
+                .correlationData(new byte[]{4, 5})
+                .userProperties()
+                .add("name", "value")
+                .applyUserProperties()
+                .build();
+        final Mqtt5Publish publish2 = Mqtt5Publish.builder().topic("test/2").qos(MqttQos.EXACTLY_ONCE).build();
+        final Mqtt5Publish publish3 = Mqtt5Publish.builder().topic("test/3").qos(MqttQos.EXACTLY_ONCE).build();
+
+        final MqttSegmentLogOutgoingSessionStore store = new MqttSegmentLogOutgoingSessionStore(directory, 4096);
+        store.load();
+        store.storePublish(3, publish1);
+        store.storePublish(1, publish2);
+        store.storePublish(2, publish3);
+        store.storePubRel(1);
+        store.remove(2);
+        store.flush();
+
+        final List<Mqtt5OutgoingSessionEntry> entries =
+                new MqttSegmentLogOutgoingSessionStore(directory, 4096).load();
+        assertEquals(2, entries.size());
+        assertEquals(new MqttOutgoingSessionEntry(3, publish1, false), entries.get(0));
+        assertEquals(new MqttOutgoingSessionEntry(1, publish2, true), entries.get(1));
+    }
+
+    @Test
+    void load_afterCompaction(final @TempDir @NotNull File directory) {
+        final MqttSegmentLogOutgoingSessionStore store = new MqttSegmentLogOutgoingSessionStore(directory, 4096);
+        store.load();
+        final List<Mqtt5OutgoingSessionEntry> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final int packetIdentifier = (i % 10) + 1;
+            final Mqtt5Publish publish = Mqtt5Publish.builder()
+                    .topic("test/" + i)
+                    .qos(MqttQos.AT_LEAST_ONCE)
+                    .payload(new byte[500])
+                    .build();
+            if (i >= 10) {
+                store.remove(packetIdentifier);
+            }
+            store.storePublish(packetIdentifier, publish);
+            if (i >= 90) {
+                expected.add(new MqttOutgoingSessionEntry(packetIdentifier, publish, false));
+            }
+        }
+        store.flush();
+
+        assertEquals(expected, new MqttSegmentLogOutgoingSessionStore(directory, 4096).load());
+    }
+
+    @Test
+    void load_crashBeforeRetiredSegmentDeleted_removedEntryNotResurrected(final @TempDir @NotNull File directory)
+            throws IOException, InterruptedException {
+
+        final Mqtt5Publish publish1 = Mqtt5Publish.builder().topic("test/1").qos(MqttQos.AT_LEAST_ONCE).build();
+        final Mqtt5Publish publish2 = Mqtt5Publish.builder()
+                .topic("test/2")
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .payload(new byte[5000])
+                .build();
+
+        final MqttSegmentLogOutgoingSessionStore store = new MqttSegmentLogOutgoingSessionStore(directory, 4096);
+        store.load();
+        store.storePublish(1, publish1);
+        store.flush();
+        awaitPersistence();
+        final File retiredFile = new File(directory, "outgoing-0.segment");
+        final byte[] retiredSegment = Files.readAllBytes(retiredFile.toPath());
+
+        // the remove record is not forced before the segment is retired by the snapshot of the next segment
+        store.remove(1);
+        store.storePublish(2, publish2);
+        store.flush();
+        awaitPersistence();
+        assertFalse(retiredFile.exists());
+
+        // crash after the snapshot of the next segment was forced, but before the retired segment was deleted
+        Files.write(retiredFile.toPath(), retiredSegment);
+
+        assertEquals(Collections.singletonList(new MqttOutgoingSessionEntry(2, publish2, false)),
+                new MqttSegmentLogOutgoingSessionStore(directory, 4096).load());
+        awaitPersistence();
+        assertFalse(retiredFile.exists());
+    }
+
+    @Test
+    void load_tornSnapshot_previousSegmentLoaded(final @TempDir @NotNull File directory)
+            throws IOException, InterruptedException {
+
+        final Mqtt5Publish publish = Mqtt5Publish.builder()
+                .topic("test")
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .payload(new byte[5000])
+                .build();
+
+        final MqttSegmentLogOutgoingSessionStore store = new MqttSegmentLogOutgoingSessionStore(directory, 4096);
+        store.load();
+        store.storePublish(1, publish);
+        store.flush();
+        awaitPersistence();
+        final File[] files = directory.listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+
+        // crash while the snapshot of the next segment was written, only its first bytes reached the disk
+        final byte[] segment = Files.readAllBytes(files[0].toPath());
+        final byte[] tornSegment = new byte[segment.length];
+        System.arraycopy(segment, 0, tornSegment, 0, 1000);
+        Files.write(new File(directory, "outgoing-100.segment").toPath(), tornSegment);
+
+        assertEquals(Collections.singletonList(new MqttOutgoingSessionEntry(1, publish, false)),
+                new MqttSegmentLogOutgoingSessionStore(directory, 4096).load());
+        awaitPersistence();
+        final File[] filesAfterLoad = directory.listFiles();
+        assertNotNull(filesAfterLoad);
+        assertEquals(Collections.singletonList("outgoing-101.segment"),
+                Arrays.stream(filesAfterLoad).map(File::getName).collect(Collectors.toList()));
+    }
+
+    private static void awaitPersistence() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        MqttPersistenceExecutor.execute(latch::countDown);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.ratelimit;
+
+import com.hivemq.client.mqtt.mqtt5.advanced.ratelimit.Mqtt5PublishRateLimit;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttPublishRateLimitImplTest {
+
+    @Test
+    void equals() {
+        EqualsVerifier.forClass(MqttPublishRateLimitImpl.class).suppress(Warning.STRICT_INHERITANCE).verify();
+    }
+
+    @Test
+    void builder_default() {
+        final Mqtt5PublishRateLimit rateLimit = Mqtt5PublishRateLimit.builder().build();
+        assertEquals(Mqtt5PublishRateLimit.UNLIMITED, rateLimit.getMessagesPerSecond());
+        assertEquals(0, rateLimit.getMessageBurst());
+        assertEquals(Mqtt5PublishRateLimit.UNLIMITED, rateLimit.getBytesPerSecond());
+        assertEquals(0, rateLimit.getByteBurst());
+    }
+
+    @Test
+    void builder_burstDefaultsToRate() {
+        final Mqtt5PublishRateLimit rateLimit =
+                Mqtt5PublishRateLimit.builder().messagesPerSecond(100).bytesPerSecond(1024).build();
+        assertEquals(100, rateLimit.getMessageBurst());
+        assertEquals(1024, rateLimit.getByteBurst());
+    }
+
+    @Test
+    void builder_extend() {
+        final Mqtt5PublishRateLimit rateLimit = Mqtt5PublishRateLimit.builder()
+                .messagesPerSecond(100)
+                .messageBurst(10)
+                .bytesPerSecond(1024)
+                .byteBurst(4096)
+                .build();
+        assertEquals(100, rateLimit.getMessagesPerSecond());
+        assertEquals(10, rateLimit.getMessageBurst());
+        assertEquals(1024, rateLimit.getBytesPerSecond());
+        assertEquals(4096, rateLimit.getByteBurst());
+        assertEquals(rateLimit, rateLimit.extend().build());
+        assertEquals(200, rateLimit.extend().messagesPerSecond(200).build().getMessagesPerSecond());
+    }
+
+    @Test
+    void builder_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5PublishRateLimit.builder().messagesPerSecond(-1));
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5PublishRateLimit.builder().messageBurst(0));
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5PublishRateLimit.builder().bytesPerSecond(-1));
+        assertThrows(IllegalArgumentException.class, () -> Mqtt5PublishRateLimit.builder().byteBurst(0));
+    }
+}
@@ -102,12 +102,21 @@ public abstract class AbstractMqttDecoderTest {
     }
 
     protected void createChannel() {
-        createChannel(false);
+        createChannel(false, false, false, 0);
     }
 
-    private void createChannel(final boolean validatePayloadFormat) {
-        final MqttClientAdvancedConfig advancedConfig =
-                new MqttClientAdvancedConfigBuilder.Default().validatePayloadFormat(validatePayloadFormat).build();
+    private void createChannel(
+            final boolean validatePayloadFormat,
+            final boolean zeroCopyPayload,
+            final boolean directBufferPayload,
+            final int streamingPayloadThreshold) {
+
+        final MqttClientAdvancedConfig advancedConfig = new MqttClientAdvancedConfigBuilder.Default()
+                .validatePayloadFormat(validatePayloadFormat)
+                .zeroCopyPayload(zeroCopyPayload)
+                .directBufferPayload(directBufferPayload)
+                .streamingPayloadThreshold(streamingPayloadThreshold)
+                .build();
         final MqttClientConfig clientConfig =
                 new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
                         MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT, advancedConfig,
@@ -118,7 +127,19 @@ public abstract class AbstractMqttDecoderTest {
     }
 
     protected void validatePayloadFormat() {
-        createChannel(true);
+        createChannel(true, false, false, 0);
+    }
+
+    protected void zeroCopyPayload() {
+        createChannel(false, true, false, 0);
+    }
+
+    protected void directBufferPayload(final boolean zeroCopyPayload) {
+        createChannel(false, zeroCopyPayload, true, 0);
+    }
+
+    protected void streamingPayloadThreshold(final int streamingPayloadThreshold) {
+        createChannel(false, false, false, streamingPayloadThreshold);
     }
 
     public static @NotNull MqttPingRespDecoder createPingRespDecoder() {
@@ -23,13 +23,18 @@ import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
 import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.reactivex.subscribers.TestSubscriber;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
@@ -449,6 +454,238 @@ class Mqtt5PublishDecoderTest extends AbstractMqtt5DecoderTest {
         decodeNok(encoded, PAYLOAD_FORMAT_INVALID);
     }
 
+    @Test
+    void decode_zeroCopyPayload() {
+        zeroCopyPayload();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                13,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1, 2, 3, 4, 5
+        };
+
+        final MqttStatefulPublish publishInternal = decodeInternal(encoded);
+        final ByteBuf retainedPayload = publishInternal.getRetainedPayload();
+        assertNotNull(retainedPayload);
+        assertEquals(1, retainedPayload.refCnt());
+
+        final MqttPublish publish = publishInternal.stateless();
+        assertTrue(publish.getPayload().isPresent());
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}), publish.getPayload().get());
+
+        publishInternal.releasePayload();
+        assertNull(publishInternal.getRetainedPayload());
+        assertEquals(0, retainedPayload.refCnt());
+        publishInternal.releasePayload();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void decode_directBufferPayload(final boolean zeroCopyPayload) {
+        directBufferPayload(zeroCopyPayload);
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                13,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1, 2, 3, 4, 5
+        };
+
+        final MqttStatefulPublish publishInternal = decodeInternal(encoded);
+        assertEquals(zeroCopyPayload, publishInternal.getRetainedPayload() != null);
+
+        final MqttPublish publish = publishInternal.stateless();
+        assertTrue(publish.getPayload().isPresent());
+        assertTrue(publish.getPayload().get().isDirect());
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}), publish.getPayload().get());
+
+        publishInternal.releasePayload();
+    }
+
+    @Test
+    void decode_streamedPayload() {
+        streamingPayloadThreshold(10);
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                13,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1, 2, 3, 4, 5
+        };
+
+        channel.writeInbound(Unpooled.wrappedBuffer(encoded, 0, 4));
+        assertNull(channel.readInbound());
+        channel.writeInbound(Unpooled.wrappedBuffer(encoded, 4, 6));
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        final MqttPublish publish = publishInternal.stateless();
+        assertEquals("topic", publish.getTopic().toString());
+        assertFalse(publish.getPayload().isPresent());
+        assertTrue(publish.getPayloadStream().isPresent());
+
+        final TestSubscriber<ByteBuffer> subscriber = publish.getPayloadStream().get().test(0);
+        channel.writeInbound(Unpooled.wrappedBuffer(encoded, 10, 3));
+        subscriber.assertNoValues();
+        assertFalse(channel.config().isAutoRead());
+
+        subscriber.request(1);
+        channel.runPendingTasks();
+        subscriber.assertValues(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        assertTrue(channel.config().isAutoRead());
+
+        // the rest of the payload and the next packet are received together
+        channel.writeInbound(Unpooled.wrappedBuffer(Unpooled.wrappedBuffer(encoded, 13, 2),
+                Unpooled.wrappedBuffer(encoded)));
+        subscriber.assertValueCount(1);
+        subscriber.assertNotComplete();
+
+        subscriber.request(1);
+        channel.runPendingTasks();
+        subscriber.assertValues(ByteBuffer.wrap(new byte[]{1, 2, 3}), ByteBuffer.wrap(new byte[]{4, 5}));
+        subscriber.assertComplete();
+
+        final MqttStatefulPublish nextPublishInternal = channel.readInbound();
+        assertNotNull(nextPublishInternal);
+        final TestSubscriber<ByteBuffer> nextSubscriber =
+                nextPublishInternal.stateless().getPayloadStream().get().test();
+        channel.runPendingTasks();
+        nextSubscriber.assertValues(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}));
+        nextSubscriber.assertComplete();
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    void decode_streamedPayload_belowThreshold_notStreamed() {
+        streamingPayloadThreshold(15);
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                13,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1, 2, 3, 4, 5
+        };
+        final MqttPublish publish = decode(encoded);
+        assertFalse(publish.getPayloadStream().isPresent());
+        assertTrue(publish.getPayload().isPresent());
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}), publish.getPayload().get());
+    }
+
+    @Test
+    void decode_streamedPayload_subscribedTwice_error() {
+        streamingPayloadThreshold(10);
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                13,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1, 2, 3, 4, 5
+        };
+        final MqttPublish publish = decode(encoded);
+        assertTrue(publish.getPayloadStream().isPresent());
+
+        publish.getPayloadStream().get().test();
+        publish.getPayloadStream().get().test().assertError(IllegalStateException.class);
+    }
+
+    @Test
+    void decode_streamedPayload_cancelled_restSkipped() {
+        streamingPayloadThreshold(10);
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                13,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1, 2, 3, 4, 5
+        };
+        channel.writeInbound(Unpooled.wrappedBuffer(encoded, 0, 12));
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        final TestSubscriber<ByteBuffer> subscriber = publishInternal.stateless().getPayloadStream().get().test(0);
+        channel.runPendingTasks();
+        assertFalse(channel.config().isAutoRead());
+
+        subscriber.cancel();
+        channel.runPendingTasks();
+        assertTrue(channel.config().isAutoRead());
+
+        channel.writeInbound(Unpooled.wrappedBuffer(Unpooled.wrappedBuffer(encoded, 12, 3),
+                Unpooled.wrappedBuffer(encoded)));
+        subscriber.assertNoValues();
+        assertTrue(channel.config().isAutoRead());
+        assertNotNull(channel.readInbound());
+    }
+
+    @Test
+    void decode_streamedPayload_connectionClosed_error() {
+        streamingPayloadThreshold(10);
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                13,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1, 2
+        };
+        channel.writeInbound(Unpooled.wrappedBuffer(encoded));
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        final TestSubscriber<ByteBuffer> subscriber = publishInternal.stateless().getPayloadStream().get().test();
+
+        channel.close();
+        channel.runPendingTasks();
+        subscriber.assertValues(ByteBuffer.wrap(new byte[]{1, 2}));
+        subscriber.assertError(ConnectionClosedException.class);
+    }
+
     @Test
     void decode_contentType() {
         final byte[] encoded = {
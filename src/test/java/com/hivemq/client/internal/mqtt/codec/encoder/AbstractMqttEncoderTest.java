@@ -35,6 +35,7 @@ public abstract class AbstractMqttEncoderTest {
 
     private final @NotNull MqttMessageEncoders messageEncoders;
     private final boolean connected;
+    private final boolean aggregate;
 
     @SuppressWarnings("NullabilityAnnotations")
     protected EmbeddedChannel channel;
@@ -42,8 +43,15 @@ public abstract class AbstractMqttEncoderTest {
     protected MqttEncoder encoder;
 
     protected AbstractMqttEncoderTest(final @NotNull MqttMessageEncoders messageEncoders, final boolean connected) {
+        this(messageEncoders, connected, false);
+    }
+
+    protected AbstractMqttEncoderTest(
+            final @NotNull MqttMessageEncoders messageEncoders, final boolean connected, final boolean aggregate) {
+
         this.messageEncoders = messageEncoders;
         this.connected = connected;
+        this.aggregate = aggregate;
     }
 
     @BeforeEach
@@ -57,7 +65,7 @@ public abstract class AbstractMqttEncoderTest {
     }
 
     private void createChannel() {
-        channel = new EmbeddedChannel(encoder = new MqttEncoder(messageEncoders));
+        channel = new EmbeddedChannel(encoder = new MqttEncoder(messageEncoders, aggregate));
         if (connected) {
             connected(MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT);
         }
@@ -28,4 +28,10 @@ abstract class AbstractMqtt5EncoderTest extends AbstractMqttEncoderTest {
     AbstractMqtt5EncoderTest(final @NotNull MqttMessageEncoders messageEncoders, final boolean connected) {
         super(messageEncoders, connected);
     }
+
+    AbstractMqtt5EncoderTest(
+            final @NotNull MqttMessageEncoders messageEncoders, final boolean connected, final boolean aggregate) {
+
+        super(messageEncoders, connected, aggregate);
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
+
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoders;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckReasonCode;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class Mqtt5AggregatedWritesTest extends AbstractMqtt5EncoderTest {
+
+    Mqtt5AggregatedWritesTest() {
+        super(new MqttMessageEncoders() {{
+            encoders[Mqtt5MessageType.PUBACK.getCode()] = new Mqtt5PubAckEncoder();
+        }}, true, true);
+    }
+
+    @Test
+    void write_smallPackets_aggregatedUntilFlush() {
+        final ChannelFuture future1 = channel.write(pubAck(1));
+        final ChannelFuture future2 = channel.write(pubAck(2));
+        final ChannelFuture future3 = channel.write(pubAck(3));
+        assertFalse(future1.isDone());
+        assertFalse(future2.isDone());
+        assertFalse(future3.isDone());
+
+        channel.flush();
+        assertTrue(future1.isSuccess());
+        assertTrue(future2.isSuccess());
+        assertTrue(future3.isSuccess());
+        assertOutbound(new byte[]{0x40, 2, 0, 1, 0x40, 2, 0, 2, 0x40, 2, 0, 3});
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void write_largePacket_writesAggregatedPacketsBefore() {
+        final char[] reasonString = new char[2000];
+        Arrays.fill(reasonString, 'r');
+        final MqttPubAck largePubAck = new MqttPubAck(2, Mqtt5PubAckReasonCode.SUCCESS,
+                MqttUtf8StringImpl.of(new String(reasonString)), MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+
+        channel.write(pubAck(1));
+        channel.write(largePubAck);
+        channel.write(pubAck(3));
+        channel.flush();
+
+        assertOutbound(new byte[]{0x40, 2, 0, 1});
+        final ByteBuf large = channel.readOutbound();
+        assertEquals(2011, large.readableBytes());
+        large.release();
+        assertOutbound(new byte[]{0x40, 2, 0, 3});
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void write_chunkFull_writesChunkAndContinuesInNewChunk() {
+        final int count = 2100;
+        for (int i = 1; i <= count; i++) {
+            channel.write(pubAck(i));
+        }
+        channel.flush();
+
+        final ByteBuf first = channel.readOutbound();
+        final ByteBuf second = channel.readOutbound();
+        assertNull(channel.readOutbound());
+        assertEquals(8 * 1024, first.readableBytes());
+        assertEquals((count * 4) - (8 * 1024), second.readableBytes());
+        int packetIdentifier = 1;
+        for (final ByteBuf buf : new ByteBuf[]{first, second}) {
+            while (buf.isReadable()) {
+                assertEquals(0x40, buf.readByte());
+                assertEquals(2, buf.readByte());
+                assertEquals(packetIdentifier++, buf.readUnsignedShort());
+            }
+            buf.release();
+        }
+        assertEquals(count + 1, packetIdentifier);
+    }
+
+    private static @NotNull MqttPubAck pubAck(final int packetIdentifier) {
+        return new MqttPubAck(packetIdentifier, Mqtt5PubAckReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+
+    private void assertOutbound(final byte @NotNull [] expected) {
+        final ByteBuf actual = channel.readOutbound();
+        try {
+            assertEquals(expected.length, actual.readableBytes());
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], actual.readByte());
+            }
+        } finally {
+            actual.release();
+        }
+    }
+}
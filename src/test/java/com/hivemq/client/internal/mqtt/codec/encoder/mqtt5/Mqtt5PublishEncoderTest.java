@@ -37,8 +37,7 @@ import java.nio.ByteBuffer;
 import static com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl.NO_USER_PROPERTIES;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author David Katz
@@ -357,6 +356,45 @@ class Mqtt5PublishEncoderTest extends AbstractMqtt5EncoderWithUserPropertiesTest
         encode(expected, publish, 15, false, DEFAULT_NO_TOPIC_ALIAS, true, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
     }
 
+    @Test
+    void encode_withPayloadFromTemplate() {
+        final byte[] expected = {
+                // fixed header
+                //   type, flags
+                0b0011_0010,
+                //   remaining length
+                23,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   Packet Identifier
+                0, 15,
+                //   properties
+                10,
+                //     payload format indicator
+                0x01, 1,
+                //     correlation data
+                0x09, 0, 5, 1, 2, 3, 4, 5,
+                // payload
+                6, 7, 8
+        };
+
+        final ByteBuffer correlationData = ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5});
+        final MqttPublish template = new MqttPublish(MqttTopicImpl.of("topic"), null, MqttQos.AT_LEAST_ONCE, false,
+                MqttPublish.NO_MESSAGE_EXPIRY, Mqtt5PayloadFormatIndicator.UTF_8, null, null, correlationData,
+                NO_USER_PROPERTIES, null);
+        final MqttPublish publish1 = template.withPayload(new byte[]{6, 7, 8});
+        final MqttPublish publish2 = publish1.withPayload(new byte[]{6, 7, 8});
+        assertSame(template, publish1.getTemplate());
+        assertSame(template, publish2.getTemplate());
+
+        encode(expected, publish1, 15, false, DEFAULT_NO_TOPIC_ALIAS, true, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        final byte[] encodedFixedProperties = template.getEncodedFixedProperties();
+        assertNotNull(encodedFixedProperties);
+        encode(expected, publish2, 15, false, DEFAULT_NO_TOPIC_ALIAS, true, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        assertSame(encodedFixedProperties, template.getEncodedFixedProperties());
+    }
+
     @Test
     void encode_newTopicAlias() {
         final byte[] expected = {
@@ -49,6 +49,21 @@ class MqttTopicIteratorTest {
         assertThrows(NoSuchElementException.class, topicIterator::next);
     }
 
+    @Test
+    void reset() {
+        final MqttTopicIterator topicIterator = MqttTopicIterator.of(MqttTopicFilterImpl.of("test/+/topic/#"));
+        topicIterator.next();
+
+        assertSame(topicIterator, topicIterator.reset(MqttTopicImpl.of("abc/def")));
+
+        assertTrue(topicIterator.hasNext());
+        assertEquals(MqttTopicLevel.of("abc".getBytes(), 0, 3), topicIterator.next());
+        assertTrue(topicIterator.hasNext());
+        assertEquals(MqttTopicLevel.of("def".getBytes(), 0, 3), topicIterator.next());
+        assertFalse(topicIterator.hasNext());
+        assertFalse(topicIterator.hasMultiLevelWildcard());
+    }
+
     @Test
     void of_topicFilter() {
         final MqttTopicIterator topicIterator = MqttTopicIterator.of(MqttTopicFilterImpl.of("test/+/topic/#"));
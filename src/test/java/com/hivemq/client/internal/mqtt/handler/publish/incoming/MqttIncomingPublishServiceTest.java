@@ -0,0 +1,206 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishPayloadStream;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishServiceTest {
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttClientConfig clientConfig;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingPublishFlows incomingPublishFlows;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingQosHandler incomingQosHandler;
+
+    @BeforeEach
+    void setUp() {
+        final MqttClientAdvancedConfig advancedConfig =
+                new MqttClientAdvancedConfigBuilder.Default().zeroCopyPayload(true).build();
+        clientConfig = new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
+                MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT, advancedConfig,
+                MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of());
+        incomingPublishFlows = new MqttIncomingPublishFlows(clientConfig);
+        incomingQosHandler = new MqttIncomingQosHandler(clientConfig, incomingPublishFlows);
+    }
+
+    @Test
+    void onPublish_zeroCopyPayload_validOnApplicationSchedulerUntilReleased() throws InterruptedException {
+        final CountDownLatch consume = new CountDownLatch(1);
+        final TestSubscriber<byte[]> testSubscriber = globalPublishes().observeOn(Schedulers.single()).map(publish -> {
+            assertTrue(consume.await(10, TimeUnit.SECONDS));
+            final byte[] payload = publish.getPayloadAsBytes();
+            assertTrue(publish.releasePayload());
+            assertFalse(publish.releasePayload());
+            return payload;
+        }).test();
+
+        final ByteBuf buffer = Unpooled.buffer(5).writeBytes(new byte[]{1, 2, 3, 4, 5});
+        incomingQosHandler.incomingPublishService.onPublishQos0(statefulPublish(buffer), 10);
+
+        // emitted on the event loop, but the payload is still referenced by the publish queued for the application
+        assertEquals(1, buffer.refCnt());
+        consume.countDown();
+
+        assertEquals(1, testSubscriber.awaitCount(1).values().size());
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, testSubscriber.values().get(0));
+        assertEquals(0, buffer.refCnt());
+        testSubscriber.cancel();
+    }
+
+    @Test
+    void onPublish_zeroCopyPayload_noMatchingFlow_released() {
+        final ByteBuf buffer = Unpooled.buffer(5).writeBytes(new byte[]{1, 2, 3, 4, 5});
+        incomingQosHandler.incomingPublishService.onPublishQos0(statefulPublish(buffer), 10);
+
+        assertEquals(0, buffer.refCnt());
+    }
+
+    @Test
+    void drain_qos1Or2BeforeQos0() {
+        final TestSubscriber<Mqtt5Publish> testSubscriber = globalPublishes().test(0);
+        final MqttIncomingPublishService incomingPublishService = incomingQosHandler.incomingPublishService;
+
+        incomingPublishService.onPublishQos0(
+                statefulPublish("qos0-1", MqttQos.AT_MOST_ONCE, NO_PACKET_IDENTIFIER_QOS_0), 10);
+        assertTrue(incomingPublishService.onPublishQos1Or2(statefulPublish("qos1-1", MqttQos.AT_LEAST_ONCE, 1), 10));
+        incomingPublishService.onPublishQos0(
+                statefulPublish("qos0-2", MqttQos.AT_MOST_ONCE, NO_PACKET_IDENTIFIER_QOS_0), 10);
+        assertTrue(incomingPublishService.onPublishQos1Or2(statefulPublish("qos2-2", MqttQos.EXACTLY_ONCE, 2), 10));
+        testSubscriber.assertNoValues();
+
+        testSubscriber.request(4);
+        testSubscriber.awaitCount(4);
+        assertEquals(Arrays.asList("qos1-1", "qos2-2", "qos0-1", "qos0-2"),
+                testSubscriber.values().stream().map(publish -> publish.getTopic().toString()).collect(
+                        Collectors.toList()));
+        testSubscriber.cancel();
+    }
+
+    @Test
+    void onPublish_streamedPayload_acknowledgedWhenReceived() {
+        final EmbeddedChannel channel = new EmbeddedChannel(incomingQosHandler);
+        final TestSubscriber<Mqtt5Publish> testSubscriber = globalPublishes().test();
+        final MqttPublishPayloadStream payloadStream = new MqttPublishPayloadStream(channel);
+        final MqttStatefulPublish publish = new MqttPublish(MqttTopicImpl.of("topic"), null, MqttQos.AT_LEAST_ONCE,
+                false, MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES,
+                null).createStateful(1, false, MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS,
+                MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS).withPayloadStream(payloadStream);
+
+        assertTrue(incomingQosHandler.incomingPublishService.onPublishQos1Or2(publish, 10));
+        testSubscriber.assertValueCount(1);
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+
+        payloadStream.add(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        payloadStream.complete();
+        channel.runPendingTasks();
+        final MqttPubAck pubAck = channel.readOutbound();
+        assertNotNull(pubAck);
+        assertEquals(1, pubAck.getPacketIdentifier());
+        testSubscriber.cancel();
+    }
+
+    @Test
+    void onPublish_streamedPayload_noMatchingFlow_discarded() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final MqttPublishPayloadStream payloadStream = new MqttPublishPayloadStream(channel);
+        final MqttStatefulPublish publish = new MqttPublish(MqttTopicImpl.of("topic"), null, MqttQos.AT_MOST_ONCE,
+                false, MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES,
+                null).createStateful(MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0, false,
+                MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS, MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS)
+                .withPayloadStream(payloadStream);
+
+        incomingQosHandler.incomingPublishService.onPublishQos0(publish, 10);
+
+        // reading from the channel is not paused by chunks that nobody requests
+        payloadStream.add(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        assertTrue(channel.config().isAutoRead());
+    }
+
+    private @NotNull Flowable<Mqtt5Publish> globalPublishes() {
+        return new Flowable<Mqtt5Publish>() {
+            @Override
+            protected void subscribeActual(final @NotNull Subscriber<? super Mqtt5Publish> subscriber) {
+                final MqttGlobalIncomingPublishFlow flow =
+                        new MqttGlobalIncomingPublishFlow(subscriber, clientConfig, incomingQosHandler,
+                                MqttGlobalPublishFilter.ALL, false);
+                subscriber.onSubscribe(flow);
+                incomingPublishFlows.subscribeGlobal(flow);
+            }
+        };
+    }
+
+    private static @NotNull MqttStatefulPublish statefulPublish(
+            final @NotNull String topic, final @NotNull MqttQos qos, final int packetIdentifier) {
+
+        return new MqttPublish(MqttTopicImpl.of(topic), null, qos, false, MqttPublish.NO_MESSAGE_EXPIRY, null, null,
+                null, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES, null).createStateful(packetIdentifier, false,
+                MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS, MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    private static @NotNull MqttStatefulPublish statefulPublish(final @NotNull ByteBuf payload) {
+        final MqttPublish publish =
+                new MqttPublish(MqttTopicImpl.of("topic"), payload.nioBuffer(), MqttQos.AT_MOST_ONCE, false,
+                        MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null,
+                        MqttUserPropertiesImpl.NO_USER_PROPERTIES, null);
+        final MqttStatefulPublish statefulPublish =
+                publish.createStateful(MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0, false,
+                        MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS,
+                        MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        statefulPublish.setRetainedPayload(payload);
+        return statefulPublish;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscriptionBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttSubscribedPublishFlowMapTest extends MqttSubscribedPublishFlowsTest {
+
+    MqttSubscribedPublishFlowMapTest() {
+        super(MqttSubscribedPublishFlowMap::new);
+    }
+
+    @Test
+    void getSubscriptions_exactAndWildcard() {
+        final MqttSubscription subscription1 = new MqttSubscriptionBuilder.Default().topicFilter("a/b").build();
+        final MqttSubscription subscription2 = new MqttSubscriptionBuilder.Default().topicFilter("a/+").build();
+        final MqttSubscription subscription3 =
+                new MqttSubscriptionBuilder.Default().topicFilter("$share/group/a/b").build();
+        flows.subscribe(subscription1, 1, null);
+        flows.subscribe(subscription2, 2, null);
+        flows.subscribe(subscription3, 3, null);
+        flows.suback(subscription1.getTopicFilter(), 1, false);
+        flows.suback(subscription2.getTopicFilter(), 2, false);
+        flows.suback(subscription3.getTopicFilter(), 3, false);
+
+        assertEquals(ImmutableMap.of(1, ImmutableList.of(subscription1), 2, ImmutableList.of(subscription2), 3,
+                ImmutableList.of(subscription3)), flows.getSubscriptions());
+
+        final MqttMatchingPublishFlows matching = new MqttMatchingPublishFlows();
+        flows.findMatching(MqttTopicImpl.of("a/b"), matching);
+        assertTrue(matching.subscriptionFound);
+
+        flows.unsubscribe(subscription1.getTopicFilter());
+        flows.unsubscribe(subscription3.getTopicFilter());
+        assertEquals(ImmutableMap.of(2, ImmutableList.of(subscription2)), flows.getSubscriptions());
+    }
+}
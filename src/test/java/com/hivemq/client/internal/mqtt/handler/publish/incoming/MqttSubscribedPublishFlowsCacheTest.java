@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscriptionBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttSubscribedPublishFlowsCacheTest extends MqttSubscribedPublishFlowsTest {
+
+    MqttSubscribedPublishFlowsCacheTest() {
+        super(() -> new MqttSubscribedPublishFlowsCache(new MqttSubscribedPublishFlowTree(), 2));
+    }
+
+    @Test
+    void findMatching_sameTopic_hit() {
+        final MqttSubscribedPublishFlowsCache cache = (MqttSubscribedPublishFlowsCache) flows;
+        final MqttSubscription subscription = new MqttSubscriptionBuilder.Default().topicFilter("a/+").build();
+        final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+        cache.subscribe(subscription, 1, flow);
+        cache.suback(subscription.getTopicFilter(), 1, false);
+
+        final MqttMatchingPublishFlows matching = new MqttMatchingPublishFlows();
+        cache.findMatching(MqttTopicImpl.of("a/b"), matching);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        final MqttMatchingPublishFlows matching2 = new MqttMatchingPublishFlows();
+        cache.findMatching(MqttTopicImpl.of("a/b"), matching2);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertTrue(matching2.subscriptionFound);
+        assertEquals(1, matching2.size());
+        assertSame(flow, matching2.get(0));
+    }
+
+    @Test
+    void findMatching_afterUnsubscribe_miss() {
+        final MqttSubscribedPublishFlowsCache cache = (MqttSubscribedPublishFlowsCache) flows;
+        final MqttSubscription subscription = new MqttSubscriptionBuilder.Default().topicFilter("a/+").build();
+        cache.subscribe(subscription, 1, mock(MqttSubscribedPublishFlow.class));
+        cache.suback(subscription.getTopicFilter(), 1, false);
+
+        cache.findMatching(MqttTopicImpl.of("a/b"), new MqttMatchingPublishFlows());
+        cache.unsubscribe(subscription.getTopicFilter());
+
+        final MqttMatchingPublishFlows matching = new MqttMatchingPublishFlows();
+        cache.findMatching(MqttTopicImpl.of("a/b"), matching);
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertFalse(matching.subscriptionFound);
+        assertTrue(matching.isEmpty());
+    }
+
+    @Test
+    void findMatching_leastRecentlyUsedEvicted_miss() {
+        final MqttSubscribedPublishFlowsCache cache = (MqttSubscribedPublishFlowsCache) flows;
+
+        cache.findMatching(MqttTopicImpl.of("a"), new MqttMatchingPublishFlows());
+        cache.findMatching(MqttTopicImpl.of("b"), new MqttMatchingPublishFlows());
+        cache.findMatching(MqttTopicImpl.of("a"), new MqttMatchingPublishFlows());
+        cache.findMatching(MqttTopicImpl.of("c"), new MqttMatchingPublishFlows());
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+
+        cache.findMatching(MqttTopicImpl.of("a"), new MqttMatchingPublishFlows());
+        assertEquals(2, cache.getHits());
+        cache.findMatching(MqttTopicImpl.of("b"), new MqttMatchingPublishFlows());
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+}
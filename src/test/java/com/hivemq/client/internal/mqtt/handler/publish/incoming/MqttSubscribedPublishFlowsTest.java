@@ -695,6 +695,14 @@ abstract class MqttSubscribedPublishFlowsTest {
         return flow;
     }
 
+    private @NotNull ImmutableSet<MqttIncomingPublishFlow> toSet(final @NotNull MqttMatchingPublishFlows matching) {
+        final ImmutableSet.Builder<MqttIncomingPublishFlow> builder = ImmutableSet.builder();
+        for (int i = 0; i < matching.size(); i++) {
+            builder.add(matching.get(i));
+        }
+        return builder.build();
+    }
+
     private <E> @NotNull ImmutableSet<E> toSet(final @NotNull HandleList<E> list) {
         final ImmutableSet.Builder<E> builder = ImmutableSet.builder();
         for (HandleList.Handle<E> h = list.getFirst(); h != null; h = h.getNext()) {
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult.MqttQos1Result;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckReasonCode;
+import io.reactivex.observers.TestObserver;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttAckBatchSingleTest {
+
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+
+    @BeforeEach
+    void setUp() {
+        final ClientComponent clientComponent = mock(ClientComponent.class);
+        when(clientComponent.outgoingQosHandler()).thenReturn(outgoingQosHandler);
+        when(clientConfig.getClientComponent()).thenReturn(clientComponent);
+        when(clientConfig.getState()).thenReturn(MqttClientState.CONNECTED);
+    }
+
+    @Test
+    void empty() {
+        final TestObserver<List<Mqtt5PublishResult>> testObserver =
+                new MqttAckBatchSingle(clientConfig, ImmutableList.of()).test();
+
+        testObserver.assertValue(List::isEmpty);
+        verify(outgoingQosHandler, never()).offerAll(any());
+    }
+
+    @Test
+    void notConnected() {
+        when(clientConfig.getState()).thenReturn(MqttClientState.DISCONNECTED);
+
+        final TestObserver<List<Mqtt5PublishResult>> testObserver =
+                new MqttAckBatchSingle(clientConfig, ImmutableList.of(publish("a", MqttQos.AT_MOST_ONCE))).test();
+
+        testObserver.assertError(MqttClientStateException.class);
+        verify(outgoingQosHandler, never()).offerAll(any());
+    }
+
+    @Test
+    void mixedQos_resultsInInputOrder() {
+        final MqttPublish qos0 = publish("a", MqttQos.AT_MOST_ONCE);
+        final MqttPublish qos1 = publish("b", MqttQos.AT_LEAST_ONCE);
+        final MqttPublish qos2 = publish("c", MqttQos.EXACTLY_ONCE);
+        final TestObserver<List<Mqtt5PublishResult>> testObserver =
+                new MqttAckBatchSingle(clientConfig, ImmutableList.of(qos0, qos1, qos2)).test();
+        final MqttPublishWithFlow[] publishWithFlows = offered();
+        assertEquals(3, publishWithFlows.length);
+        final MqttAckFlow flow = publishWithFlows[0].getAckFlow();
+
+        // QoS 0 completes when written, QoS 1 and 2 complete later in any order
+        final MqttPublishResult qos0Result = new MqttPublishResult(qos0, null);
+        final MqttPublishResult qos2Result = new MqttPublishResult(qos2, null);
+        final MqttQos1Result qos1Result = new MqttQos1Result(qos1, null,
+                new MqttPubAck(1, Mqtt5PubAckReasonCode.SUCCESS, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+        flow.onNext(qos0Result);
+        flow.onNext(qos2Result);
+        testObserver.assertNoValues();
+        flow.onNext(qos1Result);
+
+        testObserver.assertValueCount(1);
+        final List<Mqtt5PublishResult> results = testObserver.values().get(0);
+        assertEquals(3, results.size());
+        assertSame(qos0Result, results.get(0));
+        assertSame(qos1Result, results.get(1));
+        assertSame(qos2Result, results.get(2));
+    }
+
+    @Test
+    void partialFailure_doesNotFailBatch() {
+        final MqttPublish failed = publish("a", MqttQos.AT_LEAST_ONCE);
+        final MqttPublish succeeded = publish("b", MqttQos.AT_LEAST_ONCE);
+        final TestObserver<List<Mqtt5PublishResult>> testObserver =
+                new MqttAckBatchSingle(clientConfig, ImmutableList.of(failed, succeeded)).test();
+        final MqttAckFlow flow = offered()[0].getAckFlow();
+
+        final Exception error = new Exception("test");
+        flow.onNext(new MqttPublishResult(succeeded, null));
+        flow.onNext(new MqttPublishResult(failed, error));
+
+        testObserver.assertNoErrors();
+        testObserver.assertValueCount(1);
+        final List<Mqtt5PublishResult> results = testObserver.values().get(0);
+        assertEquals(2, results.size());
+        assertSame(failed, results.get(0).getPublish());
+        assertSame(error, results.get(0).getError().orElse(null));
+        assertSame(succeeded, results.get(1).getPublish());
+        assertFalse(results.get(1).getError().isPresent());
+    }
+
+    @Test
+    void samePublishMultipleTimes_resultsInInputOrder() {
+        final MqttPublish publish = publish("a", MqttQos.AT_LEAST_ONCE);
+        final MqttPublish other = publish("b", MqttQos.AT_LEAST_ONCE);
+        final TestObserver<List<Mqtt5PublishResult>> testObserver =
+                new MqttAckBatchSingle(clientConfig, ImmutableList.of(publish, other, publish)).test();
+        final MqttAckFlow flow = offered()[0].getAckFlow();
+
+        final MqttPublishResult otherResult = new MqttPublishResult(other, null);
+        final MqttPublishResult firstResult = new MqttPublishResult(publish, null);
+        final MqttPublishResult secondResult = new MqttPublishResult(publish, new Exception("test"));
+        flow.onNext(otherResult);
+        flow.onNext(firstResult);
+        flow.onNext(secondResult);
+
+        testObserver.assertValueCount(1);
+        final List<Mqtt5PublishResult> results = testObserver.values().get(0);
+        assertSame(firstResult, results.get(0));
+        assertSame(otherResult, results.get(1));
+        assertSame(secondResult, results.get(2));
+    }
+
+    private @NotNull MqttPublishWithFlow @NotNull [] offered() {
+        final ArgumentCaptor<MqttPublishWithFlow[]> captor = ArgumentCaptor.forClass(MqttPublishWithFlow[].class);
+        verify(outgoingQosHandler).offerAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private static @NotNull MqttPublish publish(final @NotNull String topic, final @NotNull MqttQos qos) {
+        return new MqttPublishBuilder.Default().topic(topic).qos(qos).build();
+    }
+}
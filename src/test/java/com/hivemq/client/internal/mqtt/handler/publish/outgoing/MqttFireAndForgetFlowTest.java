@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttFireAndForgetFlowTest {
+
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+
+    @Test
+    void release_withoutRetain() {
+        final MqttFireAndForgetFlow flow = new MqttFireAndForgetFlow(clientConfig, outgoingQosHandler, false);
+
+        flow.release();
+        assertTrue(flow.isDisposed());
+        verify(clientConfig).releaseEventLoop();
+        assertFalse(flow.retain());
+    }
+
+    @Test
+    void release_retained_releasedAfterLastReference() {
+        final MqttFireAndForgetFlow flow = new MqttFireAndForgetFlow(clientConfig, outgoingQosHandler, false);
+        assertTrue(flow.retain());
+
+        flow.release(); // session end while an offer still queues its publish
+        assertFalse(flow.isDisposed());
+        verify(clientConfig, never()).releaseEventLoop();
+
+        flow.release();
+        assertTrue(flow.isDisposed());
+        verify(clientConfig).releaseEventLoop();
+        assertFalse(flow.retain());
+    }
+
+    @Test
+    void onSourceDone_releasedAfterAllPublishesAcknowledged() {
+        final MqttFireAndForgetFlow flow = new MqttFireAndForgetFlow(clientConfig, outgoingQosHandler, true);
+
+        flow.acknowledged(1);
+        flow.onSourceDone(3); // 2 publishes are still queued or in flight
+        assertFalse(flow.isDisposed());
+        verify(clientConfig, never()).releaseEventLoop();
+
+        flow.acknowledged(1);
+        assertFalse(flow.isDisposed());
+        verify(clientConfig, never()).releaseEventLoop();
+
+        flow.acknowledged(1);
+        assertTrue(flow.isDisposed());
+        verify(clientConfig).releaseEventLoop();
+        verify(outgoingQosHandler, times(3)).request(1);
+    }
+
+    @Test
+    void onSourceDone_allPublishesAcknowledged_releasedImmediately() {
+        final MqttFireAndForgetFlow flow = new MqttFireAndForgetFlow(clientConfig, outgoingQosHandler, true);
+
+        flow.acknowledged(2);
+        flow.onSourceDone(2);
+        assertTrue(flow.isDisposed());
+        verify(clientConfig).releaseEventLoop();
+    }
+
+    @Test
+    void onSourceDone_nothingPublished_releasedImmediately() {
+        final MqttFireAndForgetFlow flow = new MqttFireAndForgetFlow(clientConfig, outgoingQosHandler, true);
+
+        flow.onSourceDone(0);
+        assertTrue(flow.isDisposed());
+        verify(clientConfig).releaseEventLoop();
+    }
+}
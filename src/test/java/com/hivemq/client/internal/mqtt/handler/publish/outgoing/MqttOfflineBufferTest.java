@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.advanced.offline.MqttOfflineBufferConfigImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
+import com.hivemq.client.mqtt.exceptions.MqttMessageExpiredException;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.offline.Mqtt5OfflineBufferEvictionPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttOfflineBufferTest {
+
+    private final @NotNull MqttAckFlow ackFlow = mock(MqttAckFlow.class);
+
+    @Test
+    void add_poll_keepsOrder() {
+        final MqttOfflineBuffer buffer = buffer(10, 1024, Mqtt5OfflineBufferEvictionPolicy.DROP_OLDEST);
+        final MqttPublishWithFlow p1 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        final MqttPublishWithFlow p2 = publish(MqttQos.AT_MOST_ONCE, 20);
+        buffer.add(p1);
+        buffer.add(p2);
+        assertEquals(2, buffer.getBufferedMessages());
+        assertEquals(30, buffer.getBufferedBytes());
+
+        assertSame(p1, buffer.poll());
+        assertSame(p2, buffer.poll());
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.getBufferedBytes());
+        verify(ackFlow, never()).onNext(any());
+    }
+
+    @Test
+    void add_dropOldest_maximumMessages() {
+        final MqttOfflineBuffer buffer = buffer(2, 1024, Mqtt5OfflineBufferEvictionPolicy.DROP_OLDEST);
+        final MqttPublishWithFlow p1 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        final MqttPublishWithFlow p2 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        final MqttPublishWithFlow p3 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        buffer.add(p1);
+        buffer.add(p2);
+        buffer.add(p3);
+
+        assertDropped(p1);
+        assertEquals(1, buffer.getDroppedMessages());
+        assertEquals(10, buffer.getDroppedBytes());
+        assertSame(p2, buffer.poll());
+        assertSame(p3, buffer.poll());
+    }
+
+    @Test
+    void add_dropOldest_maximumBytes() {
+        final MqttOfflineBuffer buffer = buffer(10, 25, Mqtt5OfflineBufferEvictionPolicy.DROP_OLDEST);
+        final MqttPublishWithFlow p1 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        final MqttPublishWithFlow p2 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        final MqttPublishWithFlow p3 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        buffer.add(p1);
+        buffer.add(p2);
+        buffer.add(p3);
+
+        assertDropped(p1);
+        assertEquals(20, buffer.getBufferedBytes());
+        assertSame(p2, buffer.poll());
+        assertSame(p3, buffer.poll());
+    }
+
+    @Test
+    void add_tooLarge_dropped() {
+        final MqttOfflineBuffer buffer = buffer(10, 25, Mqtt5OfflineBufferEvictionPolicy.DROP_OLDEST);
+        final MqttPublishWithFlow p1 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        final MqttPublishWithFlow p2 = publish(MqttQos.AT_LEAST_ONCE, 30);
+        buffer.add(p1);
+        buffer.add(p2);
+
+        assertDropped(p2);
+        assertSame(p1, buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void add_dropNewest() {
+        final MqttOfflineBuffer buffer = buffer(2, 1024, Mqtt5OfflineBufferEvictionPolicy.DROP_NEWEST);
+        final MqttPublishWithFlow p1 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        final MqttPublishWithFlow p2 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        final MqttPublishWithFlow p3 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        buffer.add(p1);
+        buffer.add(p2);
+        buffer.add(p3);
+
+        assertDropped(p3);
+        assertSame(p1, buffer.poll());
+        assertSame(p2, buffer.poll());
+    }
+
+    @Test
+    void add_dropQos0First() {
+        final MqttOfflineBuffer buffer = buffer(3, 1024, Mqtt5OfflineBufferEvictionPolicy.DROP_QOS_0_FIRST);
+        final MqttPublishWithFlow p1 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        final MqttPublishWithFlow p2 = publish(MqttQos.AT_MOST_ONCE, 10);
+        final MqttPublishWithFlow p3 = publish(MqttQos.EXACTLY_ONCE, 10);
+        final MqttPublishWithFlow p4 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        final MqttPublishWithFlow p5 = publish(MqttQos.AT_MOST_ONCE, 10);
+        buffer.add(p1);
+        buffer.add(p2);
+        buffer.add(p3);
+        buffer.add(p4);
+        assertDropped(p2);
+        buffer.add(p5);
+        assertDropped(p1);
+
+        assertSame(p3, buffer.poll());
+        assertSame(p4, buffer.poll());
+        assertSame(p5, buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void add_expire() {
+        final MqttOfflineBuffer buffer = buffer(2, 1024, Mqtt5OfflineBufferEvictionPolicy.EXPIRE);
+        final MqttPublishWithFlow p1 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        final MqttPublishWithFlow p2 = publish(MqttQos.AT_LEAST_ONCE, 10, 0);
+        final MqttPublishWithFlow p3 = publish(MqttQos.AT_LEAST_ONCE, 10);
+        buffer.add(p1);
+        buffer.add(p2);
+        buffer.add(p3);
+
+        verify(ackFlow).onNext(any());
+        assertEquals(1, buffer.getExpiredMessages());
+        assertEquals(0, buffer.getDroppedMessages());
+        assertSame(p1, buffer.poll());
+        assertSame(p3, buffer.poll());
+    }
+
+    @Test
+    void poll_expire() {
+        final MqttOfflineBuffer buffer = buffer(10, 1024, Mqtt5OfflineBufferEvictionPolicy.EXPIRE);
+        final MqttPublishWithFlow p1 = publish(MqttQos.AT_LEAST_ONCE, 10, 0);
+        final MqttPublishWithFlow p2 = publish(MqttQos.AT_LEAST_ONCE, 10, 60);
+        buffer.add(p1);
+        buffer.add(p2);
+
+        assertSame(p2, buffer.poll());
+        assertEquals(1, buffer.getExpiredMessages());
+        assertTrue(buffer.isEmpty());
+        final ArgumentCaptor<MqttPublishResult> captor = ArgumentCaptor.forClass(MqttPublishResult.class);
+        verify(ackFlow).onNext(captor.capture());
+        assertSame(p1.getPublish(), captor.getValue().getPublish());
+        assertTrue(captor.getValue().getRawError() instanceof MqttMessageExpiredException);
+    }
+
+    @Test
+    void clear() {
+        final MqttOfflineBuffer buffer = buffer(10, 1024, Mqtt5OfflineBufferEvictionPolicy.DROP_QOS_0_FIRST);
+        buffer.add(publish(MqttQos.AT_LEAST_ONCE, 10));
+        buffer.add(publish(MqttQos.AT_MOST_ONCE, 10));
+        final Exception cause = new Exception("test");
+        buffer.clear(cause);
+
+        final ArgumentCaptor<MqttPublishResult> captor = ArgumentCaptor.forClass(MqttPublishResult.class);
+        verify(ackFlow, times(2)).onNext(captor.capture());
+        for (final MqttPublishResult result : captor.getAllValues()) {
+            assertSame(cause, result.getRawError());
+        }
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.getDroppedMessages());
+    }
+
+    private void assertDropped(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final ArgumentCaptor<MqttPublishResult> captor = ArgumentCaptor.forClass(MqttPublishResult.class);
+        verify(ackFlow).onNext(captor.capture());
+        assertSame(publishWithFlow.getPublish(), captor.getValue().getPublish());
+        assertTrue(captor.getValue().getRawError() instanceof MqttClientStateException);
+        clearInvocations(ackFlow);
+    }
+
+    private static @NotNull MqttOfflineBuffer buffer(
+            final int maximumMessages,
+            final long maximumBytes,
+            final @NotNull Mqtt5OfflineBufferEvictionPolicy evictionPolicy) {
+
+        return new MqttOfflineBuffer((MqttOfflineBufferConfigImpl) Mqtt5OfflineBufferConfig.builder()
+                .maximumMessages(maximumMessages)
+                .maximumBytes(maximumBytes)
+                .evictionPolicy(evictionPolicy)
+                .build());
+    }
+
+    private @NotNull MqttPublishWithFlow publish(final @NotNull MqttQos qos, final int payloadSize) {
+        return new MqttPublishWithFlow(publishBuilder(qos, payloadSize).build(), ackFlow);
+    }
+
+    private @NotNull MqttPublishWithFlow publish(
+            final @NotNull MqttQos qos, final int payloadSize, final long messageExpiryInterval) {
+
+        return new MqttPublishWithFlow(
+                publishBuilder(qos, payloadSize).messageExpiryInterval(messageExpiryInterval).build(), ackFlow);
+    }
+
+    private static @NotNull MqttPublishBuilder.Default publishBuilder(
+            final @NotNull MqttQos qos, final int payloadSize) {
+
+        return new MqttPublishBuilder.Default().topic("test").qos(qos).payload(new byte[payloadSize]);
+    }
+}
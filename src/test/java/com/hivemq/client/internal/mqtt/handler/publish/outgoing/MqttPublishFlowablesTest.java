@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttPublishFlowablesTest {
+
+    @Test
+    void add_withoutDemand_doesNotBlock() {
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables(Integer.MAX_VALUE);
+        final TestSubscriber<Flowable<MqttPublishWithFlow>> subscriber = new TestSubscriber<>(0);
+        publishFlowables.subscribe(subscriber);
+
+        publishFlowables.add(Flowable.empty());
+        publishFlowables.add(Flowable.empty());
+        publishFlowables.add(Flowable.empty());
+        subscriber.assertValueCount(0);
+
+        subscriber.request(2);
+        subscriber.assertValueCount(2);
+
+        subscriber.request(2);
+        subscriber.assertValueCount(3);
+
+        publishFlowables.add(Flowable.empty());
+        subscriber.assertValueCount(4);
+        publishFlowables.add(Flowable.empty());
+        subscriber.assertValueCount(4);
+    }
+
+    @Test
+    void add_maximumQueued_rejects() {
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables(2);
+        final TestSubscriber<Flowable<MqttPublishWithFlow>> subscriber = new TestSubscriber<>(0);
+        publishFlowables.subscribe(subscriber);
+
+        assertTrue(publishFlowables.add(Flowable.empty()));
+        assertTrue(publishFlowables.add(Flowable.empty()));
+        assertFalse(publishFlowables.add(Flowable.empty()));
+        subscriber.assertValueCount(0);
+
+        subscriber.request(1);
+        subscriber.assertValueCount(1);
+        assertTrue(publishFlowables.add(Flowable.empty()));
+        assertFalse(publishFlowables.add(Flowable.empty()));
+
+        subscriber.request(3);
+        subscriber.assertValueCount(3);
+    }
+
+    @Test
+    void add_concurrently() throws InterruptedException {
+        final int threadCount = 8;
+        final int addCount = 10_000;
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables(threadCount * addCount);
+        final TestSubscriber<Flowable<MqttPublishWithFlow>> subscriber = new TestSubscriber<>(0);
+        publishFlowables.subscribe(subscriber);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < addCount; j++) {
+                    publishFlowables.add(Flowable.empty());
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (int i = 0; i < threadCount * addCount; i += 100) {
+            subscriber.request(100);
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(threadCount * addCount, subscriber.valueCount());
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttPublishQueuesTest {
+
+    private final @NotNull MqttAckFlow ackFlow = mock(MqttAckFlow.class);
+    private final @NotNull MqttPublishQueues queues = new MqttPublishQueues();
+
+    @Test
+    void poll_empty() {
+        assertNull(queues.poll());
+        assertNull(queues.pollHigh());
+        assertNull(queues.pollAny());
+    }
+
+    @Test
+    void poll_samePriority_keepsOrder() {
+        final List<MqttPublishWithFlow> publishes = offer(Mqtt5PublishPriority.LOW, 3);
+
+        assertEquals(publishes, pollAll());
+    }
+
+    @Test
+    void poll_normalAndLow_interleaved() {
+        final List<MqttPublishWithFlow> normal = offer(Mqtt5PublishPriority.NORMAL, 10);
+        final List<MqttPublishWithFlow> low = offer(Mqtt5PublishPriority.LOW, 3);
+
+        final List<MqttPublishWithFlow> expected = new ArrayList<>();
+        expected.addAll(normal.subList(0, 4));
+        expected.add(low.get(0));
+        expected.addAll(normal.subList(4, 8));
+        expected.add(low.get(1));
+        expected.addAll(normal.subList(8, 10));
+        expected.add(low.get(2));
+        assertEquals(expected, pollAll());
+    }
+
+    @Test
+    void poll_lowNotStarved() {
+        final List<MqttPublishWithFlow> normal = offer(Mqtt5PublishPriority.NORMAL, 100);
+        for (int i = 0; i < 10; i++) {
+            assertSame(normal.get(i), queues.poll());
+        }
+        // the low publish arrives after a long streak of normal publishes, so it gets the next slot
+        final MqttPublishWithFlow low = offer(Mqtt5PublishPriority.LOW, 1).get(0);
+        assertSame(low, queues.poll());
+        for (int i = 10; i < 10 + MqttPublishQueues.NORMAL_PRIORITY_WEIGHT; i++) {
+            assertSame(normal.get(i), queues.poll());
+        }
+        // the next low publish waits for at most the weight of normal publishes
+        final MqttPublishWithFlow low2 = offer(Mqtt5PublishPriority.LOW, 1).get(0);
+        assertSame(low2, queues.poll());
+    }
+
+    @Test
+    void poll_lowOnlyAfterNormalEmpty_streakReset() {
+        final List<MqttPublishWithFlow> normal1 = offer(Mqtt5PublishPriority.NORMAL, 2);
+        final List<MqttPublishWithFlow> low = offer(Mqtt5PublishPriority.LOW, 1);
+        assertSame(normal1.get(0), queues.poll());
+        assertSame(normal1.get(1), queues.poll());
+        assertSame(low.get(0), queues.poll());
+
+        final List<MqttPublishWithFlow> normal2 = offer(Mqtt5PublishPriority.NORMAL, 5);
+        final List<MqttPublishWithFlow> low2 = offer(Mqtt5PublishPriority.LOW, 1);
+        for (int i = 0; i < MqttPublishQueues.NORMAL_PRIORITY_WEIGHT; i++) {
+            assertSame(normal2.get(i), queues.poll());
+        }
+        assertSame(low2.get(0), queues.poll());
+        assertSame(normal2.get(4), queues.poll());
+    }
+
+    @Test
+    void poll_highAlwaysFirst() {
+        final List<MqttPublishWithFlow> normal = offer(Mqtt5PublishPriority.NORMAL, 6);
+        final List<MqttPublishWithFlow> low = offer(Mqtt5PublishPriority.LOW, 1);
+        assertSame(normal.get(0), queues.poll());
+        assertSame(normal.get(1), queues.poll());
+
+        final List<MqttPublishWithFlow> high = offer(Mqtt5PublishPriority.HIGH, 2);
+        assertSame(high.get(0), queues.poll());
+        assertSame(high.get(1), queues.poll());
+        // high publishes do not count to the streak of normal publishes
+        assertSame(normal.get(2), queues.poll());
+        assertSame(normal.get(3), queues.poll());
+        assertSame(low.get(0), queues.poll());
+
+        // a high publish is also polled first when a low publish is due
+        offer(Mqtt5PublishPriority.NORMAL, 4);
+        final List<MqttPublishWithFlow> low2 = offer(Mqtt5PublishPriority.LOW, 1);
+        for (int i = 0; i < MqttPublishQueues.NORMAL_PRIORITY_WEIGHT; i++) {
+            assertNotSame(low2.get(0), queues.poll());
+        }
+        final MqttPublishWithFlow high2 = offer(Mqtt5PublishPriority.HIGH, 1).get(0);
+        assertSame(high2, queues.poll());
+        assertSame(low2.get(0), queues.poll());
+    }
+
+    @Test
+    void pollHigh() {
+        offer(Mqtt5PublishPriority.NORMAL, 1);
+        offer(Mqtt5PublishPriority.LOW, 1);
+        assertNull(queues.pollHigh());
+
+        final MqttPublishWithFlow high = offer(Mqtt5PublishPriority.HIGH, 1).get(0);
+        assertSame(high, queues.pollHigh());
+        assertNull(queues.pollHigh());
+    }
+
+    @Test
+    void pollAny_byPriorityWithoutWeighting() {
+        final List<MqttPublishWithFlow> low = offer(Mqtt5PublishPriority.LOW, 1);
+        final List<MqttPublishWithFlow> normal = offer(Mqtt5PublishPriority.NORMAL, 6);
+        final List<MqttPublishWithFlow> high = offer(Mqtt5PublishPriority.HIGH, 1);
+
+        assertSame(high.get(0), queues.pollAny());
+        for (final MqttPublishWithFlow publishWithFlow : normal) {
+            assertSame(publishWithFlow, queues.pollAny());
+        }
+        assertSame(low.get(0), queues.pollAny());
+        assertNull(queues.pollAny());
+    }
+
+    private @NotNull List<MqttPublishWithFlow> offer(final @NotNull Mqtt5PublishPriority priority, final int count) {
+        final List<MqttPublishWithFlow> publishes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final MqttPublishWithFlow publishWithFlow =
+                    new MqttPublishWithFlow(new MqttPublishBuilder.Default().topic("test").priority(priority).build(),
+                            ackFlow);
+            queues.offer(publishWithFlow);
+            publishes.add(publishWithFlow);
+        }
+        return publishes;
+    }
+
+    private @NotNull List<MqttPublishWithFlow> pollAll() {
+        final List<MqttPublishWithFlow> publishes = new ArrayList<>();
+        for (MqttPublishWithFlow publishWithFlow = queues.poll(); publishWithFlow != null;
+             publishWithFlow = queues.poll()) {
+            publishes.add(publishWithFlow);
+        }
+        return publishes;
+    }
+}
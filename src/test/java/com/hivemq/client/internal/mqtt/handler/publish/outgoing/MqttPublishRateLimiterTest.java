@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.advanced.ratelimit.MqttPublishRateLimitImpl;
+import com.hivemq.client.mqtt.mqtt5.advanced.ratelimit.Mqtt5PublishRateLimit;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttPublishRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private static @NotNull MqttPublishRateLimitImpl rateLimit(final @NotNull Mqtt5PublishRateLimit rateLimit) {
+        return (MqttPublishRateLimitImpl) rateLimit;
+    }
+
+    @Test
+    void messages_burstThenRate() {
+        final MqttPublishRateLimiter limiter = new MqttPublishRateLimiter(
+                rateLimit(Mqtt5PublishRateLimit.builder().messagesPerSecond(10).messageBurst(2).build()), 0);
+        assertEquals(0, limiter.delayNanos(0));
+        limiter.consume(0);
+        assertEquals(0, limiter.delayNanos(0));
+        limiter.consume(0);
+        assertEquals(SECOND / 10, limiter.delayNanos(0));
+        assertEquals(SECOND / 20, limiter.delayNanos(SECOND / 20));
+        assertEquals(0, limiter.delayNanos(SECOND / 10));
+        limiter.consume(0);
+        assertTrue(limiter.delayNanos(SECOND / 10) > 0);
+    }
+
+    @Test
+    void messages_refillCappedAtBurst() {
+        final MqttPublishRateLimiter limiter = new MqttPublishRateLimiter(
+                rateLimit(Mqtt5PublishRateLimit.builder().messagesPerSecond(10).messageBurst(2).build()), 0);
+        limiter.consume(0);
+        limiter.consume(0);
+        assertEquals(0, limiter.delayNanos(10 * SECOND));
+        limiter.consume(0);
+        limiter.consume(0);
+        assertTrue(limiter.delayNanos(10 * SECOND) > 0);
+    }
+
+    @Test
+    void bytes_debt() {
+        final MqttPublishRateLimiter limiter = new MqttPublishRateLimiter(
+                rateLimit(Mqtt5PublishRateLimit.builder().bytesPerSecond(100).build()), 0);
+        assertEquals(0, limiter.delayNanos(0));
+        limiter.consume(300);
+        assertEquals(2 * SECOND, limiter.delayNanos(0));
+        assertEquals(SECOND, limiter.delayNanos(SECOND));
+        assertEquals(0, limiter.delayNanos(2 * SECOND + 1));
+    }
+
+    @Test
+    void unlimited() {
+        final MqttPublishRateLimitImpl unlimited = rateLimit(Mqtt5PublishRateLimit.builder().build());
+        assertFalse(MqttPublishRateLimiter.isLimited(unlimited));
+        assertTrue(MqttPublishRateLimiter.isLimited(
+                rateLimit(Mqtt5PublishRateLimit.builder().bytesPerSecond(1).build())));
+
+        final MqttPublishRateLimiter limiter = new MqttPublishRateLimiter(
+                rateLimit(Mqtt5PublishRateLimit.builder().messagesPerSecond(1).build()), 0);
+        limiter.consume(Long.MAX_VALUE);
+        assertEquals(SECOND, limiter.delayNanos(0));
+    }
+}
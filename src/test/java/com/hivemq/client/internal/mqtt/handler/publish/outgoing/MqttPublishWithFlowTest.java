@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttPublishWithFlowTest {
+
+    private final @NotNull MqttAckFlow ackFlow = mock(MqttAckFlow.class);
+
+    @Test
+    void noMessageExpiry() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("test").build();
+        final MqttPublishWithFlow publishWithFlow = new MqttPublishWithFlow(publish, ackFlow);
+        final long nowNanos = publishWithFlow.queuedNanos + TimeUnit.DAYS.toNanos(1);
+
+        assertEquals(Long.MAX_VALUE, publishWithFlow.expiryNanos());
+        assertFalse(publishWithFlow.isExpired(nowNanos));
+        assertSame(publish, publishWithFlow.getPublishToSend(nowNanos));
+    }
+
+    @Test
+    void isExpired() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("test").messageExpiryInterval(10).build();
+        final MqttPublishWithFlow publishWithFlow = new MqttPublishWithFlow(publish, ackFlow);
+        final long queuedNanos = publishWithFlow.queuedNanos;
+
+        assertFalse(publishWithFlow.isExpired(queuedNanos));
+        assertFalse(publishWithFlow.isExpired(queuedNanos + TimeUnit.SECONDS.toNanos(10) - 1));
+        assertTrue(publishWithFlow.isExpired(queuedNanos + TimeUnit.SECONDS.toNanos(10)));
+    }
+
+    @Test
+    void getPublishToSend_decrementsMessageExpiryInterval() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("test").messageExpiryInterval(10).build();
+        final MqttPublishWithFlow publishWithFlow = new MqttPublishWithFlow(publish, ackFlow);
+        final long queuedNanos = publishWithFlow.queuedNanos;
+
+        assertSame(publish, publishWithFlow.getPublishToSend(queuedNanos + TimeUnit.MILLISECONDS.toNanos(999)));
+        assertEquals(7,
+                publishWithFlow.getPublishToSend(queuedNanos + TimeUnit.MILLISECONDS.toNanos(3500))
+                        .getRawMessageExpiryInterval());
+        assertEquals(1,
+                publishWithFlow.getPublishToSend(queuedNanos + TimeUnit.SECONDS.toNanos(20))
+                        .getRawMessageExpiryInterval());
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt.message.publish;
 
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
@@ -36,11 +37,36 @@ class MqttPublishTest {
         EqualsVerifier.forClass(MqttPublish.class)
                 .withIgnoredAnnotations(NotNull.class) // EqualsVerifier thinks @NotNull Optional is @NotNull
                 .withNonnullFields("topic", "qos", "userProperties")
-                .withIgnoredFields("confirmable")
+                .withIgnoredFields(
+                        "confirmable", "priority", "payloadReference", "template", "encodedFixedProperties")
                 .withRedefinedSubclass(MqttWillPublish.class)
                 .verify();
     }
 
+    @Test
+    void priority() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").build();
+        assertEquals(Mqtt5PublishPriority.NORMAL, publish.getPriority());
+
+        final MqttPublish highPublish = publish.extend().priority(Mqtt5PublishPriority.HIGH).build();
+        assertEquals(Mqtt5PublishPriority.HIGH, highPublish.getPriority());
+        assertEquals(publish, highPublish);
+        assertEquals(Mqtt5PublishPriority.HIGH, highPublish.extend().build().getPriority());
+        assertEquals(Mqtt5PublishPriority.HIGH, highPublish.withPayload(new byte[]{1}).getPriority());
+    }
+
+    @Test
+    void withMessageExpiryInterval() {
+        final MqttPublish template = new MqttPublishBuilder.Default().topic("topic").messageExpiryInterval(10).build();
+        final MqttPublish publish = template.withPayload(new byte[]{1});
+        assertSame(template, publish.getTemplate());
+
+        final MqttPublish decremented = publish.withMessageExpiryInterval(5);
+        assertEquals(5, decremented.getRawMessageExpiryInterval());
+        assertEquals(publish.getRawPayload(), decremented.getRawPayload());
+        assertNull(decremented.getTemplate());
+    }
+
     @Test
     void getPayloadAsBytes() {
         final byte[] payload = {1, 2, 3, 4, 5};
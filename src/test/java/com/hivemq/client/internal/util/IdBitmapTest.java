@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class IdBitmapTest {
+
+    @CsvSource({"0, 10", "1, 10", "9, 10"})
+    @ParameterizedTest
+    void getId_sequential(final int minId, final int maxId) {
+        final IdBitmap idBitmap = new IdBitmap(minId, maxId);
+        for (int i = minId; i <= maxId; i++) {
+            assertEquals(i, idBitmap.getId());
+        }
+        assertEquals(-1, idBitmap.getId());
+    }
+
+    @Test
+    void getId_lowest() {
+        final IdBitmap idBitmap = new IdBitmap(0, 10);
+        assertEquals(0, idBitmap.getId());
+        assertEquals(1, idBitmap.getId());
+        assertEquals(2, idBitmap.getId());
+        idBitmap.returnId(1);
+        assertEquals(1, idBitmap.getId());
+        assertEquals(3, idBitmap.getId());
+    }
+
+    @Test
+    void takeId() {
+        final IdBitmap idBitmap = new IdBitmap(1, 10);
+        assertTrue(idBitmap.takeId(2));
+        assertTrue(idBitmap.takeId(10));
+        assertFalse(idBitmap.takeId(2));
+        assertFalse(idBitmap.takeId(0));
+        assertFalse(idBitmap.takeId(11));
+        assertEquals(1, idBitmap.getId());
+        assertEquals(3, idBitmap.getId());
+        idBitmap.returnId(2);
+        assertEquals(2, idBitmap.getId());
+    }
+
+    @Test
+    void returnId_combineIntervals() {
+        final IdBitmap idBitmap = new IdBitmap(0, 10);
+        for (int i = 0; i <= 5; i++) {
+            assertEquals(i, idBitmap.getId());
+        }
+        for (int i = 0; i <= 5; i++) {
+            idBitmap.returnId(i);
+        }
+    }
+
+    @ValueSource(ints = {0, 1, 10})
+    @ParameterizedTest
+    void returnId_alreadyPresent(final int id) {
+        final IdBitmap idBitmap = new IdBitmap(0, 10);
+        assertThrows(IllegalStateException.class, () -> idBitmap.returnId(id));
+    }
+
+    @ValueSource(ints = {11, 12})
+    @ParameterizedTest
+    void returnId_greaterThanMaxId(final int id) {
+        final IdBitmap idBitmap = new IdBitmap(0, 10);
+        assertThrows(IllegalStateException.class, () -> idBitmap.returnId(id));
+    }
+
+    @ValueSource(ints = {5, 15})
+    @ParameterizedTest
+    void resize(final int maxId) {
+        final IdBitmap idBitmap = new IdBitmap(0, 10);
+        assertEquals(0, idBitmap.resize(maxId));
+        for (int i = 0; i <= maxId; i++) {
+            assertEquals(i, idBitmap.getId());
+        }
+        assertEquals(-1, idBitmap.getId());
+    }
+
+    @CsvSource({"2, 2", "3, 3", "4, 4", "5, 4"})
+    @ParameterizedTest
+    void resize_notReturned(final int gap, final int count) {
+        final IdBitmap idBitmap = new IdBitmap(0, 10);
+        for (int i = 0; i <= 10; i++) {
+            assertEquals(i, idBitmap.getId());
+        }
+        for (int i = 0; i <= 10; i += gap) {
+            idBitmap.returnId(i);
+        }
+        assertEquals(count, idBitmap.resize(5));
+    }
+
+    @ValueSource(ints = {0, 63, 64, 700, 1023})
+    @ParameterizedTest
+    void resize_notReturned_acrossWords(final int inUseId) {
+        final IdBitmap idBitmap = new IdBitmap(0, 1023);
+        for (int i = 0; i <= 1023; i++) {
+            assertEquals(i, idBitmap.getId());
+        }
+        for (int i = 0; i <= 1023; i++) {
+            if (i != inUseId) {
+                idBitmap.returnId(i);
+            }
+        }
+        assertEquals((inUseId > 63) ? 1 : 0, idBitmap.resize(63));
+        if (inUseId > 63) {
+            idBitmap.returnId(inUseId);
+            assertEquals(0, idBitmap.resize(63));
+        }
+        for (int i = 0; i <= 63; i++) {
+            if (i != inUseId) {
+                assertEquals(i, idBitmap.getId());
+            }
+        }
+        assertEquals(-1, idBitmap.getId());
+    }
+
+    @Test
+    void returnId_randomOrder() {
+        final int maxId = 65_535;
+        final IdBitmap idBitmap = new IdBitmap(1, maxId);
+        final List<Integer> ids = new ArrayList<>(maxId);
+        for (int i = 1; i <= maxId; i++) {
+            assertEquals(i, idBitmap.getId());
+            ids.add(i);
+        }
+        assertEquals(-1, idBitmap.getId());
+        Collections.shuffle(ids, new Random(0));
+        for (final int id : ids) {
+            idBitmap.returnId(id);
+        }
+        for (int i = 1; i <= maxId; i++) {
+            assertEquals(i, idBitmap.getId());
+        }
+        assertEquals(-1, idBitmap.getId());
+    }
+
+    @Test
+    void resize_greaterThanMaxId() {
+        final IdBitmap idBitmap = new IdBitmap(1, 10);
+        assertThrows(IllegalArgumentException.class, () -> idBitmap.resize(IdBitmap.MAX_ID + 1));
+    }
+}
\ No newline at end of file
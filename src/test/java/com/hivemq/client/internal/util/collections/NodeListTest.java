@@ -208,6 +208,37 @@ class NodeListTest {
         assertEquals(3, list.size());
     }
 
+    @Test
+    void detach_add() {
+        final NodeList<Entry> list = new NodeList<>();
+        final Entry e1 = new Entry("test1");
+        list.add(e1);
+        final Entry e2 = new Entry("test2");
+        list.add(e2);
+        final Entry e3 = new Entry("test3");
+        list.add(e3);
+
+        list.detach(e2);
+        assertNull(e2.getPrev());
+        assertNull(e2.getNext());
+        assertSame(e3, e1.getNext());
+        assertSame(e1, e3.getPrev());
+        assertEquals(2, list.size());
+
+        final NodeList<Entry> other = new NodeList<>();
+        other.add(e2);
+        assertSame(e2, other.getFirst());
+        assertSame(e2, other.getLast());
+
+        list.detach(e1);
+        list.detach(e3);
+        assertNull(e3.getPrev());
+        assertNull(e3.getNext());
+        assertTrue(list.isEmpty());
+        assertNull(list.getFirst());
+        assertNull(list.getLast());
+    }
+
     @Test
     void clear() {
         final NodeList<Entry> list = new NodeList<>();